@@ -2,8 +2,10 @@ package com.treevault;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TreeVaultApplication {
     public static void main(String[] args) {
         SpringApplication.run(TreeVaultApplication.class, args);
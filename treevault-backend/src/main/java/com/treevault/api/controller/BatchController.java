@@ -0,0 +1,52 @@
+package com.treevault.api.controller;
+
+import com.treevault.api.dto.request.BatchRequest;
+import com.treevault.api.dto.response.BatchResponse;
+import com.treevault.api.mapper.ApiMapper;
+import com.treevault.application.usecase.ExecuteBatchUseCase;
+import com.treevault.application.usecase.UseCaseRetryExecutor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Batch", description = "API for applying many node and tag operations at once")
+public class BatchController {
+
+    @Autowired
+    private ExecuteBatchUseCase executeBatchUseCase;
+
+    @Autowired
+    private UseCaseRetryExecutor retryExecutor;
+
+    @Autowired
+    private ApiMapper apiMapper;
+
+    @PostMapping("/batch")
+    @Operation(summary = "Run a batch of operations", description = "Applies an ordered list of create, rename, move, delete, addTag and removeTag operations in one transaction; later operations may refer to nodes created earlier in the batch by their ref")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "All operations applied",
+            content = @Content(schema = @Schema(implementation = BatchResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request or operation; nothing was applied"),
+        @ApiResponse(responseCode = "404", description = "An operation refers to an unknown node; nothing was applied"),
+        @ApiResponse(responseCode = "409", description = "An operation would create a circular reference, or the batch kept conflicting with concurrent writes; nothing was applied"),
+        @ApiResponse(responseCode = "422", description = "An operation failed validation; nothing was applied")
+    })
+    public BatchResponse executeBatch(@Valid @RequestBody BatchRequest request) {
+        var operations = request.getOperations().stream()
+            .map(apiMapper::toBatchOperation)
+            .toList();
+        return apiMapper.toBatchResponse(
+            retryExecutor.execute(ExecuteBatchUseCase.class, () -> executeBatchUseCase.execute(operations)));
+    }
+}
@@ -2,17 +2,34 @@ package com.treevault.api.controller;
 
 import com.treevault.application.usecase.CreateNodeUseCase;
 import com.treevault.application.usecase.DeleteNodeUseCase;
+import com.treevault.application.usecase.ExportSubtreeUseCase;
 import com.treevault.application.usecase.GetTreeUseCase;
+import com.treevault.application.usecase.ImportNodesUseCase;
+import com.treevault.application.usecase.ListChildrenUseCase;
 import com.treevault.application.usecase.MoveNodeUseCase;
+import com.treevault.application.usecase.ReadTreeUseCase;
+import com.treevault.application.usecase.SearchNodesUseCase;
 import com.treevault.application.usecase.UpdateNodeUseCase;
+import com.treevault.application.usecase.UseCaseRetryExecutor;
 import com.treevault.api.dto.request.CreateNodeRequest;
 import com.treevault.api.dto.request.MoveNodeRequest;
+import com.treevault.api.dto.request.NodeImportRequest;
 import com.treevault.api.dto.request.UpdateNodeRequest;
+import com.treevault.api.dto.response.ChildrenPageResponse;
+import com.treevault.api.dto.response.ImportResponse;
 import com.treevault.api.dto.response.NodeResponse;
+import com.treevault.api.dto.response.SearchPageResponse;
 import com.treevault.api.dto.response.TreeResponse;
 import com.treevault.api.mapper.ApiMapper;
+import com.treevault.api.mapper.NdjsonNodeWriter;
+import com.treevault.api.mapper.NodeResponseTreeBuilder;
+import com.treevault.api.mapper.TreeJsonWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.treevault.domain.exception.InvalidNodeOperationException;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.Position;
+import com.treevault.domain.model.valueobject.Rank;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -22,7 +39,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -30,8 +53,16 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -54,18 +85,108 @@ public class NodeController {
     @Autowired
     private GetTreeUseCase getTreeUseCase;
 
+    @Autowired
+    private ListChildrenUseCase listChildrenUseCase;
+
+    @Autowired
+    private ReadTreeUseCase readTreeUseCase;
+
+    @Autowired
+    private SearchNodesUseCase searchNodesUseCase;
+
+    @Autowired
+    private ImportNodesUseCase importNodesUseCase;
+
+    @Autowired
+    private ExportSubtreeUseCase exportSubtreeUseCase;
+
+    @Autowired
+    private UseCaseRetryExecutor retryExecutor;
+
     @Autowired
     private ApiMapper apiMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
     
     @GetMapping("/tree")
-    @Operation(summary = "Get the entire tree", description = "Retrieves the root node with all children recursively")
+    @Operation(summary = "Get the tree", description = "Retrieves the tree below the root or a given node, recursively or down to a given depth")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Tree retrieved successfully",
-            content = @Content(schema = @Schema(implementation = TreeResponse.class)))
+            content = @Content(schema = @Schema(implementation = TreeResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Tree unchanged since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Negative depth"),
+        @ApiResponse(responseCode = "404", description = "Node not found")
     })
-    public TreeResponse getTree() {
-        var tree = getTreeUseCase.execute();
-        return apiMapper.toTreeResponse(tree);
+    public ResponseEntity<TreeResponse> getTree(
+            @Parameter(description = "UUID of the node to fetch the tree from; defaults to the root") @RequestParam(required = false) UUID root,
+            @Parameter(description = "Number of levels to fetch below it; the whole subtree if omitted") @RequestParam(required = false) Integer depth,
+            WebRequest request) {
+        long revision = readTreeUseCase.currentRevision();
+        if (isNotModified(request, revision)) {
+            return notModified(revision);
+        }
+        if (depth == null) {
+            // Whole (sub)trees are only read, so they skip domain reconstruction
+            var builder = new NodeResponseTreeBuilder(apiMapper);
+            long served = root != null
+                ? readTreeUseCase.execute(NodeId.of(root), builder)
+                : readTreeUseCase.execute(builder);
+            return revalidated(served, new TreeResponse(builder.getTop()));
+        }
+        // Loaded from the store after the revision was read, so it includes every write counted
+        var slice = getTreeUseCase.execute(root != null ? NodeId.of(root) : null, depth);
+        return revalidated(revision, apiMapper.toTreeResponse(slice));
+    }
+    
+    @GetMapping(value = "/tree", params = "stream=true")
+    @Operation(summary = "Stream the tree", description = "Writes the whole tree below the root or a given node as it is read from the database, in the same shape as the regular tree response, without holding it in memory")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tree streamed successfully",
+            content = @Content(schema = @Schema(implementation = TreeResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Tree unchanged since the ETag in If-None-Match"),
+        @ApiResponse(responseCode = "400", description = "Depth given"),
+        @ApiResponse(responseCode = "404", description = "Node not found")
+    })
+    public ResponseEntity<StreamingResponseBody> streamTree(
+            @Parameter(description = "UUID of the node to stream the tree from; defaults to the root") @RequestParam(required = false) UUID root,
+            @Parameter(description = "Not supported: a streamed tree is always complete") @RequestParam(required = false) Integer depth,
+            WebRequest request) {
+        // A depth-limited tree marks the folders whose children it leaves out, which a stream only
+        // learns once it has already written them
+        if (depth != null) {
+            throw new InvalidNodeOperationException("A streamed tree cannot be limited in depth; fetch it without stream=true");
+        }
+        long revision = readTreeUseCase.currentRevision();
+        if (isNotModified(request, revision)) {
+            return notModified(revision);
+        }
+        // Once streaming has begun, a missing node could no longer be reported as such
+        if (root != null) {
+            readTreeUseCase.checkExists(NodeId.of(root));
+        }
+        // The ETag goes out before the tree is read, so the tree is read from the store, which is
+        // never older than the revision read above, rather than from a possibly older cached copy
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.createGenerator(out);
+            TreeJsonWriter writer = new TreeJsonWriter(generator);
+            try {
+                if (root != null) {
+                    readTreeUseCase.executeStored(NodeId.of(root), writer);
+                } else {
+                    readTreeUseCase.executeStored(writer);
+                }
+            } catch (UncheckedIOException e) {
+                // The client went away; there is no response left to report an error in
+                throw e.getCause();
+            }
+            writer.finish();
+        };
+        return ResponseEntity.ok()
+            .eTag(String.valueOf(revision))
+            .cacheControl(CacheControl.noCache())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
     }
     
     @GetMapping("/nodes/{id}")
@@ -73,12 +194,96 @@ public class NodeController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Node found",
             content = @Content(schema = @Schema(implementation = NodeResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Tree unchanged since the ETag in If-None-Match"),
         @ApiResponse(responseCode = "404", description = "Node not found")
     })
-    public NodeResponse getNode(
-            @Parameter(description = "Node UUID", required = true) @PathVariable UUID id) {
-        var node = getTreeUseCase.getNode(NodeId.of(id));
-        return apiMapper.toNodeResponseWithChildren(node);
+    public ResponseEntity<NodeResponse> getNode(
+            @Parameter(description = "Node UUID", required = true) @PathVariable UUID id,
+            WebRequest request) {
+        long revision = readTreeUseCase.currentRevision();
+        if (isNotModified(request, revision)) {
+            return notModified(revision);
+        }
+        var builder = new NodeResponseTreeBuilder(apiMapper);
+        long served = readTreeUseCase.execute(NodeId.of(id), builder);
+        return revalidated(served, builder.getTop());
+    }
+    
+    @GetMapping("/nodes/{id}/export")
+    @Operation(summary = "Export a subtree", description = "Streams the node and every node below it as NDJSON, one {id, parentId, path, type, position, tags} line per node, parents before their children, read through a database cursor so that memory use stays flat whatever the size of the subtree")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Subtree streamed successfully"),
+        @ApiResponse(responseCode = "400", description = "Unsupported format"),
+        @ApiResponse(responseCode = "404", description = "Node not found")
+    })
+    public ResponseEntity<StreamingResponseBody> exportSubtree(
+            @Parameter(description = "Node UUID", required = true) @PathVariable UUID id,
+            @Parameter(description = "Export format; only ndjson is supported") @RequestParam(defaultValue = "ndjson") String format) {
+        if (!"ndjson".equals(format)) {
+            throw new InvalidNodeOperationException("Unsupported export format: " + format);
+        }
+        // Once streaming has begun, a missing node could no longer be reported as such
+        exportSubtreeUseCase.checkExists(NodeId.of(id));
+        StreamingResponseBody body = out -> {
+            NdjsonNodeWriter writer = new NdjsonNodeWriter(objectMapper.createGenerator(out));
+            try {
+                exportSubtreeUseCase.execute(NodeId.of(id), writer);
+            } catch (UncheckedIOException e) {
+                // The client went away; there is no response left to report an error in
+                throw e.getCause();
+            }
+            writer.finish();
+        };
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(id + ".ndjson").build().toString())
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+    
+    @GetMapping("/nodes/{id}/children")
+    @Operation(summary = "List a node's children", description = "Retrieves one page of a node's direct children in sibling order")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Children retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ChildrenPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid page limit"),
+        @ApiResponse(responseCode = "404", description = "Node not found")
+    })
+    public ChildrenPageResponse getChildren(
+            @Parameter(description = "Node UUID", required = true) @PathVariable UUID id,
+            @Parameter(description = "Cursor from the previous page; omit for the first page") @RequestParam(required = false) Long after,
+            @Parameter(description = "Maximum number of children to return") @RequestParam(defaultValue = "50") int limit) {
+        var query = new ListChildrenUseCase.ListChildrenQuery(
+            NodeId.of(id),
+            after != null ? Rank.of(after) : null,
+            limit
+        );
+        return apiMapper.toChildrenPageResponse(listChildrenUseCase.execute(query));
+    }
+    
+    @GetMapping("/nodes/search")
+    @Operation(summary = "Search nodes", description = "Retrieves one page of the nodes whose name contains or resembles the text, best matches first, and that carry all of the given tags, optionally within the subtree of a node")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching nodes retrieved successfully",
+            content = @Content(schema = @Schema(implementation = SearchPageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "No text or tag filter, text too short, malformed tag filter or cursor, too many filters or invalid page limit"),
+        @ApiResponse(responseCode = "404", description = "Node to search within not found"),
+        @ApiResponse(responseCode = "422", description = "Invalid tag key or value")
+    })
+    public SearchPageResponse searchNodes(
+            @Parameter(description = "Text to find in node names; also matches names with similar words") @RequestParam(required = false) String q,
+            @Parameter(description = "Tag filter as key:value, or key:* for any value; repeat to require several") @RequestParam(name = "tag", required = false) List<String> tags,
+            @Parameter(description = "UUID of the node whose subtree, itself included, to search; the whole tree if omitted") @RequestParam(required = false) UUID under,
+            @Parameter(description = "Cursor from the previous page; omit for the first page") @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of nodes to return") @RequestParam(defaultValue = "50") int limit) {
+        var query = new SearchNodesUseCase.SearchNodesQuery(
+            q,
+            tags != null ? tags.stream().map(apiMapper::toTagFilter).toList() : List.of(),
+            under != null ? NodeId.of(under) : null,
+            after != null ? apiMapper.toSearchCursor(after) : null,
+            limit
+        );
+        return apiMapper.toSearchPageResponse(searchNodesUseCase.execute(query));
     }
     
     @PostMapping("/nodes")
@@ -88,15 +293,31 @@ public class NodeController {
             content = @Content(schema = @Schema(implementation = NodeResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid request"),
         @ApiResponse(responseCode = "404", description = "Parent node not found"),
-        @ApiResponse(responseCode = "409", description = "Node with same name already exists")
+        @ApiResponse(responseCode = "409", description = "Node with same name already exists, or the write kept conflicting with concurrent ones")
     })
     @ResponseStatus(HttpStatus.CREATED)
     public NodeResponse createNode(@Valid @RequestBody CreateNodeRequest request) {
         var command = apiMapper.toCreateCommand(request);
-        var node = createNodeUseCase.execute(command);
+        var node = retryExecutor.execute(CreateNodeUseCase.class, () -> createNodeUseCase.execute(command));
         return apiMapper.toNodeResponse(node);
     }
     
+    @PostMapping(value = "/nodes/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import nodes in bulk", description = "Creates a node for every line of an NDJSON body of {\"path\", \"type\", \"tags\"} records, read as it arrives; a record's parent folder must exist or come earlier in the body. Either every record is imported or none is")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "All records imported",
+            content = @Content(schema = @Schema(implementation = ImportResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Malformed record, name already taken or parent not a folder; recordIndex names the record"),
+        @ApiResponse(responseCode = "404", description = "Parent folder not found; recordIndex names the record"),
+        @ApiResponse(responseCode = "422", description = "Invalid name, path or tag; recordIndex names the record")
+    })
+    @ResponseStatus(HttpStatus.CREATED)
+    public ImportResponse importNodes(InputStream body) throws IOException {
+        var requests = objectMapper.readerFor(NodeImportRequest.class).<NodeImportRequest>readValues(body);
+        var result = importNodesUseCase.execute(apiMapper.toImportCommands(requests));
+        return apiMapper.toImportResponse(result);
+    }
+    
     @PutMapping("/nodes/{id}")
     @Operation(summary = "Update a node", description = "Updates the name of an existing node")
     @ApiResponses(value = {
@@ -104,13 +325,13 @@ public class NodeController {
             content = @Content(schema = @Schema(implementation = NodeResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid request"),
         @ApiResponse(responseCode = "404", description = "Node not found"),
-        @ApiResponse(responseCode = "409", description = "Node with same name already exists")
+        @ApiResponse(responseCode = "409", description = "Node with same name already exists, or the write kept conflicting with concurrent ones")
     })
     public NodeResponse updateNode(
             @Parameter(description = "Node UUID", required = true) @PathVariable UUID id,
             @Valid @RequestBody UpdateNodeRequest request) {
         var command = new UpdateNodeUseCase.UpdateNodeCommand(NodeId.of(id), request.getName());
-        var node = updateNodeUseCase.execute(command);
+        var node = retryExecutor.execute(UpdateNodeUseCase.class, () -> updateNodeUseCase.execute(command));
         return apiMapper.toNodeResponse(node);
     }
     
@@ -119,12 +340,13 @@ public class NodeController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Node deleted successfully"),
         @ApiResponse(responseCode = "404", description = "Node not found"),
-        @ApiResponse(responseCode = "400", description = "Cannot delete root node with children")
+        @ApiResponse(responseCode = "400", description = "Cannot delete root node with children"),
+        @ApiResponse(responseCode = "409", description = "The write kept conflicting with concurrent ones")
     })
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteNode(
             @Parameter(description = "Node UUID", required = true) @PathVariable UUID id) {
-        deleteNodeUseCase.execute(NodeId.of(id));
+        retryExecutor.run(DeleteNodeUseCase.class, () -> deleteNodeUseCase.execute(NodeId.of(id)));
     }
     
     @PostMapping("/nodes/{id}/move")
@@ -134,7 +356,7 @@ public class NodeController {
             content = @Content(schema = @Schema(implementation = NodeResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid request"),
         @ApiResponse(responseCode = "404", description = "Node or parent not found"),
-        @ApiResponse(responseCode = "409", description = "Circular reference detected or name conflict")
+        @ApiResponse(responseCode = "409", description = "Circular reference detected, name conflict, or the write kept conflicting with concurrent ones")
     })
     public NodeResponse moveNode(
             @Parameter(description = "Node UUID", required = true) @PathVariable UUID id,
@@ -144,8 +366,39 @@ public class NodeController {
             NodeId.of(request.getNewParentId()),
             Position.of(request.getPosition())
         );
-        var node = moveNodeUseCase.execute(command);
+        var node = retryExecutor.execute(MoveNodeUseCase.class, () -> moveNodeUseCase.execute(command));
         return apiMapper.toNodeResponse(node);
     }
+    
+    /**
+     * Answers a conditional GET from the tree revision alone, before anything is loaded. Every write
+     * bumps the revision, so it serves as a strong ETag for any tree read.
+     */
+    private static boolean isNotModified(WebRequest request, long revision) {
+        String[] ifNoneMatch = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag current = ETag.create(String.valueOf(revision));
+        return Arrays.stream(ifNoneMatch)
+            .flatMap(value -> ETag.parse(value).stream())
+            .anyMatch(etag -> etag.isWildcard() || etag.compare(current, false));
+    }
+    
+    private static <T> ResponseEntity<T> notModified(long revision) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(String.valueOf(revision))
+            .cacheControl(CacheControl.noCache())
+            .build();
+    }
+    
+    // Lets clients keep the response, but only use it after revalidating its ETag: the revision the
+    // body was read at, which may be older than the current one, but never newer than the body, so
+    // a stale body is refetched rather than kept under the current revision
+    private static <T> ResponseEntity<T> revalidated(long revision, T body) {
+        return ResponseEntity.ok()
+            .eTag(String.valueOf(revision))
+            .cacheControl(CacheControl.noCache())
+            .body(body);
+    }
 }
-
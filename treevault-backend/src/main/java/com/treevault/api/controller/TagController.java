@@ -5,6 +5,7 @@ import com.treevault.api.dto.response.TagResponse;
 import com.treevault.api.mapper.ApiMapper;
 import com.treevault.application.usecase.AddTagUseCase;
 import com.treevault.application.usecase.RemoveTagUseCase;
+import com.treevault.application.usecase.UseCaseRetryExecutor;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.TagKey;
 import com.treevault.domain.model.valueobject.TagValue;
@@ -39,6 +40,9 @@ public class TagController {
     @Autowired
     private RemoveTagUseCase removeTagUseCase;
 
+    @Autowired
+    private UseCaseRetryExecutor retryExecutor;
+
     @Autowired
     private ApiMapper apiMapper;
 
@@ -49,6 +53,7 @@ public class TagController {
             content = @Content(schema = @Schema(implementation = TagResponse.class))),
         @ApiResponse(responseCode = "400", description = "Invalid request"),
         @ApiResponse(responseCode = "404", description = "Node not found"),
+        @ApiResponse(responseCode = "409", description = "The write kept conflicting with concurrent ones"),
         @ApiResponse(responseCode = "422", description = "Validation error or tag limit exceeded")
     })
     @ResponseStatus(HttpStatus.CREATED)
@@ -60,7 +65,7 @@ public class TagController {
             TagKey.of(request.getKey()),
             TagValue.of(request.getValue())
         );
-        var tag = addTagUseCase.execute(command);
+        var tag = retryExecutor.execute(AddTagUseCase.class, () -> addTagUseCase.execute(command));
         return apiMapper.toTagResponse(tag);
     }
 
@@ -68,13 +73,14 @@ public class TagController {
     @Operation(summary = "Remove a tag from a node", description = "Removes a tag by key from a node")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Tag removed successfully"),
-        @ApiResponse(responseCode = "404", description = "Node or tag not found")
+        @ApiResponse(responseCode = "404", description = "Node or tag not found"),
+        @ApiResponse(responseCode = "409", description = "The write kept conflicting with concurrent ones")
     })
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void removeTag(
             @Parameter(description = "Node UUID", required = true) @PathVariable UUID id,
             @Parameter(description = "Tag key", required = true) @PathVariable String key) {
-        removeTagUseCase.execute(NodeId.of(id), TagKey.of(key));
+        retryExecutor.run(RemoveTagUseCase.class, () -> removeTagUseCase.execute(NodeId.of(id), TagKey.of(key)));
     }
 }
 
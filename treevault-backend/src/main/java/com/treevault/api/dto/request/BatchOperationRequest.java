@@ -0,0 +1,115 @@
+package com.treevault.api.dto.request;
+
+import com.treevault.application.usecase.ExecuteBatchUseCase;
+import com.treevault.domain.model.valueobject.NodeType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.util.Map;
+
+/**
+ * One operation of a batch. {@code nodeId} and {@code parentId} take either a node id or the
+ * {@code ref} of an earlier create; which of the other fields apply depends on {@code op}.
+ */
+public class BatchOperationRequest {
+    @NotNull(message = "Operation is required")
+    private ExecuteBatchUseCase.OperationType op;
+    
+    private String ref;
+    
+    private String nodeId;
+    
+    private String parentId;
+    
+    private String name;
+    
+    private NodeType type;
+    
+    @Min(value = 0, message = "Position must be non-negative")
+    private Integer position;
+    
+    private String key;
+    
+    private String value;
+    
+    private Map<String, String> tags;
+    
+    public ExecuteBatchUseCase.OperationType getOp() {
+        return op;
+    }
+    
+    public void setOp(ExecuteBatchUseCase.OperationType op) {
+        this.op = op;
+    }
+    
+    public String getRef() {
+        return ref;
+    }
+    
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+    
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+    
+    public String getParentId() {
+        return parentId;
+    }
+    
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public NodeType getType() {
+        return type;
+    }
+    
+    public void setType(NodeType type) {
+        this.type = type;
+    }
+    
+    public Integer getPosition() {
+        return position;
+    }
+    
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public void setKey(String key) {
+        this.key = key;
+    }
+    
+    public String getValue() {
+        return value;
+    }
+    
+    public void setValue(String value) {
+        this.value = value;
+    }
+    
+    public Map<String, String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(Map<String, String> tags) {
+        this.tags = tags;
+    }
+}
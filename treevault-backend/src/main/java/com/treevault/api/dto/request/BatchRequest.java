@@ -0,0 +1,18 @@
+package com.treevault.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class BatchRequest {
+    @NotEmpty(message = "At least one operation is required")
+    private List<@Valid BatchOperationRequest> operations;
+    
+    public List<BatchOperationRequest> getOperations() {
+        return operations;
+    }
+    
+    public void setOperations(List<BatchOperationRequest> operations) {
+        this.operations = operations;
+    }
+}
@@ -0,0 +1,39 @@
+package com.treevault.api.dto.request;
+
+import com.treevault.domain.model.valueobject.NodeType;
+import java.util.Map;
+
+/**
+ * One line of an NDJSON import body.
+ */
+public class NodeImportRequest {
+    private String path;
+    
+    private NodeType type;
+    
+    private Map<String, String> tags;
+    
+    public String getPath() {
+        return path;
+    }
+    
+    public void setPath(String path) {
+        this.path = path;
+    }
+    
+    public NodeType getType() {
+        return type;
+    }
+    
+    public void setType(NodeType type) {
+        this.type = type;
+    }
+    
+    public Map<String, String> getTags() {
+        return tags;
+    }
+    
+    public void setTags(Map<String, String> tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,56 @@
+package com.treevault.api.dto.response;
+
+import com.treevault.application.usecase.ExecuteBatchUseCase;
+
+/**
+ * Outcome of one operation of a batch: the node it acted on, as the whole batch left it, or only
+ * its id if it was deleted.
+ */
+public class BatchOperationResponse {
+    private ExecuteBatchUseCase.OperationType op;
+    private String ref;
+    private String id;
+    private NodeResponse node;
+    
+    public BatchOperationResponse() {
+    }
+    
+    public BatchOperationResponse(ExecuteBatchUseCase.OperationType op, String ref, String id, NodeResponse node) {
+        this.op = op;
+        this.ref = ref;
+        this.id = id;
+        this.node = node;
+    }
+    
+    public ExecuteBatchUseCase.OperationType getOp() {
+        return op;
+    }
+    
+    public void setOp(ExecuteBatchUseCase.OperationType op) {
+        this.op = op;
+    }
+    
+    public String getRef() {
+        return ref;
+    }
+    
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public NodeResponse getNode() {
+        return node;
+    }
+    
+    public void setNode(NodeResponse node) {
+        this.node = node;
+    }
+}
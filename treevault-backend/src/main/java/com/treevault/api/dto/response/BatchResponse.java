@@ -0,0 +1,22 @@
+package com.treevault.api.dto.response;
+
+import java.util.List;
+
+public class BatchResponse {
+    private List<BatchOperationResponse> results;
+    
+    public BatchResponse() {
+    }
+    
+    public BatchResponse(List<BatchOperationResponse> results) {
+        this.results = results;
+    }
+    
+    public List<BatchOperationResponse> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<BatchOperationResponse> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,32 @@
+package com.treevault.api.dto.response;
+
+import java.util.List;
+
+public class ChildrenPageResponse {
+    private List<NodeResponse> items;
+    private Long nextCursor;
+    
+    public ChildrenPageResponse() {
+    }
+    
+    public ChildrenPageResponse(List<NodeResponse> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<NodeResponse> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<NodeResponse> items) {
+        this.items = items;
+    }
+    
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
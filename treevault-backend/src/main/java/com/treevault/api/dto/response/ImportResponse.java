@@ -0,0 +1,40 @@
+package com.treevault.api.dto.response;
+
+public class ImportResponse {
+    private long imported;
+    private long elapsedMillis;
+    private long nodesPerSecond;
+    
+    public ImportResponse() {
+    }
+    
+    public ImportResponse(long imported, long elapsedMillis, long nodesPerSecond) {
+        this.imported = imported;
+        this.elapsedMillis = elapsedMillis;
+        this.nodesPerSecond = nodesPerSecond;
+    }
+    
+    public long getImported() {
+        return imported;
+    }
+    
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public long getNodesPerSecond() {
+        return nodesPerSecond;
+    }
+    
+    public void setNodesPerSecond(long nodesPerSecond) {
+        this.nodesPerSecond = nodesPerSecond;
+    }
+}
@@ -1,16 +1,25 @@
 package com.treevault.api.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.treevault.domain.model.valueobject.NodeType;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
+// Children come last, as the streamed tree has to write them (see TreeJsonWriter)
+@JsonPropertyOrder({"id", "name", "type", "parentId", "hasChildren", "truncated", "tags", "path", "position",
+    "version", "createdAt", "updatedAt", "children"})
 public class NodeResponse {
     private String id;
     private String name;
     private NodeType type;
     private String parentId;
     private List<NodeResponse> children;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean hasChildren;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean truncated;
     private Map<String, String> tags;
     private String path;
     private Integer position;
@@ -58,6 +67,22 @@ public class NodeResponse {
         this.children = children;
     }
     
+    public Boolean getHasChildren() {
+        return hasChildren;
+    }
+    
+    public void setHasChildren(Boolean hasChildren) {
+        this.hasChildren = hasChildren;
+    }
+    
+    public Boolean getTruncated() {
+        return truncated;
+    }
+    
+    public void setTruncated(Boolean truncated) {
+        this.truncated = truncated;
+    }
+    
     public Map<String, String> getTags() {
         return tags;
     }
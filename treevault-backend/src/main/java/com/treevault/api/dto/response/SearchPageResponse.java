@@ -0,0 +1,32 @@
+package com.treevault.api.dto.response;
+
+import java.util.List;
+
+public class SearchPageResponse {
+    private List<NodeResponse> items;
+    private String nextCursor;
+    
+    public SearchPageResponse() {
+    }
+    
+    public SearchPageResponse(List<NodeResponse> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<NodeResponse> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<NodeResponse> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
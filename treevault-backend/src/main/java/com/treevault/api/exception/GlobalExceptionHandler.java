@@ -1,11 +1,15 @@
 package com.treevault.api.exception;
 
+import com.treevault.application.usecase.ExecuteBatchUseCase.BatchOperationException;
+import com.treevault.application.usecase.ImportNodesUseCase.ImportRecordException;
 import com.treevault.domain.exception.CircularReferenceException;
+import com.treevault.domain.exception.DomainException;
 import com.treevault.domain.exception.InvalidNodeOperationException;
 import com.treevault.domain.exception.NodeNotFoundException;
 import com.treevault.domain.exception.NodeValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -215,6 +219,60 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(problemDetail);
     }
     
+    /**
+     * Reached once a write has lost to concurrent ones more often than its retries allow (see
+     * UseCaseRetryExecutor); nothing was written, so the request can be sent again.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ProblemDetail> handleConcurrencyFailure(
+            ConcurrencyFailureException ex, WebRequest request) {
+        logger.warn("Write conflicted with concurrent writes: {}", ex.getMessage(), ex);
+        
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+            HttpStatus.CONFLICT,
+            "The request conflicted with concurrent changes and was not applied; please try again"
+        );
+        problemDetail.setType(createUri(ERROR_URI_PREFIX + "concurrent-modification"));
+        problemDetail.setTitle("Concurrent Modification");
+        problemDetail.setInstance(createUri(request.getDescription(false)));
+        problemDetail.setProperty("errorId", UUID.randomUUID().toString());
+        problemDetail.setProperty("timestamp", Instant.now());
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problemDetail);
+    }
+    
+    /**
+     * Answers as the failed operation alone would have, adding which operation of the batch it was.
+     */
+    @ExceptionHandler(BatchOperationException.class)
+    public ResponseEntity<ProblemDetail> handleBatchOperationFailure(
+            BatchOperationException ex, WebRequest request) {
+        ResponseEntity<ProblemDetail> response = handleCause(ex, request);
+        Objects.requireNonNull(response.getBody()).setProperty("operationIndex", ex.getOperationIndex());
+        return response;
+    }
+    
+    /**
+     * Answers as the failed record alone would have, adding which record of the import it was.
+     */
+    @ExceptionHandler(ImportRecordException.class)
+    public ResponseEntity<ProblemDetail> handleImportRecordFailure(
+            ImportRecordException ex, WebRequest request) {
+        ResponseEntity<ProblemDetail> response = handleCause(ex, request);
+        Objects.requireNonNull(response.getBody()).setProperty("recordIndex", ex.getRecordIndex());
+        return response;
+    }
+    
+    private ResponseEntity<ProblemDetail> handleCause(DomainException ex, WebRequest request) {
+        return switch (ex.getCause()) {
+            case NodeNotFoundException e -> handleNodeNotFound(e, request);
+            case InvalidNodeOperationException e -> handleInvalidOperation(e, request);
+            case NodeValidationException e -> handleValidationError(e, request);
+            case CircularReferenceException e -> handleCircularReference(e, request);
+            default -> handleGenericException(ex, request);
+        };
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ProblemDetail> handleGenericException(
             Exception ex, WebRequest request) {
@@ -1,17 +1,42 @@
 package com.treevault.api.mapper;
 
+import com.treevault.api.dto.request.BatchOperationRequest;
 import com.treevault.api.dto.request.CreateNodeRequest;
+import com.treevault.api.dto.request.NodeImportRequest;
+import com.treevault.api.dto.response.BatchOperationResponse;
+import com.treevault.api.dto.response.BatchResponse;
+import com.treevault.api.dto.response.ChildrenPageResponse;
+import com.treevault.api.dto.response.ImportResponse;
 import com.treevault.api.dto.response.NodeResponse;
+import com.treevault.api.dto.response.SearchPageResponse;
 import com.treevault.api.dto.response.TagResponse;
 import com.treevault.api.dto.response.TreeResponse;
+import com.treevault.application.query.NodeView;
+import com.treevault.application.query.SearchCursor;
+import com.treevault.application.query.TagFilter;
 import com.treevault.application.usecase.CreateNodeUseCase;
+import com.treevault.application.usecase.ExecuteBatchUseCase;
+import com.treevault.application.usecase.GetTreeUseCase;
+import com.treevault.application.usecase.ImportNodesUseCase;
+import com.treevault.application.usecase.ListChildrenUseCase;
+import com.treevault.application.usecase.SearchNodesUseCase;
+import com.treevault.domain.exception.InvalidNodeOperationException;
 import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.entity.Tag;
 import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.model.valueobject.TagValue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Component
@@ -21,6 +46,10 @@ public class ApiMapper {
         return new TreeResponse(toNodeResponse(root, true));
     }
     
+    public TreeResponse toTreeResponse(GetTreeUseCase.TreeSlice slice) {
+        return new TreeResponse(toNodeResponse(slice.getRoot(), true, slice::isTruncated));
+    }
+    
     public NodeResponse toNodeResponse(Node node) {
         return toNodeResponse(node, false);
     }
@@ -29,7 +58,70 @@ public class ApiMapper {
         return toNodeResponse(node, true);
     }
     
+    public ChildrenPageResponse toChildrenPageResponse(ListChildrenUseCase.ChildrenPage page) {
+        List<NodeResponse> items = page.getChildren().stream()
+            .map(child -> {
+                NodeResponse response = toNodeResponse(child, false);
+                response.setHasChildren(page.hasChildren(child));
+                return response;
+            })
+            .collect(Collectors.toList());
+        Long nextCursor = page.getNextCursor() != null ? page.getNextCursor().getValue() : null;
+        return new ChildrenPageResponse(items, nextCursor);
+    }
+    
+    public SearchPageResponse toSearchPageResponse(SearchNodesUseCase.SearchPage page) {
+        List<NodeResponse> items = page.getNodes().stream()
+            .map(view -> toNodeResponse(view, null))
+            .collect(Collectors.toList());
+        String nextCursor = page.getNextCursor() != null ? toCursorString(page.getNextCursor()) : null;
+        return new SearchPageResponse(items, nextCursor);
+    }
+    
+    /**
+     * Parses a search cursor as written by {@link #toSearchPageResponse}: the id of the last match,
+     * followed by its rank for ranked searches.
+     */
+    public SearchCursor toSearchCursor(String cursor) {
+        int separator = cursor.indexOf(':');
+        try {
+            if (separator < 0) {
+                return new SearchCursor(UUID.fromString(cursor), null);
+            }
+            return new SearchCursor(
+                UUID.fromString(cursor.substring(0, separator)),
+                Float.valueOf(cursor.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException e) {
+            throw new InvalidNodeOperationException("Invalid search cursor: " + cursor);
+        }
+    }
+    
+    private static String toCursorString(SearchCursor cursor) {
+        return cursor.rank() != null ? cursor.id() + ":" + cursor.rank() : cursor.id().toString();
+    }
+    
+    /**
+     * Parses a tag filter written as {@code key:value}, or {@code key:*} for any value. Only the
+     * first colon separates the two, so values may contain colons.
+     */
+    public TagFilter toTagFilter(String filter) {
+        int separator = filter.indexOf(':');
+        if (separator < 0) {
+            throw new InvalidNodeOperationException(
+                "Tag filter must be key:value or key:*, got: " + filter
+            );
+        }
+        TagKey key = TagKey.of(filter.substring(0, separator));
+        String value = filter.substring(separator + 1);
+        return value.equals("*") ? TagFilter.anyValue(key) : new TagFilter(key, TagValue.of(value));
+    }
+    
     private NodeResponse toNodeResponse(Node node, boolean includeChildren) {
+        return toNodeResponse(node, includeChildren, n -> false);
+    }
+    
+    private NodeResponse toNodeResponse(Node node, boolean includeChildren, Predicate<Node> isTruncated) {
         NodeResponse response = new NodeResponse();
         response.setId(node.getId().toString());
         response.setName(node.getName().getValue());
@@ -52,14 +144,38 @@ public class ApiMapper {
         // Convert children recursively if requested
         if (includeChildren) {
             List<NodeResponse> children = node.getChildren().stream()
-                .map(child -> toNodeResponse(child, true))
+                .map(child -> toNodeResponse(child, true, isTruncated))
                 .collect(Collectors.toList());
             response.setChildren(children);
+            // Set only on depth-limited fetches, for folders whose children were left out
+            if (isTruncated.test(node)) {
+                response.setTruncated(true);
+            }
         }
         
         return response;
     }
     
+    /**
+     * Maps a read model view without children; {@code position} overrides the view's own, which is
+     * only set for the first node of a walk.
+     */
+    public NodeResponse toNodeResponse(NodeView view, Integer position) {
+        NodeResponse response = new NodeResponse();
+        response.setId(view.id().toString());
+        response.setName(view.name());
+        response.setType(view.type());
+        response.setParentId(view.parentId() != null ? view.parentId().toString() : null);
+        response.setPath(view.path());
+        response.setPosition(position);
+        response.setVersion(view.version());
+        response.setCreatedAt(view.createdAt());
+        response.setUpdatedAt(view.updatedAt());
+        response.setTags(new HashMap<>(view.tags()));
+        response.setChildren(new ArrayList<>());
+        return response;
+    }
+    
     public CreateNodeUseCase.CreateNodeCommand toCreateCommand(CreateNodeRequest request) {
         NodeId parentId = request.getParentId() != null && !request.getParentId().isEmpty()
             ? NodeId.of(request.getParentId())
@@ -73,6 +189,86 @@ public class ApiMapper {
         );
     }
     
+    /**
+     * Maps the lines of an import body lazily, as the import reads them. A line that is not a valid
+     * record is reported when it is read, not when it is looked ahead at, so that the import counts
+     * it as the failed record.
+     */
+    public Iterator<ImportNodesUseCase.ImportNodeCommand> toImportCommands(Iterator<NodeImportRequest> requests) {
+        return new Iterator<>() {
+            private RuntimeException malformed;
+            
+            @Override
+            public boolean hasNext() {
+                try {
+                    return malformed != null || requests.hasNext();
+                } catch (RuntimeException e) {
+                    if (!isMalformedRecord(e)) {
+                        throw e;
+                    }
+                    malformed = e;
+                    return true;
+                }
+            }
+            
+            @Override
+            public ImportNodesUseCase.ImportNodeCommand next() {
+                try {
+                    if (malformed != null) {
+                        throw malformed;
+                    }
+                    NodeImportRequest request = requests.next();
+                    return new ImportNodesUseCase.ImportNodeCommand(request.getPath(), request.getType(), request.getTags());
+                } catch (RuntimeException e) {
+                    if (!isMalformedRecord(e)) {
+                        throw e;
+                    }
+                    throw new InvalidNodeOperationException("Malformed import record: " + e.getMessage());
+                }
+            }
+        };
+    }
+    
+    // Jackson's iterators report bad JSON wrapped in a plain RuntimeException, and values that do not
+    // fit the record in a RuntimeJsonMappingException
+    private static boolean isMalformedRecord(RuntimeException e) {
+        return e instanceof RuntimeJsonMappingException || e.getCause() instanceof JsonProcessingException;
+    }
+    
+    public ImportResponse toImportResponse(ImportNodesUseCase.ImportResult result) {
+        return new ImportResponse(
+            result.getImported(),
+            result.getElapsed().toMillis(),
+            result.getNodesPerSecond()
+        );
+    }
+    
+    public ExecuteBatchUseCase.BatchOperation toBatchOperation(BatchOperationRequest request) {
+        return switch (request.getOp()) {
+            case CREATE -> ExecuteBatchUseCase.BatchOperation.create(
+                request.getRef(), request.getParentId(), request.getName(), request.getType(), request.getTags());
+            case RENAME -> ExecuteBatchUseCase.BatchOperation.rename(request.getNodeId(), request.getName());
+            case MOVE -> ExecuteBatchUseCase.BatchOperation.move(
+                request.getNodeId(), request.getParentId(), request.getPosition());
+            case DELETE -> ExecuteBatchUseCase.BatchOperation.delete(request.getNodeId());
+            case ADD_TAG -> ExecuteBatchUseCase.BatchOperation.addTag(
+                request.getNodeId(), request.getKey(), request.getValue());
+            case REMOVE_TAG -> ExecuteBatchUseCase.BatchOperation.removeTag(request.getNodeId(), request.getKey());
+        };
+    }
+    
+    public BatchResponse toBatchResponse(List<ExecuteBatchUseCase.OperationResult> results) {
+        List<BatchOperationResponse> responses = results.stream()
+            .map(result -> new BatchOperationResponse(
+                result.getOperation().getType(),
+                result.getOperation().getRef(),
+                result.getNode().getId().toString(),
+                result.isDeleted() ? null : toNodeResponse(result.getNode())
+            ))
+            .collect(Collectors.toList());
+        return new BatchResponse(responses);
+    }
+    
     public TagResponse toTagResponse(Tag tag) {
         return new TagResponse(
             tag.getKey().getValue(),
@@ -0,0 +1,78 @@
+package com.treevault.api.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.treevault.application.query.NodeView;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Writes nodes arriving in tree order as newline-delimited JSON, one line per node with its id,
+ * parent id, path, type, position and tags.
+ * <p>
+ * Lines are written as the nodes arrive, parents before their children, so the output can be
+ * imported again line by line. Only the chain of ancestors of the current node is kept in memory,
+ * to count each one's children for their positions.
+ */
+public class NdjsonNodeWriter implements Consumer<NodeView> {
+
+    private final JsonGenerator generator;
+    private final Deque<OpenNode> open = new ArrayDeque<>();
+
+    public NdjsonNodeWriter(JsonGenerator generator) {
+        this.generator = generator;
+        // Every line ends in a newline of its own instead
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void accept(NodeView node) {
+        try {
+            Integer position = node.position();
+            if (!open.isEmpty()) {
+                // Leave the subtrees the node is not part of
+                while (!open.peek().id.equals(node.parentId())) {
+                    open.pop();
+                }
+                position = open.peek().childCount++;
+            }
+            writeLine(node, position);
+            open.push(new OpenNode(node.id()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void finish() throws IOException {
+        generator.flush();
+    }
+
+    private void writeLine(NodeView node, Integer position) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", node.id().toString());
+        generator.writeStringField("parentId", node.parentId() != null ? node.parentId().toString() : null);
+        generator.writeStringField("path", node.path());
+        generator.writeObjectField("type", node.type());
+        generator.writeObjectField("position", position);
+        generator.writeObjectFieldStart("tags");
+        for (Map.Entry<String, String> tag : node.tags().entrySet()) {
+            generator.writeStringField(tag.getKey(), tag.getValue());
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static final class OpenNode {
+        private final UUID id;
+        private int childCount;
+
+        private OpenNode(UUID id) {
+            this.id = id;
+        }
+    }
+}
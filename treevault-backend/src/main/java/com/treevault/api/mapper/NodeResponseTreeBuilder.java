@@ -0,0 +1,47 @@
+package com.treevault.api.mapper;
+
+import com.treevault.api.dto.response.NodeResponse;
+import com.treevault.application.query.NodeView;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Builds a nested {@link NodeResponse} from read model views arriving in tree order, the same
+ * response {@link ApiMapper#toNodeResponseWithChildren} produces from a reconstructed domain node.
+ */
+public class NodeResponseTreeBuilder implements Consumer<NodeView> {
+
+    private final ApiMapper apiMapper;
+    // The chain from the top node down to the node visited last
+    private final Deque<NodeResponse> open = new ArrayDeque<>();
+    private NodeResponse top;
+
+    public NodeResponseTreeBuilder(ApiMapper apiMapper) {
+        this.apiMapper = apiMapper;
+    }
+
+    @Override
+    public void accept(NodeView node) {
+        if (top == null) {
+            top = apiMapper.toNodeResponse(node, node.position());
+            open.push(top);
+            return;
+        }
+        String parentId = node.parentId().toString();
+        while (!open.peek().getId().equals(parentId)) {
+            open.pop();
+        }
+        NodeResponse parent = open.peek();
+        NodeResponse response = apiMapper.toNodeResponse(node, parent.getChildren().size());
+        parent.getChildren().add(response);
+        open.push(response);
+    }
+
+    /**
+     * Returns the first node visited with its descendants, or {@code null} if none was.
+     */
+    public NodeResponse getTop() {
+        return top;
+    }
+}
@@ -0,0 +1,100 @@
+package com.treevault.api.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.treevault.api.dto.response.TreeResponse;
+import com.treevault.application.query.NodeView;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Writes nodes arriving in tree order as the JSON of a {@link TreeResponse}, one node at a time.
+ * <p>
+ * Only the chain of folders whose {@code children} arrays are still open is kept in memory. The
+ * output is the same as Jackson's for the {@link ApiMapper} response of the whole tree: the
+ * properties in {@link com.treevault.api.dto.response.NodeResponse}'s order, {@code children} last,
+ * and {@code hasChildren} and {@code truncated} left out, as they are unset on a whole tree.
+ */
+public class TreeJsonWriter implements Consumer<NodeView> {
+
+    private final JsonGenerator generator;
+    private final Deque<OpenNode> open = new ArrayDeque<>();
+    private boolean started;
+
+    public TreeJsonWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public void accept(NodeView node) {
+        try {
+            Integer position = node.position();
+            if (!started) {
+                generator.writeStartObject();
+                generator.writeFieldName("root");
+                started = true;
+            } else {
+                // Close the subtrees the node is not part of
+                while (!open.peek().id.equals(node.parentId())) {
+                    close();
+                }
+                position = open.peek().childCount++;
+            }
+            writeNode(node, position);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Closes the remaining open nodes and the enclosing response object.
+     */
+    public void finish() throws IOException {
+        while (!open.isEmpty()) {
+            close();
+        }
+        if (started) {
+            generator.writeEndObject();
+        }
+        generator.flush();
+    }
+
+    private void writeNode(NodeView node, Integer position) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", node.id().toString());
+        generator.writeStringField("name", node.name());
+        generator.writeObjectField("type", node.type());
+        generator.writeStringField("parentId", node.parentId() != null ? node.parentId().toString() : null);
+        generator.writeObjectFieldStart("tags");
+        for (Map.Entry<String, String> tag : node.tags().entrySet()) {
+            generator.writeStringField(tag.getKey(), tag.getValue());
+        }
+        generator.writeEndObject();
+        generator.writeStringField("path", node.path());
+        generator.writeObjectField("position", position);
+        generator.writeObjectField("version", node.version());
+        generator.writeObjectField("createdAt", node.createdAt());
+        generator.writeObjectField("updatedAt", node.updatedAt());
+        generator.writeArrayFieldStart("children");
+        open.push(new OpenNode(node.id()));
+    }
+
+    private void close() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        open.pop();
+    }
+
+    private static final class OpenNode {
+        private final UUID id;
+        private int childCount;
+
+        private OpenNode(UUID id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.treevault.application.query;
+
+import java.util.List;
+
+/**
+ * Finds stored nodes by their attributes rather than their place in the tree, served as
+ * {@link NodeView}s without positions.
+ */
+public interface NodeSearch {
+    /**
+     * Returns at most {@code limit} nodes matching the criteria in result order (see
+     * {@link SearchCursor}), starting after the match at {@code after}, or at the first match if
+     * it is {@code null}.
+     */
+    List<SearchHit> find(NodeSearchCriteria criteria, SearchCursor after, int limit);
+}
@@ -0,0 +1,19 @@
+package com.treevault.application.query;
+
+import com.treevault.domain.model.valueobject.NodeId;
+import java.util.List;
+
+/**
+ * What a {@link NodeSearch} matches: nodes whose name contains or resembles {@code text}, unless
+ * it is {@code null}, that carry every tag filter and lie in the subtree of {@code withinId}, itself
+ * included, unless it is {@code null}.
+ */
+public record NodeSearchCriteria(String text, List<TagFilter> tags, NodeId withinId) {
+
+    /**
+     * Whether matches are ranked by how closely their name resembles the text.
+     */
+    public boolean isRanked() {
+        return text != null;
+    }
+}
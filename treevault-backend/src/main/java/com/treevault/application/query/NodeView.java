@@ -0,0 +1,23 @@
+package com.treevault.application.query;
+
+import com.treevault.domain.model.valueobject.NodeType;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Read-only snapshot of a stored node as served to clients, without the domain model's
+ * invariants, change tracking or links to other nodes. {@code position} is only set where the
+ * read model derived it, see {@link TreeReadModel#forEachNodeInTreeOrder}.
+ */
+public record NodeView(UUID id,
+                       String name,
+                       NodeType type,
+                       UUID parentId,
+                       String path,
+                       Integer position,
+                       Long version,
+                       LocalDateTime createdAt,
+                       LocalDateTime updatedAt,
+                       Map<String, String> tags) {
+}
@@ -0,0 +1,10 @@
+package com.treevault.application.query;
+
+import java.util.UUID;
+
+/**
+ * The place of a match in search results: ranked results are ordered by descending rank and then
+ * by id, unranked ones by id alone, in which case {@code rank} is {@code null}.
+ */
+public record SearchCursor(UUID id, Float rank) {
+}
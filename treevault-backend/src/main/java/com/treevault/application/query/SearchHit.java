@@ -0,0 +1,11 @@
+package com.treevault.application.query;
+
+/**
+ * A node found by a {@link NodeSearch}, with its rank if the search was ranked.
+ */
+public record SearchHit(NodeView node, Float rank) {
+
+    public SearchCursor cursor() {
+        return new SearchCursor(node.id(), rank);
+    }
+}
@@ -0,0 +1,22 @@
+package com.treevault.application.query;
+
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.model.valueobject.TagValue;
+
+/**
+ * Matches nodes carrying a tag with the given key and, unless {@code value} is {@code null}, the
+ * given value.
+ */
+public record TagFilter(TagKey key, TagValue value) {
+
+    /**
+     * Matches nodes carrying the key with any value.
+     */
+    public static TagFilter anyValue(TagKey key) {
+        return new TagFilter(key, null);
+    }
+
+    public boolean matchesAnyValue() {
+        return value == null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.treevault.application.query;
+
+import com.treevault.domain.model.valueobject.NodeId;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * Query side of the tree: serves reads straight from the store as {@link NodeView}s, bypassing
+ * the domain model and its persistence context.
+ */
+public interface TreeReadModel {
+    /**
+     * Visits a node and all of its descendants depth first, every node before its children and
+     * siblings in their stored order. Nodes are handed over as they are read, so the caller decides
+     * how much of the tree is kept in memory. Only the first node is sure to carry its position; the
+     * positions of the others follow from the order of the walk.
+     *
+     * @param topId the node to start from, or {@code null} for the root
+     * @return the revision of the tree the nodes were read from, which may be older than the
+     *         current one but includes every write they show; empty if there is no such node
+     */
+    OptionalLong forEachNodeInTreeOrder(NodeId topId, Consumer<NodeView> visitor);
+    
+    /**
+     * Like {@link #forEachNodeInTreeOrder}, but always reads the nodes from the store through a
+     * cursor, never through an in-memory copy of the tree, so that walking any number of nodes holds
+     * only a few rows at a time. The nodes include every write committed before the call. Must be
+     * called in a transaction, which keeps the cursor open.
+     *
+     * @return {@code false} if there is no such node
+     */
+    boolean forEachStoredNodeInTreeOrder(NodeId topId, Consumer<NodeView> visitor);
+    
+    /**
+     * Returns the revision of the stored tree. It changes with every committed write, so equal
+     * revisions mean an unchanged tree.
+     */
+    long currentRevision();
+}
@@ -5,23 +5,29 @@ import com.treevault.domain.model.entity.Tag;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.TagKey;
 import com.treevault.domain.model.valueobject.TagValue;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
 import com.treevault.domain.exception.NodeNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import java.util.List;
 
 @Service
 @Transactional
 public class AddTagUseCase {
     
     private final NodeRepository nodeRepository;
+    private final NodeLocks nodeLocks;
     
-    public AddTagUseCase(NodeRepository nodeRepository) {
+    public AddTagUseCase(NodeRepository nodeRepository, NodeLocks nodeLocks) {
         this.nodeRepository = nodeRepository;
+        this.nodeLocks = nodeLocks;
     }
     
     public Tag execute(AddTagCommand command) {
-        Node node = nodeRepository.findById(command.getNodeId())
+        nodeLocks.lock(List.of(command.getNodeId()), List.of());
+        // A tag belongs to the node alone, so its neighbourhood is not loaded
+        Node node = nodeRepository.findWithAncestorsById(command.getNodeId())
             .orElseThrow(() -> new NodeNotFoundException(
                 "Node not found: " + command.getNodeId()
             ));
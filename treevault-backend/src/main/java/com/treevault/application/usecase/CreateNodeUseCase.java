@@ -6,28 +6,36 @@ import com.treevault.domain.model.valueobject.NodeName;
 import com.treevault.domain.model.valueobject.NodeType;
 import com.treevault.domain.model.valueobject.TagKey;
 import com.treevault.domain.model.valueobject.TagValue;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
 import com.treevault.domain.exception.InvalidNodeOperationException;
 import com.treevault.domain.exception.NodeNotFoundException;
 import com.treevault.domain.exception.NodeValidationException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import java.util.List;
 
 @Service
 @Transactional
 public class CreateNodeUseCase {
     
     private final NodeRepository nodeRepository;
+    private final NodeLocks nodeLocks;
     
-    public CreateNodeUseCase(NodeRepository nodeRepository) {
+    public CreateNodeUseCase(NodeRepository nodeRepository, NodeLocks nodeLocks) {
         this.nodeRepository = nodeRepository;
+        this.nodeLocks = nodeLocks;
     }
     
     public Node execute(CreateNodeCommand command) {
         validateCommand(command);
+        // The new node copies its parent's id path and ancestors, which a folder move must not
+        // change before this write commits
+        nodeLocks.lockFolderMoves(List.of(), true);
         
         Node parent = null;
         if (command.getParentId() != null) {
+            nodeLocks.lock(List.of(command.getParentId()), List.of());
             parent = nodeRepository.findById(command.getParentId())
                 .orElseThrow(() -> new NodeNotFoundException(
                     "Parent node not found: " + command.getParentId()
@@ -43,10 +51,16 @@ public class CreateNodeUseCase {
                 // Safety: files must always have a parent
                 throw new NodeValidationException("Files must have a parent folder");
             }
-            // Ensure a single true root exists and attach new folder under it
-            Node trueRoot = nodeRepository.findRootNode()
+            // Ensure a single true root exists and attach new folder under it. An existing root is
+            // found without its children, which are loaded once its lock is held
+            parent = nodeRepository.findRootNode(0)
+                .map(root -> {
+                    nodeLocks.lock(List.of(root.getId()), List.of());
+                    return nodeRepository.findById(root.getId()).orElseThrow(() -> new NodeNotFoundException(
+                        "Root node not found: " + root.getId()
+                    ));
+                })
                 .orElseGet(() -> nodeRepository.save(Node.createRoot()));
-            parent = trueRoot;
         }
         
         NodeName nodeName = NodeName.of(command.getName());
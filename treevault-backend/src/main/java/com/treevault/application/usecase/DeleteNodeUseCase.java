@@ -2,37 +2,36 @@ package com.treevault.application.usecase;
 
 import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
 import com.treevault.domain.exception.NodeNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import java.util.List;
 
 @Service
 @Transactional
 public class DeleteNodeUseCase {
     
     private final NodeRepository nodeRepository;
+    private final NodeLocks nodeLocks;
     
-    public DeleteNodeUseCase(NodeRepository nodeRepository) {
+    public DeleteNodeUseCase(NodeRepository nodeRepository, NodeLocks nodeLocks) {
         this.nodeRepository = nodeRepository;
+        this.nodeLocks = nodeLocks;
     }
     
     public void execute(NodeId nodeId) {
-        Node node = nodeRepository.findById(nodeId)
+        nodeLocks.lock(List.of(), List.of(nodeId));
+        
+        // The subtree and the siblings stay in the database; the repository removes the subtree with
+        // one statement, and the following siblings keep their ranks, since gaps between ranks are allowed
+        Node node = nodeRepository.findWithAncestorsById(nodeId)
             .orElseThrow(() -> new NodeNotFoundException(
                 "Node not found: " + nodeId
             ));
         
-        // Get parent before deleting (to save reindexed positions later)
-        Node parent = node.getParent().orElse(null);
-        
-        node.delete();  // This removes the node from parent and reindexes siblings
+        node.delete();  // Enforces the domain rules, e.g. that the root cannot be deleted
         nodeRepository.delete(node);
-        
-        // Save parent to persist reindexed positions of remaining siblings
-        if (parent != null) {
-            nodeRepository.save(parent);
-        }
     }
 }
-
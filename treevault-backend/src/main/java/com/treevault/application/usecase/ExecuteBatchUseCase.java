@@ -0,0 +1,401 @@
+package com.treevault.application.usecase;
+
+import com.treevault.domain.exception.DomainException;
+import com.treevault.domain.exception.InvalidNodeOperationException;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.exception.NodeValidationException;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeChange;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.model.valueobject.Position;
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.model.valueobject.TagValue;
+import com.treevault.domain.repository.NodeLocks;
+import com.treevault.domain.repository.NodeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Runs an ordered list of operations as one unit of work: every node the operations refer to is
+ * loaded up front into one object graph, the operations change that graph in memory, and the
+ * result is written with a single save at the end. Either all operations take effect or none.
+ * <p>
+ * A create may declare a reference of the client's choosing; later operations can then use it
+ * wherever they take a node id, to refer to the node before it has been stored.
+ */
+@Service
+public class ExecuteBatchUseCase {
+
+    public static final int MAX_OPERATIONS = 1000;
+
+    private final NodeRepository nodeRepository;
+    private final NodeLocks nodeLocks;
+
+    public ExecuteBatchUseCase(NodeRepository nodeRepository, NodeLocks nodeLocks) {
+        this.nodeRepository = nodeRepository;
+        this.nodeLocks = nodeLocks;
+    }
+
+    @Transactional
+    public List<OperationResult> execute(List<BatchOperation> operations) {
+        if (operations.isEmpty() || operations.size() > MAX_OPERATIONS) {
+            throw new InvalidNodeOperationException(
+                "A batch must hold between 1 and " + MAX_OPERATIONS + " operations"
+            );
+        }
+
+        WorkingSet workingSet = new WorkingSet(load(operations));
+        List<OperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                results.add(apply(operations.get(i), workingSet));
+            } catch (DomainException e) {
+                throw new BatchOperationException(i, e);
+            }
+        }
+
+        // Every operation resolved a stored node or the root, so the graph has a root by now
+        nodeRepository.save(workingSet.root, workingSet.deletedNodes());
+        return results;
+    }
+
+    /**
+     * Locks and then loads the stored nodes the operations refer to, and the root if a folder is
+     * created at the top level, in one shared object graph.
+     */
+    private Map<NodeId, Node> load(List<BatchOperation> operations) {
+        Set<String> declaredRefs = new HashSet<>();
+        Set<NodeId> ids = new LinkedHashSet<>();
+        Set<NodeId> movedIds = new LinkedHashSet<>();
+        boolean needsRoot = false;
+        boolean creates = false;
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            try {
+                for (String reference : operation.getReferences()) {
+                    if (!declaredRefs.contains(reference)) {
+                        ids.add(parseId(reference));
+                    }
+                }
+                if (operation.getType() == OperationType.MOVE && operation.getNodeRef() != null
+                        && !declaredRefs.contains(operation.getNodeRef())) {
+                    movedIds.add(parseId(operation.getNodeRef()));
+                }
+                creates |= operation.getType() == OperationType.CREATE;
+                needsRoot |= operation.getType() == OperationType.CREATE && operation.getParentRef() == null;
+                if (operation.getRef() != null && !declaredRefs.add(operation.getRef())) {
+                    throw new InvalidNodeOperationException(
+                        "Reference '" + operation.getRef() + "' is declared more than once"
+                    );
+                }
+            } catch (DomainException e) {
+                throw new BatchOperationException(i, e);
+            }
+        }
+        if (needsRoot) {
+            // Only the id is needed; its neighbourhood is loaded with the others
+            ids.add(nodeRepository.findRootNode(0)
+                .orElseGet(() -> nodeRepository.save(Node.createRoot()))
+                .getId());
+        }
+        // Any referenced node may gain children or tags, and any may be renamed, moved or deleted
+        nodeLocks.lockFolderMoves(movedIds, creates);
+        nodeLocks.lock(ids, ids);
+        return nodeRepository.findAllById(ids);
+    }
+
+    private OperationResult apply(BatchOperation operation, WorkingSet workingSet) {
+        return switch (operation.getType()) {
+            case CREATE -> {
+                NodeType type = requireValue(operation.getNodeType(), "Node type");
+                if (type == NodeType.FILE && operation.getParentRef() == null) {
+                    throw new NodeValidationException("Files must have a parent folder");
+                }
+                Node parent = operation.getParentRef() != null
+                    ? workingSet.resolve(operation.getParentRef())
+                    : workingSet.root;
+                NodeName name = NodeName.of(requireValue(operation.getName(), "Node name"));
+                requireUniqueName(parent, name);
+                Node node = type == NodeType.FOLDER
+                    ? Node.createFolder(name, parent)
+                    : Node.createFile(name, parent);
+                if (operation.getTags() != null) {
+                    operation.getTags().forEach((key, value) -> node.addTag(TagKey.of(key), TagValue.of(value)));
+                }
+                if (operation.getRef() != null) {
+                    workingSet.created.put(operation.getRef(), node);
+                }
+                yield new OperationResult(operation, node);
+            }
+            case RENAME -> {
+                Node node = workingSet.resolve(operation.getNodeRef());
+                node.rename(NodeName.of(requireValue(operation.getName(), "Node name")));
+                yield new OperationResult(operation, node);
+            }
+            case MOVE -> {
+                Node node = workingSet.resolve(operation.getNodeRef());
+                Node newParent = workingSet.resolve(requireValue(operation.getParentRef(), "New parent"));
+                Position position = operation.getPosition() != null
+                    ? Position.of(operation.getPosition())
+                    : appendPosition(node, newParent);
+                node.moveTo(newParent, position);
+                yield new OperationResult(operation, node);
+            }
+            case DELETE -> {
+                Node node = workingSet.resolve(operation.getNodeRef());
+                workingSet.markDeleted(node);
+                node.delete();
+                yield new OperationResult(operation, node);
+            }
+            case ADD_TAG -> {
+                Node node = workingSet.resolve(operation.getNodeRef());
+                node.addTag(TagKey.of(requireValue(operation.getTagKey(), "Tag key")),
+                    TagValue.of(requireValue(operation.getTagValue(), "Tag value")));
+                yield new OperationResult(operation, node);
+            }
+            case REMOVE_TAG -> {
+                Node node = workingSet.resolve(operation.getNodeRef());
+                node.removeTag(TagKey.of(requireValue(operation.getTagKey(), "Tag key")));
+                yield new OperationResult(operation, node);
+            }
+        };
+    }
+
+    // The folder's children are all loaded, so unlike a single create no store lookup is needed
+    private static void requireUniqueName(Node parent, NodeName name) {
+        boolean nameExists = parent.getChildren().stream()
+            .anyMatch(child -> child.getName().equals(name));
+        if (nameExists) {
+            throw new InvalidNodeOperationException(
+                "Node with name '" + name + "' already exists in parent folder"
+            );
+        }
+    }
+
+    private static Position appendPosition(Node node, Node newParent) {
+        int size = newParent.getChildren().size();
+        return Position.of(newParent.getChildren().contains(node) ? size - 1 : size);
+    }
+
+    private static <T> T requireValue(T value, String fieldName) {
+        if (value == null) {
+            throw new NodeValidationException(fieldName + " is required");
+        }
+        return value;
+    }
+
+    private static NodeId parseId(String reference) {
+        try {
+            return NodeId.of(UUID.fromString(reference));
+        } catch (IllegalArgumentException e) {
+            throw new NodeNotFoundException(
+                "Reference '" + reference + "' is neither a node id nor declared by an earlier create"
+            );
+        }
+    }
+
+    /**
+     * The object graph the operations work on, with the nodes created and deleted so far.
+     */
+    private static final class WorkingSet {
+        private final Map<NodeId, Node> stored;
+        private final Map<String, Node> created = new HashMap<>();
+        private final Set<Node> deleted = new HashSet<>();
+        private final List<Node> deletedStoredNodes = new ArrayList<>();
+        private final Node root;
+
+        // The stored nodes share one graph, so any of them leads to its root
+        private WorkingSet(Map<NodeId, Node> stored) {
+            this.stored = stored;
+            Node top = stored.isEmpty() ? null : stored.values().iterator().next();
+            while (top != null && top.getParent().isPresent()) {
+                top = top.getParent().get();
+            }
+            this.root = top;
+        }
+
+        private Node resolve(String reference) {
+            Node node = created.get(reference);
+            if (node == null) {
+                node = stored.get(parseId(reference));
+            }
+            if (node == null || isDeleted(node)) {
+                throw new NodeNotFoundException("Node not found: " + reference, reference);
+            }
+            return node;
+        }
+
+        // Deleted nodes keep their parent, so the whole chain is checked
+        private boolean isDeleted(Node node) {
+            for (Node current = node; current != null; current = current.getParent().orElse(null)) {
+                if (deleted.contains(current)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Records the stored nodes of a subtree about to be deleted. Nodes moved into it during the
+         * batch are not stored below it, so they are deleted in their own right.
+         */
+        private void markDeleted(Node node) {
+            deleted.add(node);
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(node);
+            while (!pending.isEmpty()) {
+                Node current = pending.pop();
+                if (!current.getPendingChanges().contains(NodeChange.CREATED)) {
+                    deletedStoredNodes.add(current);
+                }
+                current.getChildren().forEach(pending::push);
+            }
+        }
+
+        private List<Node> deletedNodes() {
+            return deletedStoredNodes;
+        }
+    }
+
+    public enum OperationType {
+        CREATE, RENAME, MOVE, DELETE, ADD_TAG, REMOVE_TAG
+    }
+
+    /**
+     * One operation of a batch. Node references are either node ids or references declared by an
+     * earlier create; which of the other fields apply depends on the type.
+     */
+    public static class BatchOperation {
+        private final OperationType type;
+        private final String ref;
+        private final String nodeRef;
+        private final String parentRef;
+        private final String name;
+        private final NodeType nodeType;
+        private final Integer position;
+        private final String tagKey;
+        private final String tagValue;
+        private final Map<String, String> tags;
+
+        private BatchOperation(OperationType type, String ref, String nodeRef, String parentRef, String name,
+                               NodeType nodeType, Integer position, String tagKey, String tagValue,
+                               Map<String, String> tags) {
+            this.type = type;
+            this.ref = ref;
+            this.nodeRef = nodeRef;
+            this.parentRef = parentRef;
+            this.name = name;
+            this.nodeType = nodeType;
+            this.position = position;
+            this.tagKey = tagKey;
+            this.tagValue = tagValue;
+            this.tags = tags;
+        }
+
+        /**
+         * Creates a node below {@code parentRef}, or a folder at the top level if it is {@code null},
+         * under the client reference {@code ref}, which may be {@code null}.
+         */
+        public static BatchOperation create(String ref, String parentRef, String name, NodeType nodeType,
+                                            Map<String, String> tags) {
+            return new BatchOperation(OperationType.CREATE, ref, null, parentRef, name, nodeType, null, null, null, tags);
+        }
+
+        public static BatchOperation rename(String nodeRef, String name) {
+            return new BatchOperation(OperationType.RENAME, null, nodeRef, null, name, null, null, null, null, null);
+        }
+
+        /**
+         * Moves a node to {@code position} among the new parent's children, or after the last of them
+         * if it is {@code null}.
+         */
+        public static BatchOperation move(String nodeRef, String parentRef, Integer position) {
+            return new BatchOperation(OperationType.MOVE, null, nodeRef, parentRef, null, null, position, null, null, null);
+        }
+
+        public static BatchOperation delete(String nodeRef) {
+            return new BatchOperation(OperationType.DELETE, null, nodeRef, null, null, null, null, null, null, null);
+        }
+
+        public static BatchOperation addTag(String nodeRef, String tagKey, String tagValue) {
+            return new BatchOperation(OperationType.ADD_TAG, null, nodeRef, null, null, null, null, tagKey, tagValue, null);
+        }
+
+        public static BatchOperation removeTag(String nodeRef, String tagKey) {
+            return new BatchOperation(OperationType.REMOVE_TAG, null, nodeRef, null, null, null, null, tagKey, null, null);
+        }
+
+        // The node references of an operation, in the order they are resolved
+        private List<String> getReferences() {
+            List<String> references = new ArrayList<>(2);
+            if (type != OperationType.CREATE) {
+                references.add(requireValue(nodeRef, "Node id"));
+            }
+            if (parentRef != null) {
+                references.add(parentRef);
+            }
+            return references;
+        }
+
+        public OperationType getType() { return type; }
+        public String getRef() { return ref; }
+        public String getNodeRef() { return nodeRef; }
+        public String getParentRef() { return parentRef; }
+        public String getName() { return name; }
+        public NodeType getNodeType() { return nodeType; }
+        public Integer getPosition() { return position; }
+        public String getTagKey() { return tagKey; }
+        public String getTagValue() { return tagValue; }
+        public Map<String, String> getTags() { return tags; }
+    }
+
+    /**
+     * The node an operation acted on, in the state the batch left it in; a deleted node is only
+     * identified.
+     */
+    public static class OperationResult {
+        private final BatchOperation operation;
+        private final Node node;
+
+        public OperationResult(BatchOperation operation, Node node) {
+            this.operation = operation;
+            this.node = node;
+        }
+
+        public BatchOperation getOperation() { return operation; }
+        public Node getNode() { return node; }
+        public boolean isDeleted() { return operation.getType() == OperationType.DELETE; }
+    }
+
+    /**
+     * Reports which operation of a batch failed; the cause says why. None of the batch has been
+     * written.
+     */
+    public static class BatchOperationException extends DomainException {
+        private final int operationIndex;
+
+        public BatchOperationException(int operationIndex, DomainException cause) {
+            super("Operation " + operationIndex + " failed: " + cause.getMessage(), cause);
+            this.operationIndex = operationIndex;
+        }
+
+        public int getOperationIndex() { return operationIndex; }
+
+        @Override
+        public synchronized DomainException getCause() {
+            return (DomainException) super.getCause();
+        }
+    }
+}
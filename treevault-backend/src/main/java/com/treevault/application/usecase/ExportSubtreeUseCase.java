@@ -0,0 +1,48 @@
+package com.treevault.application.usecase;
+
+import com.treevault.application.query.NodeView;
+import com.treevault.application.query.TreeReadModel;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.repository.NodeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.function.Consumer;
+
+/**
+ * Reads a node and its whole subtree for export: straight from the store, node by node in tree
+ * order, so that memory use does not grow with the size of the subtree.
+ */
+@Service
+public class ExportSubtreeUseCase {
+    
+    private final TreeReadModel treeReadModel;
+    private final NodeRepository nodeRepository;
+    
+    public ExportSubtreeUseCase(TreeReadModel treeReadModel, NodeRepository nodeRepository) {
+        this.treeReadModel = treeReadModel;
+        this.nodeRepository = nodeRepository;
+    }
+    
+    /**
+     * Fails if there is no such node. Lets callers that write the export as it is read report a
+     * missing node before they have started writing.
+     */
+    @Transactional(readOnly = true)
+    public void checkExists(NodeId nodeId) {
+        if (nodeRepository.findWithAncestorsById(nodeId).isEmpty()) {
+            throw new NodeNotFoundException("Node not found: " + nodeId);
+        }
+    }
+    
+    /**
+     * Hands the node and every node below it to the visitor as they are read; the transaction keeps
+     * the database cursor open until the last one.
+     */
+    @Transactional(readOnly = true)
+    public void execute(NodeId nodeId, Consumer<NodeView> visitor) {
+        if (!treeReadModel.forEachStoredNodeInTreeOrder(nodeId, visitor)) {
+            throw new NodeNotFoundException("Node not found: " + nodeId);
+        }
+    }
+}
@@ -1,11 +1,17 @@
 package com.treevault.application.usecase;
 
+import com.treevault.domain.exception.InvalidNodeOperationException;
 import com.treevault.domain.exception.NodeNotFoundException;
 import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeType;
 import com.treevault.domain.repository.NodeRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 @Service
 public class GetTreeUseCase {
@@ -27,10 +33,63 @@ public class GetTreeUseCase {
     
     @Transactional(readOnly = true)
     public Node getNode(NodeId nodeId) {
-        return nodeRepository.findById(nodeId)
+        return nodeRepository.findSubtreeById(nodeId)
             .orElseThrow(() -> new NodeNotFoundException(
                 "Node not found: " + nodeId
             ));
     }
+    
+    /**
+     * Fetches the tree below the given node, or below the root if {@code rootId} is {@code null},
+     * down to {@code depth} levels, or completely if {@code depth} is {@code null}. Folders on the
+     * last level whose children were left out are reported as truncated, so clients can expand them
+     * on demand.
+     */
+    @Transactional
+    public TreeSlice execute(NodeId rootId, Integer depth) {
+        if (depth == null) {
+            Node top = rootId != null ? getNode(rootId) : execute();
+            return new TreeSlice(top, Collections.emptySet());
+        }
+        if (depth < 0) {
+            throw new InvalidNodeOperationException("Depth must not be negative: " + depth);
+        }
+        
+        Node top = rootId != null
+            ? nodeRepository.findSubtreeById(rootId, depth)
+                .orElseThrow(() -> new NodeNotFoundException("Node not found: " + rootId))
+            : nodeRepository.findRootNode(depth)
+                .orElseGet(() -> nodeRepository.save(Node.createRoot()));
+        return new TreeSlice(top, nodeRepository.findIdsWithChildren(foldersAtDepth(top, depth)));
+    }
+    
+    private static List<NodeId> foldersAtDepth(Node top, int depth) {
+        List<Node> level = List.of(top);
+        for (int i = 0; i < depth; i++) {
+            List<Node> next = new ArrayList<>();
+            level.forEach(node -> next.addAll(node.getChildren()));
+            level = next;
+        }
+        return level.stream()
+            .filter(node -> node.getType() == NodeType.FOLDER)
+            .map(Node::getId)
+            .toList();
+    }
+    
+    public static class TreeSlice {
+        private final Node root;
+        private final Set<NodeId> truncatedIds;
+        
+        public TreeSlice(Node root, Set<NodeId> truncatedIds) {
+            this.root = root;
+            this.truncatedIds = truncatedIds;
+        }
+        
+        public Node getRoot() { return root; }
+        
+        /**
+         * Whether the node has stored children that were not loaded.
+         */
+        public boolean isTruncated(Node node) { return truncatedIds.contains(node.getId()); }
+    }
 }
-
@@ -0,0 +1,174 @@
+package com.treevault.application.usecase;
+
+import com.treevault.domain.exception.DomainException;
+import com.treevault.domain.exception.NodeValidationException;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.model.valueobject.NodePath;
+import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.model.valueobject.TagValue;
+import com.treevault.domain.repository.NodeImporter;
+import com.treevault.domain.repository.NodeImporter.NodeRecord;
+import com.treevault.domain.repository.NodeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates nodes in bulk from a stream of records, each naming the node by its full name path.
+ * <p>
+ * Records are validated as they are read and handed to the {@link NodeImporter} one at a time, so
+ * neither the records nor the nodes are ever held as a whole. Either every record is stored or,
+ * if one fails, none is.
+ */
+@Service
+public class ImportNodesUseCase {
+
+    // As on a single node (see Node#addTag)
+    private static final int MAX_TAGS = 50;
+
+    private final NodeRepository nodeRepository;
+    private final NodeImporter nodeImporter;
+
+    public ImportNodesUseCase(NodeRepository nodeRepository, NodeImporter nodeImporter) {
+        this.nodeRepository = nodeRepository;
+        this.nodeImporter = nodeImporter;
+    }
+
+    @Transactional
+    public ImportResult execute(Iterator<ImportNodeCommand> commands) {
+        long start = System.nanoTime();
+        Node root = nodeRepository.findRootNode(0)
+            .orElseGet(() -> nodeRepository.save(Node.createRoot()));
+
+        RecordIterator records = new RecordIterator(commands);
+        long imported;
+        try {
+            imported = nodeImporter.importNodes(root.getId(), records);
+        } catch (DomainException e) {
+            // Records are checked as soon as they are read, so the failure is the last one read
+            throw new ImportRecordException(records.index, e);
+        }
+        return new ImportResult(imported, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static NodeRecord toRecord(ImportNodeCommand command) {
+        if (command.getPath() == null || command.getType() == null) {
+            throw new NodeValidationException("Node path and type are required");
+        }
+        // Rebuilt name by name, so every name is validated and normalised and the depth is checked
+        List<String> segments = NodePath.of(normalizePath(command.getPath())).getSegments();
+        if (segments.isEmpty()) {
+            throw new NodeValidationException("The root cannot be imported");
+        }
+        NodePath parentPath = NodePath.root();
+        for (String segment : segments.subList(0, segments.size() - 1)) {
+            parentPath = parentPath.append(NodeName.of(segment));
+        }
+        NodeName name = NodeName.of(segments.get(segments.size() - 1));
+        parentPath.append(name);
+        if (command.getType() == NodeType.FILE && parentPath.isRoot()) {
+            throw new NodeValidationException("Files must have a parent folder");
+        }
+
+        Map<TagKey, TagValue> tags = new LinkedHashMap<>();
+        if (command.getTags() != null) {
+            if (command.getTags().size() > MAX_TAGS) {
+                throw new NodeValidationException("Maximum number of tags (" + MAX_TAGS + ") exceeded");
+            }
+            command.getTags().forEach((key, value) -> tags.put(TagKey.of(key), TagValue.of(value)));
+        }
+        return new NodeRecord(parentPath, name, command.getType(), tags);
+    }
+
+    // Paths read like the ones nodes are returned with, but the trailing separator may be left out
+    private static String normalizePath(String path) {
+        return path.endsWith("/") ? path : path + "/";
+    }
+
+    /**
+     * Validates the commands one by one as the importer asks for them, counting them on the way.
+     */
+    private static final class RecordIterator implements Iterator<NodeRecord> {
+        private final Iterator<ImportNodeCommand> commands;
+        private long index = -1;
+
+        private RecordIterator(Iterator<ImportNodeCommand> commands) {
+            this.commands = commands;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return commands.hasNext();
+        }
+
+        @Override
+        public NodeRecord next() {
+            index++;
+            return toRecord(commands.next());
+        }
+    }
+
+    /**
+     * One node to import: its name path below the root, e.g. {@code /Projects/plan.md}, its type and
+     * its tags, which may be {@code null}.
+     */
+    public static class ImportNodeCommand {
+        private final String path;
+        private final NodeType type;
+        private final Map<String, String> tags;
+
+        public ImportNodeCommand(String path, NodeType type, Map<String, String> tags) {
+            this.path = path;
+            this.type = type;
+            this.tags = tags;
+        }
+
+        public String getPath() { return path; }
+        public NodeType getType() { return type; }
+        public Map<String, String> getTags() { return tags; }
+    }
+
+    public static class ImportResult {
+        private final long imported;
+        private final Duration elapsed;
+
+        public ImportResult(long imported, Duration elapsed) {
+            this.imported = imported;
+            this.elapsed = elapsed;
+        }
+
+        public long getImported() { return imported; }
+        public Duration getElapsed() { return elapsed; }
+
+        public long getNodesPerSecond() {
+            double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+            return Math.round(imported / seconds);
+        }
+    }
+
+    /**
+     * Reports which record of an import failed, counting from 0; the cause says why. None of the
+     * records has been stored.
+     */
+    public static class ImportRecordException extends DomainException {
+        private final long recordIndex;
+
+        public ImportRecordException(long recordIndex, DomainException cause) {
+            super("Record " + recordIndex + " failed: " + cause.getMessage(), cause);
+            this.recordIndex = recordIndex;
+        }
+
+        public long getRecordIndex() { return recordIndex; }
+
+        @Override
+        public synchronized DomainException getCause() {
+            return (DomainException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.treevault.application.usecase;
+
+import com.treevault.domain.exception.InvalidNodeOperationException;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.model.valueobject.Rank;
+import com.treevault.domain.repository.NodeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lists a folder's children one page at a time. Pages are keyed by the rank of the last child of
+ * the previous page rather than by an offset, so every page costs the same however large the folder.
+ */
+@Service
+public class ListChildrenUseCase {
+    
+    public static final int MAX_LIMIT = 1000;
+    
+    private final NodeRepository nodeRepository;
+    
+    public ListChildrenUseCase(NodeRepository nodeRepository) {
+        this.nodeRepository = nodeRepository;
+    }
+    
+    @Transactional(readOnly = true)
+    public ChildrenPage execute(ListChildrenQuery query) {
+        if (query.getLimit() < 1 || query.getLimit() > MAX_LIMIT) {
+            throw new InvalidNodeOperationException(
+                "Page limit must be between 1 and " + MAX_LIMIT
+            );
+        }
+        
+        // One extra child tells whether another page follows without a count
+        Node parent = nodeRepository.findChildrenPageById(query.getParentId(), query.getAfter(), query.getLimit() + 1)
+            .orElseThrow(() -> new NodeNotFoundException(
+                "Node not found: " + query.getParentId()
+            ));
+        List<Node> children = parent.getChildren();
+        boolean hasMore = children.size() > query.getLimit();
+        List<Node> page = hasMore ? children.subList(0, query.getLimit()) : children;
+        
+        Set<NodeId> idsWithChildren = nodeRepository.findIdsWithChildren(page.stream()
+            .filter(child -> child.getType() == NodeType.FOLDER)
+            .map(Node::getId)
+            .toList());
+        Rank nextCursor = hasMore ? page.get(page.size() - 1).getRank() : null;
+        return new ChildrenPage(page, idsWithChildren, nextCursor);
+    }
+    
+    public static class ListChildrenQuery {
+        private final NodeId parentId;
+        private final Rank after;
+        private final int limit;
+        
+        public ListChildrenQuery(NodeId parentId, Rank after, int limit) {
+            this.parentId = parentId;
+            this.after = after;
+            this.limit = limit;
+        }
+        
+        public NodeId getParentId() { return parentId; }
+        public Rank getAfter() { return after; }
+        public int getLimit() { return limit; }
+    }
+    
+    public static class ChildrenPage {
+        private final List<Node> children;
+        private final Set<NodeId> idsWithChildren;
+        private final Rank nextCursor;
+        
+        public ChildrenPage(List<Node> children, Set<NodeId> idsWithChildren, Rank nextCursor) {
+            this.children = children;
+            this.idsWithChildren = idsWithChildren;
+            this.nextCursor = nextCursor;
+        }
+        
+        public List<Node> getChildren() { return children; }
+        public boolean hasChildren(Node child) { return idsWithChildren.contains(child.getId()); }
+        
+        /**
+         * Rank to pass as {@code after} for the next page, or {@code null} on the last page.
+         */
+        public Rank getNextCursor() { return nextCursor; }
+    }
+}
@@ -3,10 +3,14 @@ package com.treevault.application.usecase;
 import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.Position;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
+import com.treevault.domain.exception.CircularReferenceException;
 import com.treevault.domain.exception.NodeNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -14,23 +18,36 @@ import java.util.Optional;
 public class MoveNodeUseCase {
     
     private final NodeRepository nodeRepository;
+    private final NodeLocks nodeLocks;
     
-    public MoveNodeUseCase(NodeRepository nodeRepository) {
+    public MoveNodeUseCase(NodeRepository nodeRepository, NodeLocks nodeLocks) {
         this.nodeRepository = nodeRepository;
+        this.nodeLocks = nodeLocks;
     }
     
     public Node execute(MoveNodeCommand command) {
-        // Load the root to ensure we have a consistent object graph
-        Node root = nodeRepository.findRootNode()
-            .orElseThrow(() -> new NodeNotFoundException("Root node not found"));
+        // Taken first, so that the checks and loads below see every move committed before this one
+        nodeLocks.lockFolderMoves(List.of(command.getNodeId()), false);
+        nodeLocks.lock(List.of(command.getNewParentId()), List.of(command.getNodeId()));
         
-        // Find both nodes within the same object graph
-        Node node = findNodeInTree(root, command.getNodeId())
+        // Answered by the store, so a move into the node's own subtree is refused before anything
+        // is loaded; the domain repeats the check on the loaded ancestor chains
+        if (nodeRepository.isDescendantOf(command.getNewParentId(), command.getNodeId())) {
+            throw new CircularReferenceException("Cannot move node to its own descendant");
+        }
+        
+        // Load both neighbourhoods into one object graph; descendants stay in the database, where
+        // only their closure pairs and id paths are re-linked on save, as name paths are derived on read
+        Map<NodeId, Node> nodes = nodeRepository.findAllById(
+            List.of(command.getNodeId(), command.getNewParentId())
+        );
+        
+        Node node = Optional.ofNullable(nodes.get(command.getNodeId()))
             .orElseThrow(() -> new NodeNotFoundException(
                 "Node not found: " + command.getNodeId()
             ));
         
-        Node newParent = findNodeInTree(root, command.getNewParentId())
+        Node newParent = Optional.ofNullable(nodes.get(command.getNewParentId()))
             .orElseThrow(() -> new NodeNotFoundException(
                 "Parent node not found: " + command.getNewParentId()
             ));
@@ -40,19 +57,6 @@ public class MoveNodeUseCase {
         return nodeRepository.save(node);
     }
     
-    private Optional<Node> findNodeInTree(Node root, NodeId targetId) {
-        if (root.getId().equals(targetId)) {
-            return Optional.of(root);
-        }
-        for (Node child : root.getChildren()) {
-            Optional<Node> found = findNodeInTree(child, targetId);
-            if (found.isPresent()) {
-                return found;
-            }
-        }
-        return Optional.empty();
-    }
-    
     public static class MoveNodeCommand {
         private final NodeId nodeId;
         private final NodeId newParentId;
@@ -0,0 +1,98 @@
+package com.treevault.application.usecase;
+
+import com.treevault.application.query.NodeView;
+import com.treevault.application.query.TreeReadModel;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.repository.NodeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * Reads the tree, or the subtree below a node, through the {@link TreeReadModel}: node by node in
+ * tree order, without reconstructing domain nodes. Callers decide whether to build a response from
+ * the nodes or to write them out as they arrive.
+ */
+@Service
+public class ReadTreeUseCase {
+    
+    private final TreeReadModel treeReadModel;
+    private final NodeRepository nodeRepository;
+    
+    public ReadTreeUseCase(TreeReadModel treeReadModel, NodeRepository nodeRepository) {
+        this.treeReadModel = treeReadModel;
+        this.nodeRepository = nodeRepository;
+    }
+    
+    /**
+     * Hands every node of the tree to the visitor as it is read; the transaction keeps the database
+     * cursor open until the last one. Like {@link GetTreeUseCase#execute()}, creates the root if
+     * there is none yet.
+     *
+     * @return the revision of the tree the nodes were read from
+     */
+    @Transactional
+    public long execute(Consumer<NodeView> visitor) {
+        OptionalLong revision = treeReadModel.forEachNodeInTreeOrder(null, visitor);
+        if (revision.isEmpty()) {
+            nodeRepository.save(Node.createRoot());
+            revision = treeReadModel.forEachNodeInTreeOrder(null, visitor);
+        }
+        return revision.getAsLong();
+    }
+    
+    /**
+     * Like {@link #execute(Consumer)}, but reads the nodes from the store through a cursor, never
+     * from a cached copy of the tree, so they include every write committed before the call.
+     */
+    @Transactional
+    public void executeStored(Consumer<NodeView> visitor) {
+        if (!treeReadModel.forEachStoredNodeInTreeOrder(null, visitor)) {
+            nodeRepository.save(Node.createRoot());
+            treeReadModel.forEachStoredNodeInTreeOrder(null, visitor);
+        }
+    }
+    
+    /**
+     * Like {@link #executeStored(Consumer)}, but for the node and every node below it.
+     */
+    @Transactional(readOnly = true)
+    public void executeStored(NodeId nodeId, Consumer<NodeView> visitor) {
+        if (!treeReadModel.forEachStoredNodeInTreeOrder(nodeId, visitor)) {
+            throw new NodeNotFoundException("Node not found: " + nodeId);
+        }
+    }
+    
+    /**
+     * Fails if there is no such node. Lets callers that write the subtree as it is read report a
+     * missing node before they have started writing.
+     */
+    @Transactional(readOnly = true)
+    public void checkExists(NodeId nodeId) {
+        if (nodeRepository.findById(nodeId).isEmpty()) {
+            throw new NodeNotFoundException("Node not found: " + nodeId);
+        }
+    }
+    
+    /**
+     * Hands the node and every node below it to the visitor as they are read.
+     *
+     * @return the revision of the tree the nodes were read from
+     */
+    @Transactional(readOnly = true)
+    public long execute(NodeId nodeId, Consumer<NodeView> visitor) {
+        return treeReadModel.forEachNodeInTreeOrder(nodeId, visitor)
+            .orElseThrow(() -> new NodeNotFoundException("Node not found: " + nodeId));
+    }
+    
+    /**
+     * Returns the revision of the stored tree, which identifies what a read of the store would
+     * return. A single autocommitted lookup, so it is cheap enough to run before every read.
+     */
+    public long currentRevision() {
+        return treeReadModel.currentRevision();
+    }
+}
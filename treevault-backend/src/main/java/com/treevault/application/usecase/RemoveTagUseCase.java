@@ -3,23 +3,29 @@ package com.treevault.application.usecase;
 import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
 import com.treevault.domain.exception.NodeNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import java.util.List;
 
 @Service
 @Transactional
 public class RemoveTagUseCase {
     
     private final NodeRepository nodeRepository;
+    private final NodeLocks nodeLocks;
     
-    public RemoveTagUseCase(NodeRepository nodeRepository) {
+    public RemoveTagUseCase(NodeRepository nodeRepository, NodeLocks nodeLocks) {
         this.nodeRepository = nodeRepository;
+        this.nodeLocks = nodeLocks;
     }
     
     public void execute(NodeId nodeId, TagKey key) {
-        Node node = nodeRepository.findById(nodeId)
+        nodeLocks.lock(List.of(nodeId), List.of());
+        // A tag belongs to the node alone, so its neighbourhood is not loaded
+        Node node = nodeRepository.findWithAncestorsById(nodeId)
             .orElseThrow(() -> new NodeNotFoundException(
                 "Node not found: " + nodeId
             ));
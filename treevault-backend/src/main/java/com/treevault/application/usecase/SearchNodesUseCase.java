@@ -0,0 +1,116 @@
+package com.treevault.application.usecase;
+
+import com.treevault.application.query.NodeSearch;
+import com.treevault.application.query.NodeSearchCriteria;
+import com.treevault.application.query.NodeView;
+import com.treevault.application.query.SearchCursor;
+import com.treevault.application.query.SearchHit;
+import com.treevault.application.query.TagFilter;
+import com.treevault.domain.exception.InvalidNodeOperationException;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.repository.NodeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+
+/**
+ * Finds nodes by name and tags, optionally within a subtree, one page at a time. Name searches
+ * are ranked by how closely each name resembles the text. Like children pages, search pages are
+ * keyed by the last match of the previous page rather than by an offset.
+ */
+@Service
+public class SearchNodesUseCase {
+    
+    public static final int MAX_LIMIT = 1000;
+    public static final int MAX_FILTERS = 10;
+    // Shorter texts share too few trigrams with a name for the index to narrow anything down
+    public static final int MIN_TEXT_LENGTH = 3;
+    
+    private final NodeSearch nodeSearch;
+    private final NodeRepository nodeRepository;
+    
+    public SearchNodesUseCase(NodeSearch nodeSearch, NodeRepository nodeRepository) {
+        this.nodeSearch = nodeSearch;
+        this.nodeRepository = nodeRepository;
+    }
+    
+    @Transactional(readOnly = true)
+    public SearchPage execute(SearchNodesQuery query) {
+        if (query.getLimit() < 1 || query.getLimit() > MAX_LIMIT) {
+            throw new InvalidNodeOperationException(
+                "Page limit must be between 1 and " + MAX_LIMIT
+            );
+        }
+        if (query.getFilters().size() > MAX_FILTERS) {
+            throw new InvalidNodeOperationException(
+                "Search takes at most " + MAX_FILTERS + " tag filters"
+            );
+        }
+        String text = query.getText() != null ? query.getText().strip() : "";
+        if (text.isEmpty() && query.getFilters().isEmpty()) {
+            throw new InvalidNodeOperationException("Search needs a text or at least one tag filter");
+        }
+        if (!text.isEmpty() && text.length() < MIN_TEXT_LENGTH) {
+            throw new InvalidNodeOperationException(
+                "Search text must be at least " + MIN_TEXT_LENGTH + " characters"
+            );
+        }
+        NodeSearchCriteria criteria = new NodeSearchCriteria(
+            text.isEmpty() ? null : text, query.getFilters(), query.getWithinId());
+        if (query.getAfter() != null && (query.getAfter().rank() != null) != criteria.isRanked()) {
+            throw new InvalidNodeOperationException("Cursor does not belong to this search");
+        }
+        
+        // One extra match tells whether another page follows without a count
+        List<SearchHit> hits = nodeSearch.find(criteria, query.getAfter(), query.getLimit() + 1);
+        // An empty result may also mean the subtree to search doesn't exist
+        if (hits.isEmpty() && query.getWithinId() != null
+                && nodeRepository.findWithAncestorsById(query.getWithinId()).isEmpty()) {
+            throw new NodeNotFoundException("Node not found: " + query.getWithinId());
+        }
+        boolean hasMore = hits.size() > query.getLimit();
+        List<SearchHit> page = hasMore ? hits.subList(0, query.getLimit()) : hits;
+        SearchCursor nextCursor = hasMore ? page.get(page.size() - 1).cursor() : null;
+        return new SearchPage(page.stream().map(SearchHit::node).toList(), nextCursor);
+    }
+    
+    public static class SearchNodesQuery {
+        private final String text;
+        private final List<TagFilter> filters;
+        private final NodeId withinId;
+        private final SearchCursor after;
+        private final int limit;
+        
+        public SearchNodesQuery(String text, List<TagFilter> filters, NodeId withinId, SearchCursor after, int limit) {
+            this.text = text;
+            this.filters = filters;
+            this.withinId = withinId;
+            this.after = after;
+            this.limit = limit;
+        }
+        
+        public String getText() { return text; }
+        public List<TagFilter> getFilters() { return filters; }
+        public NodeId getWithinId() { return withinId; }
+        public SearchCursor getAfter() { return after; }
+        public int getLimit() { return limit; }
+    }
+    
+    public static class SearchPage {
+        private final List<NodeView> nodes;
+        private final SearchCursor nextCursor;
+        
+        public SearchPage(List<NodeView> nodes, SearchCursor nextCursor) {
+            this.nodes = nodes;
+            this.nextCursor = nextCursor;
+        }
+        
+        public List<NodeView> getNodes() { return nodes; }
+        
+        /**
+         * Cursor to pass as {@code after} for the next page, or {@code null} on the last page.
+         */
+        public SearchCursor getNextCursor() { return nextCursor; }
+    }
+}
@@ -3,28 +3,45 @@ package com.treevault.application.usecase;
 import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
+import com.treevault.domain.exception.InvalidNodeOperationException;
 import com.treevault.domain.exception.NodeNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
+import java.util.List;
 
 @Service
 @Transactional
 public class UpdateNodeUseCase {
     
     private final NodeRepository nodeRepository;
+    private final NodeLocks nodeLocks;
     
-    public UpdateNodeUseCase(NodeRepository nodeRepository) {
+    public UpdateNodeUseCase(NodeRepository nodeRepository, NodeLocks nodeLocks) {
         this.nodeRepository = nodeRepository;
+        this.nodeLocks = nodeLocks;
     }
     
     public Node execute(UpdateNodeCommand command) {
-        Node node = nodeRepository.findById(command.getNodeId())
+        // Sibling names are what a rename can clash with
+        nodeLocks.lock(List.of(), List.of(command.getNodeId()));
+        
+        // Only the ancestor chain is loaded: a rename writes the node's own row alone, since
+        // descendants' name paths are derived from their ancestors on read, and sibling uniqueness
+        // is checked against the database
+        Node node = nodeRepository.findWithAncestorsById(command.getNodeId())
             .orElseThrow(() -> new NodeNotFoundException(
                 "Node not found: " + command.getNodeId()
             ));
         
         NodeName newName = NodeName.of(command.getNewName());
+        if (!node.getName().equals(newName) && node.getParent().isPresent()
+                && nodeRepository.existsByParentAndName(node.getParent().get().getId(), newName)) {
+            throw new InvalidNodeOperationException(
+                "A node with name '" + newName + "' already exists in the same folder"
+            );
+        }
         node.rename(newName);
         
         return nodeRepository.save(node);
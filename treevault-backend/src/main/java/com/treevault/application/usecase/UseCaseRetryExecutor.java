@@ -0,0 +1,114 @@
+package com.treevault.application.usecase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Runs a use case again when it loses a write conflict: a stale version, a deadlock or a lock that
+ * could not be acquired. Each attempt is a transaction of its own, so the call must not already be
+ * part of one.
+ * <p>
+ * Attempts are spaced by exponential backoff with full jitter, so clients that collided once
+ * spread out instead of colliding again. Once {@code treevault.retry.max-attempts} have failed,
+ * the last conflict is passed on to the caller.
+ */
+@Service
+public class UseCaseRetryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(UseCaseRetryExecutor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public UseCaseRetryExecutor(MeterRegistry meterRegistry,
+                                @Value("${treevault.retry.max-attempts:4}") int maxAttempts,
+                                @Value("${treevault.retry.initial-backoff:PT0.01S}") Duration initialBackoff,
+                                @Value("${treevault.retry.max-backoff:PT0.2S}") Duration maxBackoff) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("At least one attempt is required");
+        }
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Runs the call, again after each conflict while attempts remain, and returns its result.
+     *
+     * @param useCase names the use case in the metrics
+     */
+    public <T> T execute(Class<?> useCase, Supplier<T> call) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("A use case can only be retried outside a transaction");
+        }
+        String name = useCase.getSimpleName();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = call.get();
+                attempts(name).record(attempt);
+                return result;
+            } catch (ConcurrencyFailureException e) {
+                counter("treevault.usecase.conflicts", "Write conflicts met by use cases", name).increment();
+                if (attempt == maxAttempts) {
+                    attempts(name).record(attempt);
+                    counter("treevault.usecase.retries.exhausted",
+                        "Use case calls that still conflicted after the last attempt", name).increment();
+                    logger.warn("{} still conflicted after {} attempts", name, attempt);
+                    throw e;
+                }
+                logger.debug("{} conflicted on attempt {}, retrying: {}", name, attempt, e.getMessage());
+                backOff(attempt, e);
+                counter("treevault.usecase.retries", "Use case attempts repeated after a conflict", name).increment();
+            }
+        }
+    }
+
+    public void run(Class<?> useCase, Runnable call) {
+        execute(useCase, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    // Waits a random time up to a ceiling that doubles with every attempt, up to the maximum
+    private void backOff(int attempt, ConcurrencyFailureException conflict) {
+        long ceiling = Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() << Math.min(attempt - 1, 30));
+        long nanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private Counter counter(String meter, String description, String useCase) {
+        return Counter.builder(meter)
+            .description(description)
+            .tag("usecase", useCase)
+            .register(meterRegistry);
+    }
+
+    // One bucket for every possible number of attempts
+    private DistributionSummary attempts(String useCase) {
+        return DistributionSummary.builder("treevault.usecase.attempts")
+            .description("Attempts each use case call took, the first one included")
+            .tag("usecase", useCase)
+            .serviceLevelObjectives(IntStream.rangeClosed(1, maxAttempts).asDoubleStream().toArray())
+            .register(meterRegistry);
+    }
+}
@@ -1,10 +1,12 @@
 package com.treevault.domain.model.entity;
 
+import com.treevault.domain.model.valueobject.NodeChange;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
 import com.treevault.domain.model.valueobject.NodePath;
 import com.treevault.domain.model.valueobject.NodeType;
 import com.treevault.domain.model.valueobject.Position;
+import com.treevault.domain.model.valueobject.Rank;
 import com.treevault.domain.model.valueobject.TagKey;
 import com.treevault.domain.model.valueobject.TagValue;
 import com.treevault.domain.exception.CircularReferenceException;
@@ -14,6 +16,7 @@ import com.treevault.domain.exception.NodeValidationException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -31,10 +34,15 @@ public class Node {
     private final Map<TagKey, Tag> tags;
     private NodePath path;
     private Position position;
+    private Rank rank;
     private Long version;
     private final LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
+    // Unit-of-work state: what changed since the node was last loaded or saved
+    private final Set<NodeChange> pendingChanges;
+    private Long persistedVersion;
+    
     private Node(NodeId id, NodeName name, NodeType type, Node parent) {
         this.id = Objects.requireNonNull(id, "Node ID cannot be null");
         this.name = Objects.requireNonNull(name, "Node name cannot be null");
@@ -45,6 +53,7 @@ public class Node {
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
         this.version = 0L;
+        this.pendingChanges = EnumSet.of(NodeChange.CREATED);
         
         calculatePath();
         validateNodeTypeConstraints();
@@ -53,7 +62,7 @@ public class Node {
     // Package-private constructor for reconstruction from persistence
     Node(NodeId id, NodeName name, NodeType type, Node parent, 
          LocalDateTime createdAt, LocalDateTime updatedAt, Long version, 
-         NodePath path, Position position) {
+         NodePath path, Position position, Rank rank) {
         this.id = Objects.requireNonNull(id, "Node ID cannot be null");
         this.name = Objects.requireNonNull(name, "Node name cannot be null");
         this.type = Objects.requireNonNull(type, "Node type cannot be null");
@@ -65,6 +74,9 @@ public class Node {
         this.version = version != null ? version : 0L;
         this.path = path != null ? path : NodePath.root();
         this.position = position;
+        this.rank = rank;
+        this.pendingChanges = EnumSet.noneOf(NodeChange.class);
+        this.persistedVersion = this.version;
         
         validateNodeTypeConstraints();
     }
@@ -97,8 +109,8 @@ public class Node {
     // Factory method for reconstruction from persistence (allows infrastructure layer to rebuild domain model)
     public static Node reconstruct(NodeId id, NodeName name, NodeType type, Node parent,
                                    LocalDateTime createdAt, LocalDateTime updatedAt, Long version,
-                                   NodePath path, Position position) {
-        return new Node(id, name, type, parent, createdAt, updatedAt, version, path, position);
+                                   NodePath path, Position position, Rank rank) {
+        return new Node(id, name, type, parent, createdAt, updatedAt, version, path, position, rank);
     }
     
     public void rename(NodeName newName) {
@@ -122,6 +134,7 @@ public class Node {
         
         this.name = newName;
         updatePathRecursively();
+        pendingChanges.add(NodeChange.RENAMED);
         markUpdated();
     }
     
@@ -165,6 +178,7 @@ public class Node {
             
             this.parent = newParent;
             newParent.addChildAt(this, newPosition);
+            pendingChanges.add(NodeChange.MOVED);
         }
         
         updatePathRecursively();
@@ -181,6 +195,7 @@ public class Node {
         
         Tag tag = new Tag(key, value, this);
         tags.put(key, tag);
+        pendingChanges.add(NodeChange.TAGS_CHANGED);
         markUpdated();
     }
     
@@ -192,6 +207,7 @@ public class Node {
         }
         
         tags.remove(key);
+        pendingChanges.add(NodeChange.TAGS_CHANGED);
         markUpdated();
     }
     
@@ -220,6 +236,7 @@ public class Node {
         if (!children.contains(child)) {
             children.add(child);
             child.position = Position.of(children.size() - 1);
+            assignRank(children.size() - 1);
         }
     }
     
@@ -230,9 +247,22 @@ public class Node {
         }
     }
     
+    // Restores a stored tag without recording a change (for reconstruction)
+    public void addTagForReconstruction(TagKey key, TagValue value) {
+        validateNotNull(key, "Tag key");
+        validateNotNull(value, "Tag value");
+        tags.put(key, new Tag(key, value, this));
+    }
+    
     public void addChildForReconstructionPublic(Node child) {
         addChildForReconstruction(child);
     }
+
+    // Bulk variant for rebuilding large trees: appends children in stored order without the
+    // per-child duplicate scan, so the caller must pass each child exactly once
+    public void addChildrenForReconstruction(List<Node> reconstructedChildren) {
+        children.addAll(reconstructedChildren);
+    }
     
     private void addChildAt(Node child, Position position) {
         validateNodeTypeConstraints();
@@ -242,6 +272,7 @@ public class Node {
         }
         
         children.add(position.getValue(), child);
+        assignRank(position.getValue());
         reindexChildren();
     }
     
@@ -269,15 +300,44 @@ public class Node {
         // Reorder in memory
         children.remove(oldIndex);
         children.add(newIndex, child);
+        assignRank(newIndex);
         
         // Reindex to correct final positions
         reindexChildren();
     }
     
+    // Ranks a child placed at the given index between its neighbours, so that only the child itself
+    // changes; the siblings are respaced only when the neighbours leave no room
+    private void assignRank(int index) {
+        Rank lower = index > 0 ? children.get(index - 1).rank : null;
+        Rank upper = index + 1 < children.size() ? children.get(index + 1).rank : null;
+        Optional<Rank> rank = Rank.between(lower, upper);
+        if (rank.isPresent()) {
+            children.get(index).changeRank(rank.get());
+        } else {
+            for (int i = 0; i < children.size(); i++) {
+                children.get(i).changeRank(Rank.atIndex(i));
+            }
+        }
+    }
+    
+    private void changeRank(Rank newRank) {
+        if (newRank.equals(rank)) {
+            return;
+        }
+        rank = newRank;
+        // A new node's rank is written with its insert
+        if (!pendingChanges.contains(NodeChange.CREATED)) {
+            pendingChanges.add(NodeChange.REPOSITIONED);
+        }
+    }
+    
+    // Positions are ordinals derived from the sibling order, so renumbering them writes nothing
     private void reindexChildren() {
         Set<Integer> positions = new HashSet<>();
         for (int i = 0; i < children.size(); i++) {
-            children.get(i).position = Position.of(i);
+            Node child = children.get(i);
+            child.position = Position.of(i);
             if (!positions.add(i)) {
                 throw new InvalidNodeOperationException("Duplicate position detected during reindexing");
             }
@@ -325,6 +385,16 @@ public class Node {
         this.version++;
     }
     
+    /**
+     * Clears the recorded changes once the node's current state has been written, adopting the
+     * version assigned by the store.
+     */
+    public void markPersisted(Long storedVersion) {
+        pendingChanges.clear();
+        persistedVersion = storedVersion;
+        version = storedVersion;
+    }
+    
     public boolean isRoot() {
         return parent == null;
     }
@@ -345,9 +415,14 @@ public class Node {
     public Map<TagKey, Tag> getTags() { return Collections.unmodifiableMap(tags); }
     public NodePath getPath() { return path; }
     public Position getPosition() { return position; }
+    public Rank getRank() { return rank; }
     public Long getVersion() { return version; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Set<NodeChange> getPendingChanges() { return Collections.unmodifiableSet(pendingChanges); }
+    public boolean hasPendingChanges() { return !pendingChanges.isEmpty(); }
+    // Version as last loaded or saved; null for nodes that were never persisted
+    public Long getPersistedVersion() { return persistedVersion; }
     
     @Override
     public boolean equals(Object o) {
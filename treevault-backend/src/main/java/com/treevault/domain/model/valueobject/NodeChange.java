@@ -0,0 +1,12 @@
+package com.treevault.domain.model.valueobject;
+
+/**
+ * Kinds of mutation a {@link com.treevault.domain.model.entity.Node} records until it is persisted.
+ */
+public enum NodeChange {
+    CREATED,
+    RENAMED,
+    MOVED,
+    REPOSITIONED,
+    TAGS_CHANGED
+}
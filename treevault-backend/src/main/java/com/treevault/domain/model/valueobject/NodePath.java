@@ -71,6 +71,10 @@ public final class NodePath {
         return segments.size();
     }
     
+    public List<String> getSegments() {
+        return segments;
+    }
+    
     private static void validatePath(String path) {
         if (!path.startsWith(SEPARATOR) || !path.endsWith(SEPARATOR)) {
             throw new NodeValidationException("Path must start and end with separator");
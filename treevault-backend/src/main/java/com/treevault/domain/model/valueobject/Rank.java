@@ -0,0 +1,86 @@
+package com.treevault.domain.model.valueobject;
+
+import com.treevault.domain.exception.NodeValidationException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Sortable key that orders a node among its siblings.
+ * <p>
+ * Ranks are spaced {@link #GAP} apart, so a node can be placed between two siblings by taking the
+ * midpoint of their ranks without renumbering anyone else. Each insert at the same spot halves the
+ * remaining gap; once it is gone the siblings have to be respaced (see {@link #atIndex}).
+ */
+public final class Rank implements Comparable<Rank> {
+    public static final long GAP = 1L << 20;
+    private static final long MIN_RANK = 1L;
+
+    private final long value;
+
+    private Rank(long value) {
+        this.value = value;
+    }
+
+    public static Rank of(long value) {
+        if (value < MIN_RANK) {
+            throw new NodeValidationException(
+                String.format("Rank must be positive: %d", value)
+            );
+        }
+        return new Rank(value);
+    }
+
+    /**
+     * Returns the evenly spaced rank of the sibling at the given index.
+     */
+    public static Rank atIndex(int index) {
+        return new Rank((index + 1L) * GAP);
+    }
+
+    /**
+     * Returns a rank strictly between the given neighbours, either of which may be {@code null}
+     * at the start or end of the sibling list, or empty if there is no room left between them.
+     */
+    public static Optional<Rank> between(Rank lower, Rank upper) {
+        long low = lower != null ? lower.value : 0L;
+        if (upper == null) {
+            return low <= Long.MAX_VALUE - GAP ? Optional.of(new Rank(low + GAP)) : Optional.empty();
+        }
+        long gap = upper.value - low;
+        return gap > 1 ? Optional.of(new Rank(low + gap / 2)) : Optional.empty();
+    }
+
+    /**
+     * Returns the distance to the other rank, i.e. how many ranks fit between the two plus one.
+     */
+    public long distanceTo(Rank other) {
+        return Math.abs(value - other.value);
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    @Override
+    public int compareTo(Rank other) {
+        return Long.compare(value, other.value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Rank rank = (Rank) o;
+        return value == rank.value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,31 @@
+package com.treevault.domain.repository;
+
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.model.valueobject.NodePath;
+import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.model.valueobject.TagValue;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Stores large numbers of new nodes without building them as domain objects. Records are consumed
+ * one at a time, so the caller may produce them lazily, e.g. while reading a request body.
+ */
+public interface NodeImporter {
+    /**
+     * Stores a node for every record, below the given root. The parent of each record must be a
+     * folder that is either stored already or created by an earlier record, and its name must be
+     * free there. A record that breaks either rule fails the import as soon as it is read.
+     *
+     * @return the number of nodes stored
+     */
+    long importNodes(NodeId rootId, Iterator<NodeRecord> records);
+
+    /**
+     * A node to create under the folder at {@code parentPath}, a name path below the root.
+     */
+    record NodeRecord(NodePath parentPath, NodeName name, NodeType type, Map<TagKey, TagValue> tags) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.treevault.domain.repository;
+
+import com.treevault.domain.model.valueobject.NodeId;
+import java.util.Collection;
+
+/**
+ * Serialises the writes that touch the same part of the tree and lets all others run at once.
+ * <p>
+ * Before it loads anything, a write locks every folder whose children it changes (the parent of a
+ * node it creates, renames or deletes, both parents of a move) and every node whose tags it
+ * changes. Two writes wait for each other only if they lock a node in common, and whichever comes
+ * second then loads what the first one committed, so neither fails on a stale version. Locks are
+ * held until the transaction ends and can only be taken inside one.
+ */
+public interface NodeLocks {
+    /**
+     * Locks the given nodes and the current parent of each of {@code childIds}. Unknown ids are
+     * skipped, so that loading the node afterwards reports it missing. Fails with a concurrency
+     * failure if a child was just moved to a folder that another write holds, rather than wait for
+     * it out of order; the write may then be retried as a whole.
+     */
+    void lock(Collection<NodeId> nodeIds, Collection<NodeId> childIds);
+    
+    /**
+     * Waits for any other folder move if one of the given nodes is a folder about to be moved, since
+     * two folder moves could each pass the cycle check and together form a cycle. Otherwise, if the
+     * write inserts nodes, only keeps folders from being moved until it ends, since a new node
+     * copies the id path and ancestors of its parent, which a concurrent move of that parent or a
+     * folder above it would re-link without it; writes that insert do not wait for each other.
+     * Must come before {@link #lock} in the same transaction.
+     */
+    void lockFolderMoves(Collection<NodeId> movedIds, boolean insertsNodes);
+}
@@ -3,15 +3,84 @@ package com.treevault.domain.repository;
 import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.model.valueobject.Rank;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface NodeRepository {
+    /**
+     * Finds a node together with its immediate neighbourhood: the ancestor chain, its siblings and
+     * its direct children. Deeper descendants are not loaded.
+     */
     Optional<Node> findById(NodeId id);
+    
+    /**
+     * Finds several nodes, each with its neighbourhood as for {@link #findById}, in one shared object
+     * graph so that operations spanning them (such as a move) see a single instance of every node.
+     * Unknown ids are absent from the result.
+     */
+    Map<NodeId, Node> findAllById(Collection<NodeId> ids);
+    
+    /**
+     * Finds a node together with its ancestor chain only. Siblings and children are not loaded, so
+     * sibling invariants must be checked against the store, e.g. with {@link #existsByParentAndName}.
+     */
+    Optional<Node> findWithAncestorsById(NodeId id);
+    
+    /**
+     * Finds a node together with its ancestor chain and its complete subtree.
+     */
+    Optional<Node> findSubtreeById(NodeId id);
+    
+    /**
+     * Finds a node together with its ancestor chain and its descendants down to {@code depth} levels
+     * below it. Folders on the last level are loaded without their children.
+     */
+    Optional<Node> findSubtreeById(NodeId id, int depth);
+    
+    /**
+     * Finds a folder beneath its ancestor chain with one page of its children: at most {@code limit}
+     * children in sibling order, starting after the child ranked {@code after} or at the first child
+     * if it is {@code null}. The folder's children list holds only that page.
+     */
+    Optional<Node> findChildrenPageById(NodeId parentId, Rank after, int limit);
+    
+    /**
+     * Returns those of the given nodes that have at least one stored child.
+     */
+    Set<NodeId> findIdsWithChildren(Collection<NodeId> ids);
+    
+    /**
+     * Returns whether the first node lies in the subtree below the second, without loading either.
+     */
+    boolean isDescendantOf(NodeId id, NodeId ancestorId);
+    
     Node save(Node node);
+    
+    /**
+     * Saves every change recorded in the node's object graph, as {@link #save(Node)} does, and then
+     * deletes the given stored nodes together with their subtrees. Sibling names only have to be
+     * unique once everything is written, so a unit of work may swap names or reuse a deleted node's.
+     */
+    Node save(Node node, Collection<Node> deletedNodes);
+    
+    /**
+     * Deletes a node together with its entire stored subtree. Siblings keep their ranks, so their
+     * positions close up without any other row being written.
+     */
     void delete(Node node);
+    
     boolean existsByParentAndName(NodeId parentId, NodeName name);
     Optional<Node> findRootNode();
+    
+    /**
+     * Finds the root with its descendants down to {@code depth} levels, as for
+     * {@link #findSubtreeById(NodeId, int)}.
+     */
+    Optional<Node> findRootNode(int depth);
     List<Node> findByParentId(NodeId parentId);
     List<Node> findAll();
 }
@@ -0,0 +1,157 @@
+package com.treevault.infrastructure.persistence.adapter;
+
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.repository.NodeLocks;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * {@link NodeLocks} on transaction-level advisory locks, one per node, keyed by the node id folded
+ * into 64 bits. Two nodes that happen to share a key merely wait for each other.
+ * <p>
+ * A call resolves all the nodes it locks, including the parents of its children, before it takes
+ * any lock, and then takes them in one pass in ascending key order, so writes that lock several
+ * nodes at once do not deadlock each other. The folder-move lock, held exclusively by a folder move
+ * and shared by writes that insert, is always taken before any node's. Postgres releases them all
+ * when the transaction ends.
+ * <p>
+ * A child may be moved between reading its parent and locking that, which the parents read again
+ * afterwards reveal. The new parent's key may sort below one already held, so waiting for it could
+ * close a cycle with a writer that holds it and waits for one of ours. It is therefore only tried:
+ * if another writer holds it, the call fails at once with a {@link CannotAcquireLockException},
+ * and the retried transaction resolves its locks anew.
+ */
+@Component
+class AdvisoryNodeLocks implements NodeLocks {
+
+    // Single-part and two-part advisory keys never collide, so this cannot clash with a node's key
+    private static final int FOLDER_MOVES_LOCK = 1;
+
+    // Locks are taken in array order
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(k) FROM unnest(?) AS k";
+
+    // Never waits; every lock is tried, and those taken are released with the failed transaction
+    private static final String TRY_LOCK_SQL = "SELECT bool_and(pg_try_advisory_xact_lock(k)) FROM unnest(?) AS k";
+
+    private static final String LOCK_FOLDER_MOVES_SQL = "SELECT pg_advisory_xact_lock(?, 0)";
+
+    private static final String SHARE_FOLDER_MOVES_SQL = "SELECT pg_advisory_xact_lock_shared(?, 0)";
+
+    private static final String PARENT_IDS_SQL = "SELECT parent_id FROM nodes WHERE id = ANY(?) AND parent_id IS NOT NULL";
+
+    private static final String MOVES_FOLDER_SQL =
+        "SELECT EXISTS (SELECT 1 FROM nodes WHERE id = ANY(?) AND type = 'FOLDER')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    AdvisoryNodeLocks(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Reports the concurrency failure as a {@link CannotAcquireLockException}, which as a
+     * {@link org.springframework.dao.ConcurrencyFailureException} has the write retried like any
+     * other it lost to a concurrent one.
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(Collection<NodeId> nodeIds, Collection<NodeId> childIds) {
+        Set<UUID> locked = new HashSet<>();
+        nodeIds.forEach(id -> locked.add(id.getValue()));
+        UUID[] children = childIds.stream().map(NodeId::getValue).toArray(UUID[]::new);
+        if (children.length > 0) {
+            locked.addAll(findParentIds(children));
+        }
+        if (!locked.isEmpty()) {
+            lockKeys(locked);
+        }
+        if (children.length == 0) {
+            return;
+        }
+        // A locked parent keeps its children, so once every current parent is locked they stay put
+        while (true) {
+            List<UUID> moved = findParentIds(children).stream().filter(id -> !locked.contains(id)).toList();
+            if (moved.isEmpty()) {
+                return;
+            }
+            if (!tryLockKeys(moved)) {
+                throw new CannotAcquireLockException(
+                    "A node was moved to a folder that another write holds: " + moved);
+            }
+            locked.addAll(moved);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockFolderMoves(Collection<NodeId> movedIds, boolean insertsNodes) {
+        if (movesFolder(movedIds)) {
+            jdbcTemplate.query(LOCK_FOLDER_MOVES_SQL, rs -> null, FOLDER_MOVES_LOCK);
+        } else if (insertsNodes) {
+            // Held in shared mode by every inserting write, so only folder moves wait for them
+            jdbcTemplate.query(SHARE_FOLDER_MOVES_SQL, rs -> null, FOLDER_MOVES_LOCK);
+        }
+    }
+
+    private boolean movesFolder(Collection<NodeId> movedIds) {
+        if (movedIds.isEmpty()) {
+            return false;
+        }
+        // A node never changes its type, so reading it needs no lock of its own
+        UUID[] ids = movedIds.stream().map(NodeId::getValue).toArray(UUID[]::new);
+        Boolean movesFolder = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(MOVES_FOLDER_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", ids));
+            return ps;
+        }, rs -> rs.next() && rs.getBoolean(1));
+        return Boolean.TRUE.equals(movesFolder);
+    }
+
+    private static long keyOf(UUID id) {
+        return id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+    }
+
+    private Set<UUID> findParentIds(UUID[] childIds) {
+        Set<UUID> parentIds = new HashSet<>();
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(PARENT_IDS_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", childIds));
+            return ps;
+        }, rs -> {
+            parentIds.add(rs.getObject("parent_id", UUID.class));
+        });
+        return parentIds;
+    }
+
+    private void lockKeys(Collection<UUID> ids) {
+        Long[] keys = keysOf(ids);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(LOCK_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", keys));
+            return ps;
+        }, rs -> null);
+    }
+
+    private boolean tryLockKeys(Collection<UUID> ids) {
+        Long[] keys = keysOf(ids);
+        Boolean acquired = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(TRY_LOCK_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", keys));
+            return ps;
+        }, rs -> rs.next() && rs.getBoolean(1));
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    private static Long[] keysOf(Collection<UUID> ids) {
+        return ids.stream().map(AdvisoryNodeLocks::keyOf).sorted().distinct().toArray(Long[]::new);
+    }
+}
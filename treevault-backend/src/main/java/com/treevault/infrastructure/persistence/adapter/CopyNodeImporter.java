@@ -0,0 +1,269 @@
+package com.treevault.infrastructure.persistence.adapter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.treevault.domain.exception.InvalidNodeOperationException;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodePath;
+import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.model.valueobject.Rank;
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.model.valueobject.TagValue;
+import com.treevault.domain.repository.NodeImporter;
+import com.treevault.domain.repository.NodeLocks;
+import com.treevault.infrastructure.persistence.notification.TreeChangeNotifier;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * {@link NodeImporter} that streams finished rows into a temporary staging table with
+ * {@code COPY FROM STDIN} and moves them into {@code nodes}, {@code node_closure} and {@code tags}
+ * with one set-based statement each.
+ * <p>
+ * Parents are resolved in memory: every folder the import touches is kept with the names below
+ * it, so each record is checked, given its id path and appended after its last sibling without a
+ * query. Stored folders are locked and read once, the first time a record goes into or through
+ * them. They are locked one by one as the records reach them, so an import can deadlock with a
+ * write that locks several folders at once; Postgres then rolls back one of the two. Folder moves
+ * are locked out for the whole import, since the id paths it stages would not follow them.
+ */
+@Component
+class CopyNodeImporter implements NodeImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CopyNodeImporter.class);
+
+    // Rows are copied in chunks of about this many characters, each in a COPY of its own, so the
+    // connection is free for folder lookups between them
+    static final int CHUNK_SIZE = 1 << 20;
+
+    // Dropped with the transaction, whether it commits or not
+    private static final String CREATE_STAGING_SQL =
+        "CREATE TEMP TABLE node_import (id UUID NOT NULL, parent_id UUID NOT NULL, name VARCHAR(255) NOT NULL, " +
+        "type VARCHAR(20) NOT NULL, id_path ltree NOT NULL, sort_rank BIGINT NOT NULL, tags JSONB) ON COMMIT DROP";
+
+    private static final String COPY_SQL =
+        "COPY node_import (id, parent_id, name, type, id_path, sort_rank, tags) FROM STDIN";
+
+    private static final String ID_PATH_SQL = "SELECT CAST(id_path AS TEXT) FROM nodes WHERE id = ?";
+
+    private static final String CHILDREN_SQL =
+        "SELECT id, name, type, CAST(id_path AS TEXT) AS id_path, sort_rank FROM nodes WHERE parent_id = ?";
+
+    // Foreign keys are checked at the end of the statement, so staged parents need not come first
+    private static final String INSERT_NODES_SQL =
+        "INSERT INTO nodes (id, name, type, parent_id, id_path, sort_rank, version, created_at, updated_at) " +
+        "SELECT id, name, type, parent_id, id_path, sort_rank, 0, ?, ? FROM node_import";
+
+    // The id path lists every ancestor of a node, so its closure pairs need no lookup: label i of a
+    // path with n labels is the ancestor n - 1 - i levels up
+    private static final String INSERT_CLOSURE_SQL =
+        "INSERT INTO node_closure (ancestor_id, descendant_id, depth) " +
+        "SELECT CAST(ltree2text(subpath(s.id_path, a.i, 1)) AS UUID), s.id, nlevel(s.id_path) - 1 - a.i " +
+        "FROM node_import s CROSS JOIN LATERAL generate_series(0, nlevel(s.id_path) - 1) AS a(i)";
+
+    private static final String INSERT_TAGS_SQL =
+        "INSERT INTO tags (id, node_id, tag_key, tag_value, created_at) " +
+        "SELECT gen_random_uuid(), s.id, t.key, t.value, ? FROM node_import s, jsonb_each_text(s.tags) t";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TreeChangeNotifier changeNotifier;
+    private final NodeLocks nodeLocks;
+
+    CopyNodeImporter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, TreeChangeNotifier changeNotifier,
+                     NodeLocks nodeLocks) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.changeNotifier = changeNotifier;
+        this.nodeLocks = nodeLocks;
+    }
+
+    @Override
+    @Transactional
+    public long importNodes(NodeId rootId, Iterator<NodeRecord> records) {
+        long start = System.nanoTime();
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        // Every staged id path and closure pair is derived from the root's id path, which no folder
+        // move may change before this import commits, so it is read only once moves are locked out
+        nodeLocks.lockFolderMoves(List.of(), true);
+        String rootIdPath = jdbcTemplate.queryForObject(ID_PATH_SQL, String.class, rootId.getValue());
+        Folder root = new Folder(rootId.getValue(), rootIdPath, true);
+
+        StringBuilder rows = new StringBuilder();
+        Set<UUID> storedParentIds = new LinkedHashSet<>();
+        long count = 0;
+        while (records.hasNext()) {
+            NodeRecord record = records.next();
+            Folder parent = resolve(root, record.parentPath());
+            String name = record.name().getValue();
+            if (!parent.names.add(name)) {
+                throw new InvalidNodeOperationException(
+                    "Node with name '" + name + "' already exists in parent folder " + record.parentPath()
+                );
+            }
+            Rank rank = Rank.between(parent.lastRank, null).orElseThrow(() -> new InvalidNodeOperationException(
+                "No room left to append to folder " + record.parentPath()
+            ));
+            parent.lastRank = rank;
+            if (parent.stored) {
+                storedParentIds.add(parent.id);
+            }
+
+            UUID id = NodeId.generate().getValue();
+            String idPath = parent.idPath + "." + NodeBatchWriter.idPathLabel(id);
+            if (record.type() == NodeType.FOLDER) {
+                parent.subfolders.put(name, new Folder(id, idPath, false));
+            }
+            appendRow(rows, id, parent.id, name, record.type(), idPath, rank, record.tags());
+            if (rows.length() >= CHUNK_SIZE) {
+                copy(rows);
+            }
+            count++;
+        }
+        copy(rows);
+        if (count == 0) {
+            return 0;
+        }
+        long staged = System.nanoTime();
+
+        // Only the stored folders gain children; the new nodes cannot be cached anywhere yet
+        changeNotifier.notifyChanged(storedParentIds, Set.of());
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(INSERT_NODES_SQL, now, now);
+        jdbcTemplate.update(INSERT_CLOSURE_SQL);
+        jdbcTemplate.update(INSERT_TAGS_SQL, now);
+
+        logger.info("Imported {} nodes: staged in {} ms, stored in {} ms", count,
+            (staged - start) / 1_000_000, (System.nanoTime() - staged) / 1_000_000);
+        return count;
+    }
+
+    private Folder resolve(Folder root, NodePath path) {
+        Folder folder = root;
+        for (String name : path.getSegments()) {
+            if (!folder.childrenLoaded) {
+                loadChildren(folder);
+            }
+            Folder child = folder.subfolders.get(name);
+            if (child == null) {
+                if (folder.names.contains(name)) {
+                    throw new InvalidNodeOperationException("Only folders can have children: " + path);
+                }
+                throw new NodeNotFoundException("Parent folder not found: " + path);
+            }
+            folder = child;
+        }
+        if (!folder.childrenLoaded) {
+            loadChildren(folder);
+        }
+        return folder;
+    }
+
+    private void loadChildren(Folder folder) {
+        nodeLocks.lock(List.of(NodeId.of(folder.id)), List.of());
+        jdbcTemplate.query(CHILDREN_SQL, rs -> {
+            String name = rs.getString("name");
+            folder.names.add(name);
+            if (NodeType.valueOf(rs.getString("type")) == NodeType.FOLDER) {
+                folder.subfolders.put(name, new Folder(rs.getObject("id", UUID.class), rs.getString("id_path"), true));
+            }
+            Rank rank = Rank.of(rs.getLong("sort_rank"));
+            if (folder.lastRank == null || rank.compareTo(folder.lastRank) > 0) {
+                folder.lastRank = rank;
+            }
+        }, folder.id);
+        folder.childrenLoaded = true;
+    }
+
+    private void copy(StringBuilder rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try {
+                return con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(rows.toString()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        rows.setLength(0);
+    }
+
+    // One line of COPY's text format: tab-separated fields, \N for null
+    private void appendRow(StringBuilder rows, UUID id, UUID parentId, String name, NodeType type,
+                           String idPath, Rank rank, Map<TagKey, TagValue> tags) {
+        rows.append(id).append('\t').append(parentId).append('\t');
+        appendEscaped(rows, name);
+        rows.append('\t').append(type.name()).append('\t').append(idPath)
+            .append('\t').append(rank.getValue()).append('\t');
+        if (tags.isEmpty()) {
+            rows.append("\\N");
+        } else {
+            appendEscaped(rows, toJson(tags));
+        }
+        rows.append('\n');
+    }
+
+    private String toJson(Map<TagKey, TagValue> tags) {
+        Map<String, String> values = new LinkedHashMap<>();
+        tags.forEach((key, value) -> values.put(key.getValue(), value.getValue()));
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Tags cannot be written as JSON", e);
+        }
+    }
+
+    private static void appendEscaped(StringBuilder rows, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> rows.append("\\\\");
+                case '\t' -> rows.append("\\t");
+                case '\n' -> rows.append("\\n");
+                case '\r' -> rows.append("\\r");
+                default -> rows.append(c);
+            }
+        }
+    }
+
+    /**
+     * A folder the import has touched. New folders start out with all their children known; stored
+     * ones have theirs read when a record first needs them.
+     */
+    private static final class Folder {
+        private final UUID id;
+        private final String idPath;
+        private final boolean stored;
+        private final Map<String, Folder> subfolders = new HashMap<>();
+        private final Set<String> names = new HashSet<>();
+        private Rank lastRank;
+        private boolean childrenLoaded;
+
+        private Folder(UUID id, String idPath, boolean stored) {
+            this.id = id;
+            this.idPath = idPath;
+            this.stored = stored;
+            this.childrenLoaded = !stored;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.treevault.infrastructure.persistence.adapter;
+
+import com.treevault.domain.model.entity.Node;
+import com.treevault.infrastructure.persistence.entity.NodeJpaEntity;
+import com.treevault.infrastructure.persistence.mapper.PersistenceMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes changed node rows, together with their {@code id_path} keys and the {@code node_closure}
+ * pairs that index them, with plain JDBC batches, bypassing the persistence context.
+ * <p>
+ * Runs inside the caller's JPA transaction, which exposes its connection to {@link JdbcTemplate}.
+ * Updates are guarded by the version the node was loaded with, mirroring JPA optimistic locking.
+ */
+@Component
+class NodeBatchWriter {
+
+    // The id path extends the parent's; the root's is its own label alone
+    private static final String INSERT_SQL =
+        "INSERT INTO nodes (id, name, type, parent_id, id_path, sort_rank, version, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, COALESCE((SELECT p.id_path FROM nodes p WHERE p.id = ?) || CAST(? AS ltree), " +
+        "CAST(? AS ltree)), ?, 0, ?, ?)";
+
+    // The new node pairs with each ancestor of its parent one level further down, and with itself
+    private static final String INSERT_CLOSURE_SQL =
+        "INSERT INTO node_closure (ancestor_id, descendant_id, depth) " +
+        "SELECT ancestor_id, ?, depth + 1 FROM node_closure WHERE descendant_id = ? " +
+        "UNION ALL SELECT ?, ?, 0";
+
+    // Pairs linking the moved subtree to the ancestors it is leaving; pairs within the subtree stay
+    private static final String UNLINK_CLOSURE_SQL =
+        "DELETE FROM node_closure WHERE descendant_id IN " +
+        "(SELECT descendant_id FROM node_closure WHERE ancestor_id = ?) " +
+        "AND ancestor_id IN (SELECT ancestor_id FROM node_closure WHERE descendant_id = ? AND depth > 0)";
+
+    // Every ancestor of the new parent (itself included) pairs with every node of the moved subtree
+    private static final String LINK_CLOSURE_SQL =
+        "INSERT INTO node_closure (ancestor_id, descendant_id, depth) " +
+        "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+        "FROM node_closure a JOIN node_closure d ON d.ancestor_id = ? " +
+        "WHERE a.descendant_id = ?";
+
+    // The moved subtree keeps the part of its id paths from the moved node down
+    private static final String REPARENT_ID_PATHS_SQL =
+        "UPDATE nodes n SET id_path = p.id_path || subpath(n.id_path, nlevel(m.id_path) - 1) " +
+        "FROM nodes m, nodes p WHERE m.id = ? AND p.id = ? AND n.id_path <@ m.id_path";
+
+    // A node loaded without its ancestors has no domain parent, which must not detach its row. Names
+    // are not part of any stored key, so a rename writes this one row whatever lies below it.
+    private static final String UPDATE_SQL =
+        "UPDATE nodes SET name = ?, parent_id = COALESCE(?, parent_id), sort_rank = ?, " +
+        "version = version + 1, updated_at = ? WHERE id = ? AND version = ?";
+
+    // Descendants, tags and closure pairs go with the row through ON DELETE CASCADE
+    private static final String DELETE_SQL = "DELETE FROM nodes WHERE id = ? AND version = ?";
+
+    // Rows are matched before any cascade runs, so a listed row below another listed row still counts
+    private static final String DELETE_ALL_SQL =
+        "DELETE FROM nodes n USING unnest(?, ?) AS d(id, version) WHERE n.id = d.id AND n.version = d.version";
+
+    private static final String STORED_PLACEMENTS_SQL =
+        "SELECT parent_id, CAST(id_path AS TEXT) AS id_path FROM nodes WHERE id = ANY(?)";
+
+    // Only uk_parent_name is deferrable (see the V15 migration)
+    private static final String DEFER_CONSTRAINTS_SQL = "SET CONSTRAINTS ALL DEFERRED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PersistenceMapper mapper;
+
+    NodeBatchWriter(JdbcTemplate jdbcTemplate, PersistenceMapper mapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Inserts new nodes; parents must precede their children.
+     */
+    void insert(List<Node> nodes) {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, nodes, nodes.size(), (ps, node) -> {
+            NodeJpaEntity row = mapper.toJpaEntity(node);
+            ps.setObject(1, row.getId());
+            ps.setString(2, row.getName());
+            ps.setString(3, row.getType().name());
+            ps.setObject(4, parentIdOf(node));
+            ps.setObject(5, parentIdOf(node));
+            ps.setString(6, idPathLabel(node));
+            ps.setString(7, idPathLabel(node));
+            ps.setLong(8, row.getSortRank());
+            ps.setObject(9, row.getCreatedAt());
+            ps.setObject(10, row.getUpdatedAt());
+        });
+        // Statements of a batch run in order, so a parent's pairs exist before its children need them
+        jdbcTemplate.batchUpdate(INSERT_CLOSURE_SQL, nodes, nodes.size(), (ps, node) -> {
+            Object id = node.getId().getValue();
+            ps.setObject(1, id);
+            ps.setObject(2, parentIdOf(node));
+            ps.setObject(3, id);
+            ps.setObject(4, id);
+        });
+    }
+
+    /**
+     * Updates existing nodes, failing if any row was changed since the node was loaded.
+     */
+    void update(List<Node> nodes) {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, nodes, nodes.size(), (ps, node) -> {
+            NodeJpaEntity row = mapper.toJpaEntity(node);
+            ps.setString(1, row.getName());
+            ps.setObject(2, parentIdOf(node));
+            ps.setLong(3, row.getSortRank());
+            ps.setObject(4, row.getUpdatedAt());
+            ps.setObject(5, row.getId());
+            ps.setLong(6, node.getPersistedVersion());
+        });
+        for (int i = 0; i < counts[0].length; i++) {
+            if (counts[0][i] == 0) {
+                throw new ObjectOptimisticLockingFailureException(NodeJpaEntity.class, nodes.get(i).getId().getValue());
+            }
+        }
+    }
+
+    /**
+     * Re-links the closure pairs and id paths of a node that moved to another parent, together with
+     * its stored subtree, in three statements whatever the size of the subtree.
+     */
+    void relinkSubtree(Node node) {
+        Object id = node.getId().getValue();
+        jdbcTemplate.update(UNLINK_CLOSURE_SQL, id, id);
+        jdbcTemplate.update(LINK_CLOSURE_SQL, id, parentIdOf(node));
+        jdbcTemplate.update(REPARENT_ID_PATHS_SQL, id, parentIdOf(node));
+    }
+
+    /**
+     * Deletes a node with its entire stored subtree, failing if the node's row was changed since it
+     * was loaded. Sibling ranks keep their order without the node, so no other row is touched.
+     */
+    void delete(Node node) {
+        int deleted = jdbcTemplate.update(DELETE_SQL, node.getId().getValue(), node.getPersistedVersion());
+        if (deleted == 0) {
+            throw new ObjectOptimisticLockingFailureException(NodeJpaEntity.class, node.getId().getValue());
+        }
+    }
+
+    /**
+     * Deletes several nodes with their stored subtrees in one statement, failing if any of the rows
+     * was changed since its node was loaded. Nodes may lie below one another.
+     */
+    void deleteAll(List<Node> nodes) {
+        if (nodes.isEmpty()) {
+            return;
+        }
+        Object[] ids = nodes.stream().map(node -> node.getId().getValue()).toArray();
+        Object[] versions = nodes.stream().map(Node::getPersistedVersion).toArray();
+        int deleted = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(DELETE_ALL_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", ids));
+            ps.setArray(2, con.createArrayOf("bigint", versions));
+            return ps;
+        });
+        if (deleted != nodes.size()) {
+            throw new ObjectOptimisticLockingFailureException(NodeJpaEntity.class, nodes.get(0).getId().getValue());
+        }
+    }
+
+    /**
+     * Reads where the given nodes are stored: under which parent, and at which id path, which the id
+     * paths of their stored descendants extend. Called before the nodes are written, it tells where
+     * they were until now. Nodes that are not stored are left out.
+     */
+    List<StoredPlacement> findStoredPlacements(Collection<Node> nodes) {
+        if (nodes.isEmpty()) {
+            return List.of();
+        }
+        Object[] ids = nodes.stream().map(node -> node.getId().getValue()).toArray();
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(STORED_PLACEMENTS_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", ids));
+            return ps;
+        }, (rs, rowNum) -> new StoredPlacement(rs.getObject("parent_id", UUID.class), rs.getString("id_path")));
+    }
+
+    /**
+     * Postpones the check that sibling names are unique to the end of the transaction, so that
+     * names can pass from one node to another within it, e.g. in a swap.
+     */
+    void deferUniqueChecks() {
+        jdbcTemplate.execute(DEFER_CONSTRAINTS_SQL);
+    }
+
+    private static Object parentIdOf(Node node) {
+        return node.getParent().map(parent -> parent.getId().getValue()).orElse(null);
+    }
+
+    // ltree labels are limited to letters, digits and underscores on older servers, so no dashes
+    static String idPathLabel(Node node) {
+        return idPathLabel(node.getId().getValue());
+    }
+
+    static String idPathLabel(UUID id) {
+        return id.toString().replace("-", "");
+    }
+
+    /**
+     * A stored node's parent, {@code null} for the root, and id path.
+     */
+    record StoredPlacement(UUID parentId, String idPath) {
+    }
+}
@@ -1,29 +1,34 @@
 package com.treevault.infrastructure.persistence.adapter;
 
 import com.treevault.domain.model.entity.Node;
-import com.treevault.domain.model.entity.Tag;
+import com.treevault.domain.model.valueobject.NodeChange;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
-import com.treevault.domain.model.valueobject.NodePath;
-import com.treevault.domain.model.valueobject.NodeType;
-import com.treevault.domain.model.valueobject.Position;
-import com.treevault.domain.model.valueobject.TagKey;
-import com.treevault.domain.model.valueobject.TagValue;
+import com.treevault.domain.model.valueobject.Rank;
 import com.treevault.domain.repository.NodeRepository;
 import com.treevault.infrastructure.persistence.entity.NodeJpaEntity;
 import com.treevault.infrastructure.persistence.entity.TagJpaEntity;
+import com.treevault.infrastructure.persistence.notification.TreeChangeNotifier;
 import com.treevault.infrastructure.persistence.repository.JpaNodeRepository;
 import com.treevault.infrastructure.persistence.repository.JpaTagRepository;
-import com.treevault.infrastructure.persistence.mapper.PersistenceMapper;
 import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
-import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -31,31 +36,89 @@ import java.util.stream.Collectors;
 @Transactional
 public class NodeRepositoryAdapter implements NodeRepository {
     
+    private static final int ID_CHUNK_SIZE = 1000;
+    
     private final JpaNodeRepository jpaRepository;
     private final JpaTagRepository jpaTagRepository;
-    private final PersistenceMapper mapper;
     private final EntityManager entityManager;
+    private final NodeBatchWriter batchWriter;
+    private final TagBatchWriter tagWriter;
+    private final SiblingRankRebalancer rebalancer;
+    private final TreeChangeNotifier changeNotifier;
+    private final TreeAssembler treeAssembler = new TreeAssembler();
     
     public NodeRepositoryAdapter(JpaNodeRepository jpaRepository,
                                  JpaTagRepository jpaTagRepository,
-                                 PersistenceMapper mapper,
-                                 EntityManager entityManager) {
+                                 EntityManager entityManager,
+                                 NodeBatchWriter batchWriter,
+                                 TagBatchWriter tagWriter,
+                                 SiblingRankRebalancer rebalancer,
+                                 TreeChangeNotifier changeNotifier) {
         this.jpaRepository = jpaRepository;
         this.jpaTagRepository = jpaTagRepository;
-        this.mapper = mapper;
         this.entityManager = entityManager;
+        this.batchWriter = batchWriter;
+        this.tagWriter = tagWriter;
+        this.rebalancer = rebalancer;
+        this.changeNotifier = changeNotifier;
     }
     
     @Override
     public Optional<Node> findById(NodeId id) {
-        Optional<NodeJpaEntity> entity = jpaRepository.findById(id.getValue());
-        if (entity.isEmpty()) {
-            return Optional.empty();
+        return jpaRepository.findById(id.getValue())
+            .map(entity -> loadNeighbourhoods(List.of(entity)).get(entity.getId()));
+    }
+    
+    @Override
+    public Map<NodeId, Node> findAllById(Collection<NodeId> ids) {
+        List<NodeJpaEntity> entities = jpaRepository.findAllById(ids.stream().map(NodeId::getValue).toList());
+        if (entities.isEmpty()) {
+            return Collections.emptyMap();
         }
-        Optional<NodeJpaEntity> rootEntity = findTrueRootEntity();
-        NodeJpaEntity rootJpaEntity = rootEntity.orElse(entity.get());
-        Node root = loadFullTree(rootJpaEntity);
-        return Optional.ofNullable(findInTreeById(root, id));
+        Map<NodeId, Node> nodes = new HashMap<>();
+        loadNeighbourhoods(entities).forEach((id, node) -> nodes.put(NodeId.of(id), node));
+        return nodes;
+    }
+    
+    @Override
+    public Optional<Node> findWithAncestorsById(NodeId id) {
+        return jpaRepository.findById(id.getValue()).map(this::loadWithAncestors);
+    }
+    
+    @Override
+    public Optional<Node> findSubtreeById(NodeId id) {
+        return jpaRepository.findById(id.getValue()).map(this::loadSubtree);
+    }
+    
+    @Override
+    public Optional<Node> findSubtreeById(NodeId id, int depth) {
+        return jpaRepository.findById(id.getValue()).map(entity -> loadSubtree(entity, depth));
+    }
+    
+    @Override
+    public Optional<Node> findChildrenPageById(NodeId parentId, Rank after, int limit) {
+        return jpaRepository.findById(parentId.getValue())
+            .map(entity -> loadChildrenPage(entity, after, limit));
+    }
+    
+    @Override
+    public Set<NodeId> findIdsWithChildren(Collection<NodeId> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+        // Probed in chunks, so a wide tree level stays within the driver's bind parameter limit
+        List<UUID> values = ids.stream().map(NodeId::getValue).toList();
+        Set<NodeId> idsWithChildren = new HashSet<>();
+        for (int from = 0; from < values.size(); from += ID_CHUNK_SIZE) {
+            List<UUID> chunk = values.subList(from, Math.min(from + ID_CHUNK_SIZE, values.size()));
+            jpaRepository.findIdsWithChildrenByIdIn(chunk).forEach(id -> idsWithChildren.add(NodeId.of(id)));
+        }
+        return idsWithChildren;
+    }
+    
+    @Override
+    public boolean isDescendantOf(NodeId id, NodeId ancestorId) {
+        return jpaRepository.existsByIdAndAncestorId(id.getValue(), ancestorId.getValue());
     }
     
     @Override
@@ -68,107 +131,135 @@ public class NodeRepositoryAdapter implements NodeRepository {
             root = root.getParent().get();
         }
         
-        // Persist the entire tree from root
-        // This saves all the position changes made by domain operations
-        persistRecursively(root, null);
+        // Collect the nodes that recorded changes; parents are visited before their children
+        List<Node> loaded = new ArrayList<>();
+        List<Node> inserts = new ArrayList<>();
+        List<Node> updates = new ArrayList<>();
+        List<Node> pathChanges = new ArrayList<>();
+        List<Node> moves = new ArrayList<>();
+        List<Node> tagChanges = new ArrayList<>();
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node current = pending.pop();
+            loaded.add(current);
+            Set<NodeChange> changes = current.getPendingChanges();
+            if (changes.contains(NodeChange.CREATED)) {
+                inserts.add(current);
+            } else if (hasRowChanges(changes)) {
+                updates.add(current);
+                if (changes.contains(NodeChange.RENAMED) || changes.contains(NodeChange.MOVED)) {
+                    pathChanges.add(current);
+                }
+                if (changes.contains(NodeChange.MOVED)) {
+                    moves.add(current);
+                }
+                if (changes.contains(NodeChange.REPOSITIONED) && isCrowded(current)) {
+                    rebalancer.requestRebalance(current.getParent().get().getId().getValue());
+                }
+            }
+            if (changes.contains(NodeChange.TAGS_CHANGED)) {
+                tagChanges.add(current);
+            }
+            current.getChildren().forEach(pending::push);
+        }
+        
+        List<Node> written = new ArrayList<>(inserts);
+        written.addAll(updates);
+        notifyChanged(written, pathChanges, tagChanges);
+        // Pending JPA operations (e.g. deletes) must reach the database before the JDBC writes
         entityManager.flush();
+        batchWriter.insert(inserts);
+        batchWriter.update(updates);
+        // Renames need nothing beyond the node's own row: descendants' name paths are derived on read
+        moves.forEach(batchWriter::relinkSubtree);
+        
+        tagWriter.sync(tagChanges);
+        // Rows were written behind the persistence context, so managed entities are stale
+        entityManager.clear();
+        
+        for (Node current : loaded) {
+            Set<NodeChange> changes = current.getPendingChanges();
+            if (changes.contains(NodeChange.CREATED)) {
+                current.markPersisted(0L);
+            } else if (hasRowChanges(changes)) {
+                current.markPersisted(current.getPersistedVersion() + 1);
+            } else {
+                current.markPersisted(current.getPersistedVersion());
+            }
+        }
         
         // Return the original node that was passed in
         return node;
     }
     
-    private void persistRecursively(Node domainNode, NodeJpaEntity parentEntity) {
-        // Find existing managed entity
-        NodeJpaEntity entity = entityManager.find(NodeJpaEntity.class, domainNode.getId().getValue());
-        
-        if (entity != null) {
-            // Update existing entity
-            entity.setName(domainNode.getName().getValue());
-            entity.setPath(domainNode.getPath().toString());
-            entity.setDepth(domainNode.getPath().getDepth());
-            if (domainNode.getPosition() != null) {
-                entity.setPosition(domainNode.getPosition().getValue());
-            }
-            entity.setUpdatedAt(LocalDateTime.now());
-            if (parentEntity != null) {
-                entity.setParent(parentEntity);
-            }
-            
-            // Sync tags
-            syncTags(domainNode, entity);
-            
-            // Recursively persist children
-            for (Node child : domainNode.getChildren()) {
-                persistRecursively(child, entity);
-            }
-        } else {
-            // Entity doesn't exist - this shouldn't happen in normal operations
-            // but we'll handle it by using the mapper to create a new entity
-            NodeJpaEntity mapped = mapper.toJpaEntity(domainNode);
-            if (parentEntity != null) {
-                mapped.setParent(parentEntity);
-            }
-            NodeJpaEntity saved = jpaRepository.save(mapped);
-            
-            // Sync tags
-            syncTags(domainNode, saved);
-            
-            // Recursively persist children
-            for (Node child : domainNode.getChildren()) {
-                persistRecursively(child, saved);
-            }
+    @Override
+    @Transactional
+    public Node save(Node node, Collection<Node> deletedNodes) {
+        batchWriter.deferUniqueChecks();
+        save(node);
+        if (!deletedNodes.isEmpty()) {
+            notifyChanged(List.copyOf(deletedNodes), List.copyOf(deletedNodes), List.of());
+            // Nodes moved out of a deleted folder have been written above, so the cascade misses them
+            batchWriter.deleteAll(List.copyOf(deletedNodes));
         }
+        return node;
     }
     
-    private void syncTags(Node domainNode, NodeJpaEntity entity) {
-        // Get existing tags from database
-        List<TagJpaEntity> existingTags = jpaTagRepository.findByNodeId(entity.getId());
-        Map<String, TagJpaEntity> existingTagMap = existingTags.stream()
-            .collect(Collectors.toMap(TagJpaEntity::getTagKey, t -> t));
-        
-        // Get current tags from domain
-        Map<TagKey, Tag> domainTags = domainNode.getTags();
-        
-        // Add or update tags from domain
-        for (Map.Entry<TagKey, Tag> entry : domainTags.entrySet()) {
-            String key = entry.getKey().getValue();
-            String value = entry.getValue().getValue().toString();
-            
-            TagJpaEntity existingTag = existingTagMap.get(key);
-            if (existingTag != null) {
-                // Update existing tag
-                existingTag.setTagValue(value);
-                existingTagMap.remove(key);
-            } else {
-                // Create new tag
-                TagJpaEntity newTag = new TagJpaEntity();
-                newTag.setNode(entity);
-                newTag.setTagKey(key);
-                newTag.setTagValue(value);
-                newTag.setCreatedAt(LocalDateTime.now());
-                jpaTagRepository.save(newTag);
+    // Announced before writing, so that the writes are known to be announced (see the V18 migration)
+    private void notifyChanged(List<Node> written, List<Node> pathChanges, List<Node> tagChanges) {
+        Set<UUID> nodeIds = new LinkedHashSet<>();
+        for (Node node : written) {
+            nodeIds.add(node.getId().getValue());
+            // The parent's list of children changes with an insert, move, reposition or delete
+            node.getParent().ifPresent(parent -> nodeIds.add(parent.getId().getValue()));
+        }
+        tagChanges.forEach(node -> nodeIds.add(node.getId().getValue()));
+        // Every name path or id path below a renamed, moved or deleted node changes, and a moved
+        // node also leaves the children of its old parent
+        Set<String> pathPrefixes = new LinkedHashSet<>();
+        for (NodeBatchWriter.StoredPlacement stored : batchWriter.findStoredPlacements(pathChanges)) {
+            pathPrefixes.add(stored.idPath());
+            if (stored.parentId() != null) {
+                nodeIds.add(stored.parentId());
             }
         }
-        
-        // Delete tags that no longer exist in domain
-        for (TagJpaEntity tagToDelete : existingTagMap.values()) {
-            jpaTagRepository.delete(tagToDelete);
+        if (!nodeIds.isEmpty()) {
+            changeNotifier.notifyChanged(nodeIds, pathPrefixes);
+        }
+    }
+    
+    // A node ranked between close neighbours leaves little room for the next insert at that spot
+    private static boolean isCrowded(Node node) {
+        Node parent = node.getParent().orElse(null);
+        if (parent == null || node.getPosition() == null) {
+            return false;
+        }
+        List<Node> siblings = parent.getChildren();
+        int index = node.getPosition().getValue();
+        if (index >= siblings.size() || siblings.get(index) != node) {
+            return false;
         }
+        Rank rank = node.getRank();
+        return index > 0 && rank.distanceTo(siblings.get(index - 1).getRank()) < SiblingRankRebalancer.MIN_GAP
+            || index + 1 < siblings.size() && rank.distanceTo(siblings.get(index + 1).getRank()) < SiblingRankRebalancer.MIN_GAP;
+    }
+    
+    // Tag changes live in their own table and leave the node row untouched
+    private static boolean hasRowChanges(Set<NodeChange> changes) {
+        return changes.contains(NodeChange.RENAMED)
+            || changes.contains(NodeChange.MOVED)
+            || changes.contains(NodeChange.REPOSITIONED);
     }
     
     @Override
     public void delete(Node node) {
-        // Delete entire subtree by path prefix (tags first, then nodes deepest-first)
-        String prefix = node.getPath().toString();
-        List<NodeJpaEntity> subtree = jpaRepository.findSubtreeByPathPrefixOrderByDepthDesc(prefix);
-        if (subtree.isEmpty()) {
-            // Fallback: delete single by ID
-            jpaRepository.deleteById(node.getId().getValue());
-            return;
-        }
-        List<UUID> ids = subtree.stream().map(NodeJpaEntity::getId).toList();
-        jpaTagRepository.deleteByNodeIdIn(ids);
-        jpaRepository.deleteAll(subtree);
+        notifyChanged(List.of(node), List.of(node), List.of());
+        // Pending JPA operations must reach the database before the JDBC writes
+        entityManager.flush();
+        batchWriter.delete(node);
+        // Rows were removed behind the persistence context, so managed entities are stale
+        entityManager.clear();
     }
     
     @Override
@@ -185,18 +276,16 @@ public class NodeRepositoryAdapter implements NodeRepository {
         return rootEntity.map(this::loadFullTree);
     }
     
+    @Override
+    public Optional<Node> findRootNode(int depth) {
+        return findTrueRootEntity().map(entity -> loadSubtree(entity, depth));
+    }
+    
     @Override
     public List<Node> findByParentId(NodeId parentId) {
-        Optional<NodeJpaEntity> rootEntity = findTrueRootEntity();
-        if (rootEntity.isEmpty()) {
-            return Collections.emptyList();
-        }
-        Node root = loadFullTree(rootEntity.get());
-        Node parent = findInTreeById(root, parentId);
-        if (parent == null) {
-            return Collections.emptyList();
-        }
-        return parent.getChildren();
+        return findById(parentId)
+            .map(Node::getChildren)
+            .orElse(Collections.emptyList());
     }
     
     @Override
@@ -215,98 +304,228 @@ public class NodeRepositoryAdapter implements NodeRepository {
 
     }
     
-    private Node loadFullTree(NodeJpaEntity rootEntity) {
-        // Load all nodes and tags
-        List<NodeJpaEntity> allEntities = jpaRepository.findAll();
-        List<TagJpaEntity> allTags = entityManager.createQuery(
-            "SELECT t FROM TagJpaEntity t", TagJpaEntity.class
-        ).getResultList();
-        
-        // Build maps
-        Map<UUID, NodeJpaEntity> entityMap = allEntities.stream()
+    /**
+     * Loads the neighbourhoods of the given nodes into one object graph: for each node its ancestor
+     * chain, its siblings, the node itself and its direct children, together with the tags of
+     * exactly those nodes. A row shared by several neighbourhoods becomes a single domain node.
+     * <p>
+     * Ancestors only carry the children on the paths towards the targets, so the resulting graph is
+     * partial. It is complete where the domain invariants of a target need it: sibling names for
+     * {@link Node#rename}, sibling positions for {@link Node#delete}, child names and positions for
+     * {@link Node#moveTo} and the parent chain for path, depth and cycle checks.
+     */
+    private Map<UUID, Node> loadNeighbourhoods(List<NodeJpaEntity> targetEntities) {
+        Map<UUID, NodeJpaEntity> rows = new LinkedHashMap<>();
+        Set<UUID> parentIds = new LinkedHashSet<>();
+        Set<UUID> ancestorIds = new HashSet<>();
+        // The ancestors of all targets in one lookup, however many there are
+        Map<UUID, NodeJpaEntity> candidates = jpaRepository.findAncestorsByDescendantIdIn(
+                targetEntities.stream().map(NodeJpaEntity::getId).toList()
+            ).stream()
             .collect(Collectors.toMap(NodeJpaEntity::getId, e -> e));
+        for (NodeJpaEntity targetEntity : targetEntities) {
+            for (NodeJpaEntity ancestor : resolveAncestors(targetEntity, candidates)) {
+                rows.putIfAbsent(ancestor.getId(), ancestor);
+                ancestorIds.add(ancestor.getId());
+            }
+            rows.putIfAbsent(targetEntity.getId(), targetEntity);
+            if (targetEntity.getParent() != null) {
+                parentIds.add(targetEntity.getParent().getId());
+            }
+            parentIds.add(targetEntity.getId());
+        }
+        jpaRepository.findByParentIdInOrderBySortRank(parentIds)
+            .forEach(child -> rows.putIfAbsent(child.getId(), child));
         
-        Map<UUID, List<TagJpaEntity>> tagsByNodeId = allTags.stream()
+        Map<UUID, List<TagJpaEntity>> tagsByNodeId = jpaTagRepository.findByNodeIdIn(rows.keySet()).stream()
             .collect(Collectors.groupingBy(t -> t.getNode().getId()));
+        Map<UUID, Integer> positionsById = loadSiblingPositions(ancestorIds);
         
-        // Reconstruct tree starting from root
-        return reconstructNode(rootEntity, entityMap, tagsByNodeId, null);
+        // The assembler expects one contiguous run of rows per parent, in rank order
+        List<NodeJpaEntity> ordered = new ArrayList<>(rows.values());
+        ordered.sort(Comparator.comparing((NodeJpaEntity e) -> e.getParent() != null ? e.getParent().getId() : null,
+                Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(NodeJpaEntity::getSortRank));
+        
+        Set<UUID> targetIds = targetEntities.stream().map(NodeJpaEntity::getId).collect(Collectors.toSet());
+        Map<UUID, Node> targets = new HashMap<>();
+        for (NodeJpaEntity entity : ordered) {
+            // A top is a row whose parent was not loaded: the root, or a node with a broken chain
+            if (entity.getParent() != null && rows.containsKey(entity.getParent().getId())) {
+                continue;
+            }
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(treeAssembler.assemble(entity, ordered, tagsByNodeId, positionsById, null));
+            while (!pending.isEmpty()) {
+                Node current = pending.pop();
+                if (targetIds.contains(current.getId().getValue())) {
+                    targets.put(current.getId().getValue(), current);
+                }
+                current.getChildren().forEach(pending::push);
+            }
+        }
+        return targets;
     }
     
-    private Node reconstructNode(NodeJpaEntity entity, 
-                                 Map<UUID, NodeJpaEntity> entityMap,
-                                 Map<UUID, List<TagJpaEntity>> tagsByNodeId,
-                                 Node parent) {
-        // Use domain factory methods
-        // Determine position based on domain parent: top-most (parent == null) has null position; others use stored position
-        Position position = (parent == null) ? null
-                : (entity.getPosition() != null ? Position.of(entity.getPosition()) : null);
-        
-        Node node = createNodeWithId(
-            NodeId.of(entity.getId()),
-            NodeName.of(entity.getName()),
-            entity.getType() == NodeJpaEntity.NodeType.FOLDER ? NodeType.FOLDER : NodeType.FILE,
-            parent,
-            entity.getCreatedAt(),
-            entity.getUpdatedAt(),
-            entity.getVersion(),
-            NodePath.of(entity.getPath()),
-            position
+    /**
+     * Loads a node beneath its ancestor chain, restoring only the node's own tags. Each ancestor
+     * carries just the child on the path towards the node.
+     */
+    private Node loadWithAncestors(NodeJpaEntity targetEntity) {
+        List<NodeJpaEntity> ancestors = loadAncestors(targetEntity);
+        Map<UUID, List<TagJpaEntity>> tagsByNodeId = Map.of(
+            targetEntity.getId(), jpaTagRepository.findByNodeId(targetEntity.getId())
         );
+        Map<UUID, Integer> positionsById = loadSiblingPositions(chainIds(ancestors, targetEntity));
         
-        if (parent != null) {
-            parent.addChildForReconstructionPublic(node);
+        Node parent = null;
+        for (NodeJpaEntity ancestor : ancestors) {
+            parent = treeAssembler.attach(ancestor, tagsByNodeId, positionsById, parent);
         }
+        return treeAssembler.attach(targetEntity, tagsByNodeId, positionsById, parent);
+    }
+    
+    /**
+     * Loads a node with its complete subtree (selected through its closure pairs) beneath its ancestor chain.
+     */
+    private Node loadSubtree(NodeJpaEntity targetEntity) {
+        List<NodeJpaEntity> subtree = jpaRepository.findSubtreeByAncestorIdOrderByParentIdAndSortRank(targetEntity.getId());
+        return assembleSubtree(targetEntity, subtree);
+    }
+    
+    private Node assembleSubtree(NodeJpaEntity targetEntity, List<NodeJpaEntity> subtree) {
+        List<NodeJpaEntity> ancestors = loadAncestors(targetEntity);
+        List<UUID> loadedIds = new ArrayList<>();
+        ancestors.forEach(a -> loadedIds.add(a.getId()));
+        subtree.forEach(e -> loadedIds.add(e.getId()));
+        Map<UUID, List<TagJpaEntity>> tagsByNodeId = jpaTagRepository.findByNodeIdIn(loadedIds).stream()
+            .collect(Collectors.groupingBy(t -> t.getNode().getId()));
+        Map<UUID, Integer> positionsById = loadSiblingPositions(chainIds(ancestors, targetEntity));
         
-        // Add tags
-        List<TagJpaEntity> nodeTags = tagsByNodeId.getOrDefault(entity.getId(), Collections.emptyList());
-        for (TagJpaEntity tagEntity : nodeTags) {
-            try {
-                node.addTag(
-                    TagKey.of(tagEntity.getTagKey()),
-                    TagValue.of(tagEntity.getTagValue())
-                );
-            } catch (Exception e) {
-                // Ignore tag errors during reconstruction
-            }
+        Node parent = null;
+        for (NodeJpaEntity ancestor : ancestors) {
+            parent = treeAssembler.attach(ancestor, tagsByNodeId, positionsById, parent);
         }
         
-        // Reconstruct children
-        List<NodeJpaEntity> children = entityMap.values().stream()
-            .filter(e -> e.getParent() != null && e.getParent().getId().equals(entity.getId()))
-            .sorted(Comparator.comparing(NodeJpaEntity::getPosition))
-            .toList();
+        return treeAssembler.assemble(targetEntity, subtree, tagsByNodeId, positionsById, parent);
+    }
+    
+    /**
+     * Loads a node with the levels of its subtree down to {@code depth} beneath its ancestor chain.
+     * The depth bound is applied in the query, so the rows of deeper levels are never read.
+     */
+    private Node loadSubtree(NodeJpaEntity targetEntity, int depth) {
+        List<NodeJpaEntity> subtree = jpaRepository.findSubtreeByAncestorIdAndMaxDistanceOrderByParentIdAndSortRank(
+            targetEntity.getId(), depth
+        );
+        return assembleSubtree(targetEntity, subtree);
+    }
+    
+    /**
+     * Loads a folder beneath its ancestor chain with one page of its children, seeking on the
+     * {@code (parent_id, sort_rank)} index so the cost of a page does not depend on how far into
+     * the folder it starts.
+     */
+    private Node loadChildrenPage(NodeJpaEntity parentEntity, Rank after, int limit) {
+        List<NodeJpaEntity> ancestors = loadAncestors(parentEntity);
+        List<NodeJpaEntity> page = jpaRepository.findByParentIdAndSortRankGreaterThanOrderBySortRank(
+            parentEntity.getId(), after != null ? after.getValue() : 0L, Limit.of(limit)
+        );
+        
+        List<UUID> loadedIds = chainIds(ancestors, parentEntity);
+        page.forEach(e -> loadedIds.add(e.getId()));
+        Map<UUID, List<TagJpaEntity>> tagsByNodeId = jpaTagRepository.findByNodeIdIn(
+            loadedIds.subList(ancestors.size(), loadedIds.size())
+        ).stream().collect(Collectors.groupingBy(t -> t.getNode().getId()));
         
-        for (NodeJpaEntity childEntity : children) {
-            reconstructNode(childEntity, entityMap, tagsByNodeId, node);
+        // Only the first row of the page needs a range count; the rest follow it without gaps
+        List<UUID> countedIds = chainIds(ancestors, parentEntity);
+        if (!page.isEmpty()) {
+            countedIds.add(page.get(0).getId());
+        }
+        Map<UUID, Integer> positionsById = new HashMap<>(loadSiblingPositions(countedIds));
+        if (!page.isEmpty()) {
+            int first = positionsById.get(page.get(0).getId());
+            for (int i = 1; i < page.size(); i++) {
+                positionsById.put(page.get(i).getId(), first + i);
+            }
         }
         
-        return node;
+        Node parent = null;
+        for (NodeJpaEntity ancestor : ancestors) {
+            parent = treeAssembler.attach(ancestor, tagsByNodeId, positionsById, parent);
+        }
+        return treeAssembler.assemble(parentEntity, page, tagsByNodeId, positionsById, parent);
     }
     
-    // Helper to create node with existing ID (for reconstruction)
-    private Node createNodeWithId(NodeId id, NodeName name, NodeType type, Node parent,
-                                  LocalDateTime createdAt, LocalDateTime updatedAt, Long version,
-                                  NodePath path, Position position) {
-        // Use static factory method for reconstruction
-        return Node.reconstruct(id, name, type, parent, createdAt, updatedAt, version, path, position);
+    /**
+     * Resolves the ancestor chain of a node, root first, with a single lookup of the node's
+     * {@code node_closure} pairs.
+     */
+    private List<NodeJpaEntity> loadAncestors(NodeJpaEntity entity) {
+        if (entity.getParent() == null) {
+            return Collections.emptyList();
+        }
+        
+        Map<UUID, NodeJpaEntity> candidates = jpaRepository.findAncestorsByDescendantId(entity.getId()).stream()
+            .collect(Collectors.toMap(NodeJpaEntity::getId, e -> e));
+        return resolveAncestors(entity, candidates);
     }
     
-    // Helper to find a node by id within a reconstructed domain tree
-    private Node findInTreeById(Node root, NodeId id) {
-        if (root == null || id == null) {
-            return null;
-        }
-        if (root.getId().equals(id)) {
-            return root;
-        }
-        for (Node child : root.getChildren()) {
-            Node found = findInTreeById(child, id);
-            if (found != null) {
-                return found;
+    /**
+     * Orders the ancestor chain of a node, root first, from rows already read for it.
+     */
+    private List<NodeJpaEntity> resolveAncestors(NodeJpaEntity entity, Map<UUID, NodeJpaEntity> candidates) {
+        List<NodeJpaEntity> chain = new ArrayList<>();
+        NodeJpaEntity current = entity;
+        while (current.getParent() != null) {
+            UUID parentId = current.getParent().getId();
+            NodeJpaEntity parent = candidates.get(parentId);
+            if (parent == null) {
+                // Closure pairs out of step with parent_id; fall back to a primary key lookup
+                parent = jpaRepository.findById(parentId).orElse(null);
+                if (parent == null) {
+                    break;
+                }
             }
+            chain.add(parent);
+            current = parent;
+        }
+        Collections.reverse(chain);
+        return chain;
+    }
+    
+    private Node loadFullTree(NodeJpaEntity rootEntity) {
+        // Load all nodes (grouped by parent in SQL) and tags
+        List<NodeJpaEntity> allEntities = jpaRepository.findAllOrderByParentIdAndSortRank();
+        List<TagJpaEntity> allTags = entityManager.createQuery(
+            "SELECT t FROM TagJpaEntity t", TagJpaEntity.class
+        ).getResultList();
+        
+        Map<UUID, List<TagJpaEntity>> tagsByNodeId = allTags.stream()
+            .collect(Collectors.groupingBy(t -> t.getNode().getId()));
+        
+        // Reconstruct tree starting from root
+        return treeAssembler.assemble(rootEntity, allEntities, tagsByNodeId, Collections.emptyMap(), null);
+    }
+    
+    /**
+     * Derives the positions of nodes whose siblings are not loaded from their ranks, so a partial
+     * graph reports the same positions as the full tree.
+     */
+    private Map<UUID, Integer> loadSiblingPositions(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
         }
-        return null;
+        return jpaRepository.findSiblingPositionsByIdIn(ids).stream()
+            .collect(Collectors.toMap(JpaNodeRepository.SiblingPosition::getId, p -> p.getPosition().intValue()));
+    }
+    
+    private static List<UUID> chainIds(List<NodeJpaEntity> ancestors, NodeJpaEntity entity) {
+        List<UUID> ids = new ArrayList<>(ancestors.size() + 1);
+        ancestors.forEach(a -> ids.add(a.getId()));
+        ids.add(entity.getId());
+        return ids;
     }
     
     // Find the single true root entity (name = 'root'). Do NOT create it here; creation is handled by use cases.
@@ -0,0 +1,83 @@
+package com.treevault.infrastructure.persistence.adapter;
+
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.Rank;
+import com.treevault.domain.repository.NodeLocks;
+import com.treevault.infrastructure.persistence.notification.TreeChangeNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Respaces the sibling ranks of folders that are running out of gaps.
+ * <p>
+ * Every insert at the same spot halves the gap between two ranks. When a gap is gone the domain
+ * respaces the folder inline, which rewrites every sibling within the user's request. Saves report
+ * folders whose gaps have become narrow, and this job respaces them in the background beforehand,
+ * one statement per folder, so that the inline fallback is rarely needed. It holds the folder's
+ * lock meanwhile, like any other write to its children.
+ */
+@Component
+class SiblingRankRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SiblingRankRebalancer.class);
+
+    // Ten inserts at the same spot narrow a fresh gap down to this
+    static final long MIN_GAP = Rank.GAP >> 10;
+
+    // Respacing keeps the order, but like any reposition it counts as a new version of each row
+    private static final String RESPACE_SQL =
+        "UPDATE nodes n SET sort_rank = r.sort_rank, version = n.version + 1 " +
+        "FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY sort_rank, id) * ? AS sort_rank " +
+        "FROM nodes WHERE parent_id = ?) r " +
+        "WHERE n.id = r.id AND n.sort_rank <> r.sort_rank";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NodeLocks nodeLocks;
+    private final TreeChangeNotifier changeNotifier;
+    private final Set<UUID> crowdedParentIds = ConcurrentHashMap.newKeySet();
+
+    SiblingRankRebalancer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, NodeLocks nodeLocks,
+                          TreeChangeNotifier changeNotifier) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.nodeLocks = nodeLocks;
+        this.changeNotifier = changeNotifier;
+    }
+
+    /**
+     * Queues the children of the given folder for respacing.
+     */
+    void requestRebalance(UUID parentId) {
+        crowdedParentIds.add(parentId);
+    }
+
+    @Scheduled(fixedDelayString = "${treevault.ordering.rebalance-delay:PT10S}")
+    void rebalanceCrowdedFolders() {
+        for (UUID parentId : crowdedParentIds) {
+            crowdedParentIds.remove(parentId);
+            try {
+                Integer respaced = transactionTemplate.execute(status -> {
+                    nodeLocks.lock(List.of(NodeId.of(parentId)), List.of());
+                    // The order stays, but the versions of the respaced children do not. Announced
+                    // before the update, whose trigger fires even when no rank changes
+                    changeNotifier.notifyChanged(Set.of(parentId), Set.of());
+                    return jdbcTemplate.update(RESPACE_SQL, Rank.GAP, parentId);
+                });
+                logger.debug("Respaced {} sibling ranks under {}", respaced, parentId);
+            } catch (DataAccessException e) {
+                // The domain still respaces inline once the gaps are gone, so a failed run loses nothing
+                logger.warn("Failed to respace sibling ranks under {}", parentId, e);
+            }
+        }
+    }
+}
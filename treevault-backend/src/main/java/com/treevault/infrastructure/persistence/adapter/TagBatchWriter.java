@@ -0,0 +1,114 @@
+package com.treevault.infrastructure.persistence.adapter;
+
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.entity.Tag;
+import com.treevault.domain.model.valueobject.TagKey;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Synchronises the stored tags of a set of nodes with their domain state in three statements:
+ * one SELECT of the existing tags, one batched upsert and one DELETE.
+ */
+@Component
+class TagBatchWriter {
+
+    private static final String SELECT_SQL =
+        "SELECT node_id, tag_key, tag_value FROM tags WHERE node_id = ANY (?)";
+
+    // Relies on the uk_node_tag_key constraint
+    private static final String UPSERT_SQL =
+        "INSERT INTO tags (id, node_id, tag_key, tag_value, created_at) VALUES (?, ?, ?, ?, ?) " +
+        "ON CONFLICT (node_id, tag_key) DO UPDATE SET tag_value = EXCLUDED.tag_value";
+
+    private static final String DELETE_SQL =
+        "DELETE FROM tags WHERE (node_id, tag_key) IN (SELECT * FROM unnest(?::uuid[], ?::varchar[]))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    TagBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void sync(List<Node> nodes) {
+        if (nodes.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, Map<String, String>> storedByNodeId = loadStoredTags(nodes);
+
+        List<TagRow> upserts = new ArrayList<>();
+        List<TagRow> deletes = new ArrayList<>();
+        for (Node node : nodes) {
+            UUID nodeId = node.getId().getValue();
+            Map<String, String> stored = new HashMap<>(storedByNodeId.getOrDefault(nodeId, Map.of()));
+            for (Map.Entry<TagKey, Tag> entry : node.getTags().entrySet()) {
+                String key = entry.getKey().getValue();
+                String value = entry.getValue().getValue().getValue();
+                if (!value.equals(stored.remove(key))) {
+                    upserts.add(new TagRow(nodeId, key, value));
+                }
+            }
+            stored.keySet().forEach(key -> deletes.add(new TagRow(nodeId, key, null)));
+        }
+
+        upsert(upserts);
+        delete(deletes);
+    }
+
+    private Map<UUID, Map<String, String>> loadStoredTags(List<Node> nodes) {
+        Object[] nodeIds = nodes.stream().map(node -> node.getId().getValue()).toArray();
+        Map<UUID, Map<String, String>> storedByNodeId = new HashMap<>();
+        jdbcTemplate.query(
+            con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_SQL);
+                ps.setArray(1, con.createArrayOf("uuid", nodeIds));
+                return ps;
+            },
+            rs -> {
+                storedByNodeId.computeIfAbsent(rs.getObject("node_id", UUID.class), id -> new HashMap<>())
+                    .put(rs.getString("tag_key"), rs.getString("tag_value"));
+            }
+        );
+        return storedByNodeId;
+    }
+
+    private void upsert(List<TagRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, UUID.randomUUID());
+            ps.setObject(2, row.nodeId());
+            ps.setString(3, row.key());
+            ps.setString(4, row.value());
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    private void delete(List<TagRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Object[] nodeIds = rows.stream().map(TagRow::nodeId).toArray();
+        Object[] keys = rows.stream().map(TagRow::key).toArray();
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(DELETE_SQL);
+            ps.setArray(1, con.createArrayOf("uuid", nodeIds));
+            ps.setArray(2, con.createArrayOf("varchar", keys));
+            return ps;
+        });
+    }
+
+    private record TagRow(UUID nodeId, String key, String value) {
+    }
+}
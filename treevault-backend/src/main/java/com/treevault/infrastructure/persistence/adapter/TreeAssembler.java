@@ -0,0 +1,150 @@
+package com.treevault.infrastructure.persistence.adapter;
+
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.model.valueobject.NodePath;
+import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.model.valueobject.Position;
+import com.treevault.domain.model.valueobject.Rank;
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.model.valueobject.TagValue;
+import com.treevault.infrastructure.persistence.entity.NodeJpaEntity;
+import com.treevault.infrastructure.persistence.entity.TagJpaEntity;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rebuilds the domain {@link Node} graph from persisted rows in linear time.
+ * <p>
+ * Rows are expected in {@code (parent_id, sort_rank)} order, as returned by the database. Each
+ * parent's children then form one contiguous run, so grouping is a single pass that keeps the runs
+ * as views of the input list. The graph is built top-down with an explicit stack, attaching every
+ * child list in one call so each list is allocated at its final size.
+ * <p>
+ * Positions are not stored: a child's position is its index within its parent's run. Rows whose
+ * siblings were not all loaded take their position from a separately derived map instead.
+ * <p>
+ * Name paths are not stored either: each node's path is its parent's path plus its own name, so a
+ * node must be rebuilt beneath its ancestor chain to get its full path.
+ */
+class TreeAssembler {
+
+    // Root rows have no parent; a sentinel keeps them in their own run without special casing
+    private static final UUID NO_PARENT = new UUID(0L, 0L);
+
+    /**
+     * Builds {@code topEntity} and all of its descendants found in {@code rows}.
+     *
+     * @param topEntity    the node to build the graph from
+     * @param rows          descendant rows ordered by parent id, then rank; may also contain
+     *                      {@code topEntity} itself and unrelated rows, which are ignored
+     * @param tagsByNodeId  tags to restore, keyed by node id
+     * @param positionsById positions of {@code topEntity} and of any row whose siblings are not all
+     *                      in {@code rows}, keyed by node id
+     * @param parent        already rebuilt parent of {@code topEntity}, or {@code null}
+     */
+    Node assemble(NodeJpaEntity topEntity,
+                  List<NodeJpaEntity> rows,
+                  Map<UUID, List<TagJpaEntity>> tagsByNodeId,
+                  Map<UUID, Integer> positionsById,
+                  Node parent) {
+        Map<UUID, List<NodeJpaEntity>> childrenByParentId = groupByParentId(rows);
+
+        Node top = attach(topEntity, tagsByNodeId, positionsById, parent);
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(top);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            List<NodeJpaEntity> childEntities = childrenByParentId.get(node.getId().getValue());
+            if (childEntities == null) {
+                continue;
+            }
+
+            List<Node> children = new ArrayList<>(childEntities.size());
+            for (int i = 0; i < childEntities.size(); i++) {
+                NodeJpaEntity childEntity = childEntities.get(i);
+                Integer position = positionsById.getOrDefault(childEntity.getId(), i);
+                Node child = toDomainNode(childEntity, tagsByNodeId, position, node);
+                children.add(child);
+                pending.push(child);
+            }
+            node.addChildrenForReconstruction(children);
+        }
+        return top;
+    }
+
+    /**
+     * Rebuilds a single node, attaches it to its (already rebuilt) parent and restores its tags. The
+     * node's position is taken from {@code positionsById} and left unset if it is not there.
+     */
+    Node attach(NodeJpaEntity entity, Map<UUID, List<TagJpaEntity>> tagsByNodeId,
+                Map<UUID, Integer> positionsById, Node parent) {
+        Node node = toDomainNode(entity, tagsByNodeId, positionsById.get(entity.getId()), parent);
+        if (parent != null) {
+            parent.addChildForReconstructionPublic(node);
+        }
+        return node;
+    }
+
+    // Splits parent-ordered rows into one run per parent; the runs are sublist views, not copies
+    private static Map<UUID, List<NodeJpaEntity>> groupByParentId(List<NodeJpaEntity> rows) {
+        Map<UUID, List<NodeJpaEntity>> groups = new HashMap<>();
+        int runStart = 0;
+        UUID runParentId = null;
+        for (int i = 0; i <= rows.size(); i++) {
+            UUID parentId = i < rows.size() ? parentIdOf(rows.get(i)) : null;
+            if (i == rows.size() || !parentId.equals(runParentId)) {
+                if (runParentId != null && groups.put(runParentId, rows.subList(runStart, i)) != null) {
+                    throw new IllegalArgumentException("Rows must be ordered by parent id, then rank");
+                }
+                runStart = i;
+                runParentId = parentId;
+            }
+        }
+        return groups;
+    }
+
+    private static UUID parentIdOf(NodeJpaEntity entity) {
+        return entity.getParent() != null ? entity.getParent().getId() : NO_PARENT;
+    }
+
+    private static Node toDomainNode(NodeJpaEntity entity, Map<UUID, List<TagJpaEntity>> tagsByNodeId,
+                                     Integer position, Node parent) {
+
+        NodeName name = NodeName.of(entity.getName());
+        Node node = Node.reconstruct(
+            NodeId.of(entity.getId()),
+            name,
+            entity.getType() == NodeJpaEntity.NodeType.FOLDER ? NodeType.FOLDER : NodeType.FILE,
+            parent,
+            entity.getCreatedAt(),
+            entity.getUpdatedAt(),
+            entity.getVersion(),
+            // Only ids are stored in the hierarchy key, so the name path follows from the parent
+            parent != null ? parent.getPath().append(name) : NodePath.root(),
+            // The top-most node (parent == null) has no position
+            parent != null && position != null ? Position.of(position) : null,
+            Rank.of(entity.getSortRank())
+        );
+
+        List<TagJpaEntity> nodeTags = tagsByNodeId.getOrDefault(entity.getId(), Collections.emptyList());
+        for (TagJpaEntity tagEntity : nodeTags) {
+            try {
+                node.addTagForReconstruction(
+                    TagKey.of(tagEntity.getTagKey()),
+                    TagValue.of(tagEntity.getTagValue())
+                );
+            } catch (Exception e) {
+                // Ignore tag errors during reconstruction
+            }
+        }
+        return node;
+    }
+}
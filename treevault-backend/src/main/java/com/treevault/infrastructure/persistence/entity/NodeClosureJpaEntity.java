@@ -0,0 +1,56 @@
+package com.treevault.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * One (ancestor, descendant) pair of the tree. The rows are written with JDBC by the repository
+ * adapter; the mapping describes the table for schema validation and generation.
+ */
+@Entity
+@Table(name = "node_closure", indexes = {
+    @Index(name = "idx_node_closure_descendant", columnList = "descendant_id, depth")
+})
+@IdClass(NodeClosureJpaEntity.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NodeClosureJpaEntity {
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ancestor_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private NodeJpaEntity ancestor;
+    
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "descendant_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private NodeJpaEntity descendant;
+    
+    // Number of parent links between the two; 0 pairs a node with itself
+    @Column(nullable = false)
+    private Integer depth;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID ancestor;
+        private UUID descendant;
+    }
+}
@@ -11,6 +11,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,7 +23,7 @@ import java.util.UUID;
 @Entity
 @Table(name = "nodes", indexes = {
     @Index(name = "idx_nodes_parent", columnList = "parent_id"),
-    @Index(name = "idx_nodes_path_pattern", columnList = "path"),
+    @Index(name = "idx_nodes_parent_sort_rank", columnList = "parent_id, sort_rank"),
     @Index(name = "idx_nodes_type", columnList = "type")
 })
 @Data
@@ -41,16 +43,16 @@ public class NodeJpaEntity {
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private NodeJpaEntity parent;
     
-    @Column(nullable = false, columnDefinition = "TEXT")
-    private String path;
+    // Node ids from the root down as an ltree; written with JDBC only (see NodeBatchWriter)
+    @Column(name = "id_path", nullable = false, insertable = false, updatable = false, columnDefinition = "ltree")
+    private String idPath;
     
-    @Column(nullable = false)
-    private Integer depth;
-    
-    @Column(nullable = false)
-    private Integer position;
+    // Gapped sibling rank; the dense position is derived from it when nodes are read
+    @Column(name = "sort_rank", nullable = false)
+    private Long sortRank;
     
     @Version
     @Column(nullable = false)
@@ -9,6 +9,9 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,7 +20,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tags")
+@Table(name = "tags", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_node_tag_key", columnNames = {"node_id", "tag_key"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,6 +34,7 @@ public class TagJpaEntity {
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "node_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private NodeJpaEntity node;
     
     @Column(name = "tag_key", nullable = false, length = 100)
@@ -3,9 +3,8 @@ package com.treevault.infrastructure.persistence.mapper;
 import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
-import com.treevault.domain.model.valueobject.NodePath;
 import com.treevault.domain.model.valueobject.NodeType;
-import com.treevault.domain.model.valueobject.Position;
+import com.treevault.domain.model.valueobject.Rank;
 import com.treevault.infrastructure.persistence.entity.NodeJpaEntity;
 import org.springframework.stereotype.Component;
 
@@ -28,9 +27,7 @@ public class PersistenceMapper {
         entity.setId(toUuid(node.getId()));
         entity.setName(toName(node.getName()));
         entity.setType(toJpaType(node.getType()));
-        entity.setPath(toPath(node.getPath()));
-        entity.setDepth(node.getPath() != null ? node.getPath().getDepth() : 0);
-        entity.setPosition(toPosition(node.getPosition()));
+        entity.setSortRank(toSortRank(node.getRank()));
         entity.setCreatedAt(copyDate(node.getCreatedAt()));
         entity.setUpdatedAt(copyDate(node.getUpdatedAt()));
 
@@ -50,12 +47,8 @@ public class PersistenceMapper {
         return type != null ? NodeJpaEntity.NodeType.valueOf(type.name()) : null;
     }
 
-    private String toPath(NodePath path) {
-        return path != null ? path.toString() : null;
-    }
-
-    private Integer toPosition(Position position) {
-        return position != null ? position.getValue() : 0;
+    private Long toSortRank(Rank rank) {
+        return rank != null ? rank.getValue() : Rank.atIndex(0).getValue();
     }
 
     private LocalDateTime copyDate(LocalDateTime dateTime) {
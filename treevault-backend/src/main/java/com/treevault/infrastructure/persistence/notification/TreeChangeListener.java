@@ -0,0 +1,124 @@
+package com.treevault.infrastructure.persistence.notification;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Listens on the {@value TreeChangeNotifier#CHANNEL} channel and republishes every notification as
+ * a {@link TreeChangedEvent}, so this instance learns about writes made by the others.
+ * <p>
+ * The listener keeps one pooled connection for itself. Notifications sent while it is not
+ * connected are lost, so {@link #isListening()} tells caches whether they may rely on it, and
+ * every (re)connect and disconnect is published as a change to everything.
+ */
+@Component
+@ConditionalOnProperty(name = "treevault.tree-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class TreeChangeListener implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TreeChangeListener.class);
+
+    // How long a poll waits for notifications, and so how long stopping may take
+    private static final int POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSource dataSource;
+    private final TreeChangeNotifier notifier;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile boolean running;
+    private volatile boolean listening;
+    private Thread thread;
+
+    public TreeChangeListener(DataSource dataSource,
+                              TreeChangeNotifier notifier,
+                              ApplicationEventPublisher eventPublisher) {
+        this.dataSource = dataSource;
+        this.notifier = notifier;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Returns whether the listener is connected, i.e. whether every committed change is being
+     * published.
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        thread = new Thread(this::listen, "tree-change-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + TreeChangeNotifier.CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                listening = true;
+                eventPublisher.publishEvent(TreeChangedEvent.everything(false));
+                logger.debug("Listening for tree changes on {}", TreeChangeNotifier.CHANNEL);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            eventPublisher.publishEvent(notifier.fromPayload(notification.getParameter()));
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    logger.warn("Lost the tree change listener connection, reconnecting", e);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to publish a tree change", e);
+            } finally {
+                // Changes may be missed from here on
+                listening = false;
+                if (running) {
+                    eventPublisher.publishEvent(TreeChangedEvent.everything(false));
+                }
+            }
+            pauseBeforeReconnect();
+        }
+    }
+
+    private void pauseBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.treevault.infrastructure.persistence.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Announces the application's writes to the tree on the {@value #CHANNEL} channel.
+ * <p>
+ * The notification is sent in the writing transaction, so Postgres delivers it to every listening
+ * instance only if and when that transaction commits. This instance is told through an
+ * application event instead, which transactional listeners receive once the transaction has
+ * completed, so a client reading right after its own write never depends on the round trip.
+ */
+@Component
+public class TreeChangeNotifier {
+
+    public static final String CHANNEL = "treevault_changes";
+
+    // Postgres rejects payloads of 8000 bytes or more
+    static final int MAX_PAYLOAD_LENGTH = 7900;
+
+    // Marks the transaction as announced, so the trigger does not add an empty notification (see the
+    // V18 migration)
+    private static final String NOTIFY_SQL =
+        "SELECT set_config('treevault.change_notified', 'on', true), pg_notify(?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TreeChangeNotifier(JdbcTemplate jdbcTemplate,
+                              ObjectMapper objectMapper,
+                              ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Announces a change to the given nodes and to every node stored under the given id paths.
+     * Must be called in the writing transaction, before its first write, since every later write of
+     * the transaction counts as announced.
+     */
+    public void notifyChanged(Set<UUID> nodeIds, Set<String> pathPrefixes) {
+        Payload payload = new Payload(Set.copyOf(nodeIds), Set.copyOf(pathPrefixes));
+        jdbcTemplate.query(NOTIFY_SQL, rs -> null, CHANNEL, toPayload(payload));
+        eventPublisher.publishEvent(new TreeChangedEvent(true, payload.nodeIds(), payload.pathPrefixes()));
+    }
+
+    // Too many ids to fit are announced as a change to everything
+    String toPayload(Payload payload) {
+        try {
+            String json = objectMapper.writeValueAsString(payload);
+            return json.length() < MAX_PAYLOAD_LENGTH ? json : "";
+        } catch (JsonProcessingException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Reads the change another instance announced.
+     */
+    TreeChangedEvent fromPayload(String json) {
+        if (json == null || json.isEmpty()) {
+            return TreeChangedEvent.everything(false);
+        }
+        try {
+            Payload payload = objectMapper.readValue(json, Payload.class);
+            return new TreeChangedEvent(false, payload.nodeIds(), payload.pathPrefixes());
+        } catch (JsonProcessingException e) {
+            return TreeChangedEvent.everything(false);
+        }
+    }
+
+    record Payload(Set<UUID> nodeIds, Set<String> pathPrefixes) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.treevault.infrastructure.persistence.notification;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A committed change to the tree, made by this or another backend instance.
+ * <p>
+ * Lists the nodes whose rows or tags were written, the parents whose children changed, and the id
+ * paths the moved, renamed or deleted nodes had, under which every stored node may have changed
+ * its name path, its id path or its existence. A change whose extent is unknown, e.g. one made
+ * outside the application, has neither and {@linkplain #affectsEverything() affects everything}.
+ * A {@code local} change was written by this instance and is reported as soon as the writing
+ * transaction has completed, before the writer's client gets its response.
+ */
+public record TreeChangedEvent(boolean local, Set<UUID> nodeIds, Set<String> pathPrefixes) {
+
+    public static TreeChangedEvent everything(boolean local) {
+        return new TreeChangedEvent(local, null, null);
+    }
+
+    public boolean affectsEverything() {
+        return nodeIds == null || pathPrefixes == null;
+    }
+}
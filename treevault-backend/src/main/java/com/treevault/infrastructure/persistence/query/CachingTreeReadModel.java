@@ -0,0 +1,333 @@
+package com.treevault.infrastructure.persistence.query;
+
+import com.treevault.application.query.NodeView;
+import com.treevault.application.query.TreeReadModel;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.infrastructure.persistence.notification.TreeChangeListener;
+import com.treevault.infrastructure.persistence.notification.TreeChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Serves the {@link TreeReadModel} from in-memory {@link TreeSnapshot}s of the whole tree and of the
+ * subtrees below the nodes read on their own, one cache entry each.
+ * <p>
+ * Every write to the tree bumps the tree revision in its own transaction (see the V8 and V16
+ * migrations), so a read only has to look up the revision to know whether an entry is still
+ * current. When it is not, one reader rebuilds the entry from {@link JdbcTreeReadModel} while
+ * concurrent readers keep being served the previous one instead of waiting for it, unless this
+ * instance has since committed a write that touches it: a client reading back its own write waits
+ * for the rebuild rather than be served the tree from before it. A walk reports the revision of the
+ * entry it was served from, so a previous entry is never passed off as the current one.
+ * <p>
+ * While the {@link TreeChangeListener} is connected, even that lookup is skipped: an entry is
+ * trusted until a {@link TreeChangedEvent} names a node it holds, the parent of its top node, whose
+ * children and so the top node's position may have changed, or an id path its top node lies on or
+ * below, whose name path may have changed. Writes elsewhere in the tree leave it alone. Writes of
+ * other instances arrive shortly after they commit; writes of this instance as soon as their
+ * transaction completes. A change reported while an entry was being built is checked against it
+ * once it is built. At most {@code treevault.tree-cache.max-entries} entries are kept, and the
+ * least recently read one makes room for a new one.
+ * <p>
+ * A transaction that has announced a change reads through {@link JdbcTreeReadModel} until it
+ * completes: neither the revision it knew nor an entry would include its own write, and an entry
+ * built from it would include a write that may never be committed.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "treevault.tree-cache.enabled", havingValue = "true", matchIfMissing = true)
+class CachingTreeReadModel implements TreeReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(CachingTreeReadModel.class);
+
+    // Key of the entry of the whole tree, which no node id equals
+    private static final UUID WHOLE_TREE = new UUID(0L, 0L);
+
+    // Changes kept for the entries being built; an entry whose build outlasts them is not kept
+    private static final int MAX_RECENT_CHANGES = 1024;
+
+    // Entries whose keys fall on different locks are rebuilt in parallel
+    private static final int REBUILD_LOCK_STRIPES = 16;
+
+    private final JdbcTreeReadModel delegate;
+    private final TreeChangeListener changeListener;
+    private final ReentrantLock[] rebuildLocks = new ReentrantLock[REBUILD_LOCK_STRIPES];
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Timer rebuildTimer;
+    // By the id of their top node, least recently read first; guarded by this
+    private final Map<UUID, Cached> entries;
+    // The latest changes, numbered by changeCount; guarded by this
+    private final Deque<RecordedChange> recentChanges = new ArrayDeque<>();
+    // The revision as of the last change event, null until it has been read since; guarded by this
+    private Long knownRevision;
+    private long changeCount;
+
+    CachingTreeReadModel(JdbcTreeReadModel delegate,
+                         TreeChangeListener changeListener,
+                         MeterRegistry meterRegistry,
+                         @Value("${treevault.tree-cache.max-entries:1000}") int maxEntries) {
+        this.delegate = delegate;
+        this.changeListener = changeListener;
+        for (int i = 0; i < REBUILD_LOCK_STRIPES; i++) {
+            rebuildLocks[i] = new ReentrantLock();
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Cached> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.hits = requests(meterRegistry, "hit");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+        this.rebuildTimer = Timer.builder("treevault.tree.cache.rebuild")
+            .description("Time taken to rebuild a cached tree snapshot")
+            .register(meterRegistry);
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("treevault.tree.cache.requests")
+            .description("Tree reads by whether the cached snapshot was current, stale or had to be rebuilt")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public OptionalLong forEachNodeInTreeOrder(NodeId topId, Consumer<NodeView> visitor) {
+        if (hasChangedInTransaction()) {
+            return delegate.forEachNodeInTreeOrder(topId, visitor);
+        }
+        UUID key = topId != null ? topId.getValue() : WHOLE_TREE;
+        long revision = currentRevision();
+        boolean listening = changeListener.isListening();
+        Lookup found = lookup(key, revision, listening);
+        if (found.current()) {
+            hits.increment();
+            return walk(found.entry(), key, visitor);
+        }
+        // Stale while revalidate: a rebuild is under way, so the previous entry is served, but only
+        // if it is missing no write of this instance that the caller may have made
+        ReentrantLock rebuildLock = rebuildLocks[Math.floorMod(key.hashCode(), REBUILD_LOCK_STRIPES)];
+        if (found.mayServeStale() && !rebuildLock.tryLock()) {
+            staleHits.increment();
+            return walk(found.entry(), key, visitor);
+        }
+        if (!found.mayServeStale()) {
+            rebuildLock.lock();
+        }
+        try {
+            // Rebuilt by another reader while this one waited for the lock
+            found = lookup(key, revision, listening);
+            if (found.current()) {
+                hits.increment();
+                return walk(found.entry(), key, visitor);
+            }
+            misses.increment();
+            Cached rebuilt = rebuildTimer.record(() -> rebuild(key, topId, revision));
+            return rebuilt != null ? walk(rebuilt, key, visitor) : OptionalLong.empty();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Bypasses the entries, since a rebuild would hold the whole walk in memory at once
+    @Override
+    public boolean forEachStoredNodeInTreeOrder(NodeId topId, Consumer<NodeView> visitor) {
+        return delegate.forEachStoredNodeInTreeOrder(topId, visitor);
+    }
+
+    @Override
+    public long currentRevision() {
+        if (hasChangedInTransaction()) {
+            return delegate.currentRevision();
+        }
+        long observedChanges;
+        synchronized (this) {
+            if (knownRevision != null && changeListener.isListening()) {
+                return knownRevision;
+            }
+            observedChanges = changeCount;
+        }
+        long revision = delegate.currentRevision();
+        synchronized (this) {
+            // A change reported during the lookup may not be included in the revision read
+            if (changeCount == observedChanges) {
+                knownRevision = revision;
+            }
+        }
+        return revision;
+    }
+
+    /**
+     * Forgets the known revision and marks the entries the change touches as stale once it has been
+     * committed, or once a transaction that announced it has rolled back, since a revision read
+     * inside it was never committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onTreeChanged(TreeChangedEvent event) {
+        synchronized (this) {
+            knownRevision = null;
+            changeCount++;
+            recentChanges.addLast(new RecordedChange(changeCount, event));
+            if (recentChanges.size() > MAX_RECENT_CHANGES) {
+                recentChanges.removeFirst();
+            }
+            for (Cached entry : entries.values()) {
+                entry.markStaleIfAffectedBy(event);
+            }
+        }
+    }
+
+    /**
+     * Marks the writing transaction as changed as soon as it announces a change, so that its own
+     * reads bypass the entries until it completes.
+     */
+    @EventListener
+    public void onTreeChangeAnnounced(TreeChangedEvent event) {
+        if (!event.local() || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CachingTreeReadModel.this);
+            }
+        });
+    }
+
+    private boolean hasChangedInTransaction() {
+        return TransactionSynchronizationManager.hasResource(this);
+    }
+
+    // A current entry of the whole tree serves any node's subtree, and tells a missing node as well
+    private synchronized Lookup lookup(UUID key, long revision, boolean listening) {
+        Cached wholeTree = entries.get(WHOLE_TREE);
+        if (wholeTree != null && wholeTree.isCurrent(revision, listening)) {
+            return new Lookup(wholeTree, true, false);
+        }
+        Cached entry = key.equals(WHOLE_TREE) ? wholeTree : entries.get(key);
+        if (entry == null) {
+            return new Lookup(null, false, false);
+        }
+        return new Lookup(entry, entry.isCurrent(revision, listening), !entry.missesLocalChange);
+    }
+
+    private static OptionalLong walk(Cached entry, UUID key, Consumer<NodeView> visitor) {
+        boolean found = entry.snapshot.forEachNodeInTreeOrder(key.equals(WHOLE_TREE) ? null : key, visitor);
+        return found ? OptionalLong.of(entry.snapshot.getRevision()) : OptionalLong.empty();
+    }
+
+    // The revision, the change count and the top node's id path are read before the rows, so a
+    // concurrent write can only make the entry look older than it is, never newer, and a change
+    // reported from then on is checked against the entry before it is kept. A missing node is not
+    // kept, since its creation would only be reported as a change to its parent.
+    private Cached rebuild(UUID key, NodeId topId, long revision) {
+        long sequence;
+        synchronized (this) {
+            sequence = changeCount;
+        }
+        String topPath = "";
+        if (topId != null) {
+            topPath = delegate.findIdPath(topId);
+            if (topPath == null) {
+                return null;
+            }
+        }
+        TreeSnapshot.Builder builder = TreeSnapshot.builder(revision);
+        if (!delegate.forEachStoredNodeInTreeOrder(topId, builder)) {
+            return null;
+        }
+        Cached rebuilt = new Cached(builder.build(), topPath);
+        synchronized (this) {
+            if (changeCount == sequence || recentChanges.peekFirst().sequence() <= sequence + 1) {
+                recentChanges.stream()
+                    .filter(change -> change.sequence() > sequence)
+                    .forEach(change -> rebuilt.markStaleIfAffectedBy(change.event()));
+                entries.put(key, rebuilt);
+            }
+        }
+        logger.debug("Rebuilt tree snapshot of {} nodes below {} at revision {}", rebuilt.snapshot.size(),
+            topId != null ? topId : "the root", revision);
+        return rebuilt;
+    }
+
+    /**
+     * A snapshot with the id path of the node it starts from, empty for the whole tree, and whether
+     * a change has been reported since it was read, and if so, whether this instance wrote any.
+     */
+    private static final class Cached {
+        private final TreeSnapshot snapshot;
+        private final String topPath;
+        // Guarded by the cache
+        private boolean stale;
+        private boolean missesLocalChange;
+
+        private Cached(TreeSnapshot snapshot, String topPath) {
+            this.snapshot = snapshot;
+            this.topPath = topPath;
+        }
+
+        private boolean isCurrent(long revision, boolean listening) {
+            return !stale && (listening || snapshot.getRevision() == revision);
+        }
+
+        // The whole tree holds every node a change names, so it needs no id path to be found stale
+        private void markStaleIfAffectedBy(TreeChangedEvent event) {
+            if (isAffectedBy(event)) {
+                stale = true;
+                missesLocalChange |= event.local();
+            }
+        }
+
+        private boolean isAffectedBy(TreeChangedEvent event) {
+            if (event.affectsEverything()) {
+                return true;
+            }
+            for (UUID id : event.nodeIds()) {
+                if (snapshot.contains(id) || id.equals(snapshot.getTopParentId())) {
+                    return true;
+                }
+            }
+            for (String prefix : event.pathPrefixes()) {
+                if (topPath.equals(prefix) || topPath.startsWith(prefix + ".")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private record RecordedChange(long sequence, TreeChangedEvent event) {
+    }
+
+    /**
+     * The entry a read may be served from, whether it is current, and if not, whether it may be
+     * served while another reader rebuilds it.
+     */
+    private record Lookup(Cached entry, boolean current, boolean mayServeStale) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.treevault.infrastructure.persistence.query;
+
+import com.treevault.application.query.NodeSearch;
+import com.treevault.application.query.NodeSearchCriteria;
+import com.treevault.application.query.NodeView;
+import com.treevault.application.query.SearchCursor;
+import com.treevault.application.query.SearchHit;
+import com.treevault.application.query.TagFilter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@link NodeSearch} over plain JDBC. Every condition is answered by an index: the name text by
+ * the trigram index on {@code nodes.name}, every tag filter by an {@code EXISTS} lookup on the
+ * {@code (tag_key, tag_value)} index and a subtree by one on the closure table. The page is picked
+ * in the database, and only its nodes are read, with all of their tags and their name paths.
+ */
+@Component
+class JdbcNodeSearch implements NodeSearch {
+
+    // A substring of the name, or a close enough match for a word of it (pg_trgm's <% operator)
+    private static final String TEXT_SQL =
+        "(n.name ILIKE ? ESCAPE '\\' OR ? <% n.name)";
+
+    // Word similarity ranks names containing the text first; similarity of the whole name breaks
+    // their ties in favour of the names closest to it
+    private static final String RANK_SQL =
+        "CAST(word_similarity(?, n.name) + similarity(?, n.name) AS REAL)";
+
+    private static final String TAG_KEY_SQL =
+        "EXISTS (SELECT 1 FROM tags t WHERE t.node_id = n.id AND t.tag_key = ?)";
+
+    private static final String TAG_SQL =
+        "EXISTS (SELECT 1 FROM tags t WHERE t.node_id = n.id AND t.tag_key = ? AND t.tag_value = ?)";
+
+    private static final String WITHIN_SQL =
+        "EXISTS (SELECT 1 FROM node_closure w WHERE w.ancestor_id = ? AND w.descendant_id = n.id)";
+
+    private static final String RANKED_AFTER_SQL = "(n.rank < ? OR (n.rank = ? AND n.id > ?))";
+
+    // The page is limited before tags are joined in, since the join repeats a node's row per tag.
+    // Placeholders: the rank, the conditions, the cursor condition and the order (twice).
+    private static final String SEARCH_SQL =
+        "SELECT n.id, n.name, n.type, n.parent_id, " + JdbcTreeReadModel.NAME_PATH_SQL + " AS path, " +
+        "  CAST(NULL AS INTEGER) AS position, n.version, n.created_at, n.updated_at, n.rank, " +
+        "  g.tag_key, g.tag_value " +
+        "FROM (SELECT * FROM (SELECT n.*, %s AS rank FROM nodes n WHERE %s) n " +
+        "  WHERE %s ORDER BY %s LIMIT ?) n " +
+        "LEFT JOIN tags g ON g.node_id = n.id " +
+        "ORDER BY %s, g.tag_key";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    JdbcNodeSearch(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<SearchHit> find(NodeSearchCriteria criteria, SearchCursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        if (criteria.isRanked()) {
+            args.add(criteria.text());
+            args.add(criteria.text());
+            conditions.add(TEXT_SQL);
+            args.add("%" + escapeLikePattern(criteria.text()) + "%");
+            args.add(criteria.text());
+        }
+        for (TagFilter filter : criteria.tags()) {
+            conditions.add(filter.matchesAnyValue() ? TAG_KEY_SQL : TAG_SQL);
+            args.add(filter.key().getValue());
+            if (!filter.matchesAnyValue()) {
+                args.add(filter.value().getValue());
+            }
+        }
+        if (criteria.withinId() != null) {
+            conditions.add(WITHIN_SQL);
+            args.add(criteria.withinId().getValue());
+        }
+        String afterCondition = "TRUE";
+        if (after != null) {
+            afterCondition = criteria.isRanked() ? RANKED_AFTER_SQL : "n.id > ?";
+            if (criteria.isRanked()) {
+                args.add(after.rank());
+                args.add(after.rank());
+            }
+            args.add(after.id());
+        }
+        args.add(limit);
+
+        String order = criteria.isRanked() ? "n.rank DESC, n.id" : "n.id";
+        String sql = String.format(SEARCH_SQL,
+            criteria.isRanked() ? RANK_SQL : "CAST(NULL AS REAL)",
+            String.join(" AND ", conditions),
+            afterCondition,
+            order,
+            order);
+
+        List<NodeView> views = new ArrayList<>();
+        Map<UUID, Float> ranks = new HashMap<>();
+        TagCollectingHandler handler = new TagCollectingHandler(views::add);
+        jdbcTemplate.query(sql, rs -> {
+            handler.processRow(rs);
+            float rank = rs.getFloat("rank");
+            if (!rs.wasNull()) {
+                ranks.put(rs.getObject("id", UUID.class), rank);
+            }
+        }, args.toArray());
+        handler.finish();
+        return views.stream()
+            .map(view -> new SearchHit(view, ranks.get(view.id())))
+            .toList();
+    }
+
+    static String escapeLikePattern(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,117 @@
+package com.treevault.infrastructure.persistence.query;
+
+import com.treevault.application.query.NodeView;
+import com.treevault.application.query.TreeReadModel;
+import com.treevault.domain.model.valueobject.NodeId;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.sql.PreparedStatement;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * {@link TreeReadModel} over plain JDBC. Rows are mapped straight from the result set, so no
+ * entity, persistence context snapshot or domain node is created along the way.
+ */
+@Component
+class JdbcTreeReadModel implements TreeReadModel {
+
+    // Rows per round trip; within a transaction the PostgreSQL driver then reads through a cursor
+    static final int FETCH_SIZE = 1000;
+
+    // The name path of the node aliased n, built from its ancestors' names; the root's own name is
+    // not part of any path
+    static final String NAME_PATH_SQL =
+        "CAST(COALESCE((SELECT '/' || string_agg(a.name, '/' ORDER BY c.depth DESC) || '/' " +
+        "FROM node_closure c JOIN nodes a ON a.id = c.ancestor_id " +
+        "WHERE c.descendant_id = n.id AND a.parent_id IS NOT NULL), '//') AS TEXT)";
+
+    // The sort key elements of the node aliased %1$s: its sibling rank, then its id as three
+    // non-negative bigints of 15, 15 and 2 hex digits, which order like the id itself and keep
+    // siblings of equal rank and their subtrees apart. Every node adds the same number of elements,
+    // so comparing keys compares level by level
+    private static final String SORT_KEY_SQL =
+        "%1$s.sort_rank, " +
+        "CAST(CAST('x' || lpad(substr(replace(CAST(%1$s.id AS TEXT), '-', ''), 1, 15), 16, '0') AS BIT(64)) AS BIGINT), " +
+        "CAST(CAST('x' || lpad(substr(replace(CAST(%1$s.id AS TEXT), '-', ''), 16, 15), 16, '0') AS BIT(64)) AS BIGINT), " +
+        "CAST(CAST('x' || lpad(substr(replace(CAST(%1$s.id AS TEXT), '-', ''), 31, 2), 16, '0') AS BIT(64)) AS BIGINT)";
+
+    // The depth-first order is keyed by the chain of sibling ranks and ids, and so is the top node's
+    // position, so siblings of equal rank keep one order. Name paths are not stored, so the walk
+    // builds them: the top node's from its ancestors' names, every other node's from its parent's.
+    // Tags are joined in, which repeats a node's row once per tag. Only the top node needs its
+    // position counted; below it positions follow from the walk.
+    private static final String TREE_ORDER_SQL =
+        "WITH RECURSIVE tree AS (" +
+        "  SELECT n.id, n.name, n.type, n.parent_id, " +
+        "    " + NAME_PATH_SQL + " AS path, " +
+        "    n.version, n.created_at, n.updated_at, " +
+        "    CASE WHEN n.parent_id IS NULL THEN NULL ELSE CAST((SELECT count(*) FROM nodes s " +
+        "      WHERE s.parent_id = n.parent_id AND (s.sort_rank, s.id) < (n.sort_rank, n.id)) AS INTEGER) END AS position, " +
+        "    ARRAY[" + String.format(SORT_KEY_SQL, "n") + "] AS sort_key " +
+        "  FROM (%s) n " +
+        "  UNION ALL " +
+        "  SELECT c.id, c.name, c.type, c.parent_id, " +
+        "    CAST(CASE WHEN t.parent_id IS NULL THEN '/' ELSE t.path END || c.name || '/' AS TEXT), " +
+        "    c.version, c.created_at, c.updated_at, " +
+        "    CAST(NULL AS INTEGER), t.sort_key || ARRAY[" + String.format(SORT_KEY_SQL, "c") + "] " +
+        "  FROM nodes c JOIN tree t ON c.parent_id = t.id" +
+        ") " +
+        "SELECT t.id, t.name, t.type, t.parent_id, t.path, t.position, t.version, t.created_at, t.updated_at, " +
+        "  g.tag_key, g.tag_value " +
+        "FROM tree t LEFT JOIN tags g ON g.node_id = t.id " +
+        "ORDER BY t.sort_key, g.tag_key";
+
+    private static final String ROOT_TREE_ORDER_SQL = String.format(TREE_ORDER_SQL,
+        "SELECT * FROM nodes WHERE parent_id IS NULL ORDER BY name = 'root' DESC LIMIT 1");
+
+    private static final String SUBTREE_ORDER_SQL = String.format(TREE_ORDER_SQL,
+        "SELECT * FROM nodes WHERE id = ?");
+
+    private static final String ID_PATH_SQL = "SELECT CAST(id_path AS TEXT) FROM nodes WHERE id = ?";
+
+    // Triggers on nodes and tags bump one slot per write (see the V16 migration), so the revision
+    // is the sum of all slots
+    private static final String REVISION_SQL = "SELECT CAST(SUM(revision) AS BIGINT) FROM tree_revision_slot";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    JdbcTreeReadModel(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // The revision is read before the rows, so they include every write it counts
+    @Override
+    public OptionalLong forEachNodeInTreeOrder(NodeId topId, Consumer<NodeView> visitor) {
+        long revision = currentRevision();
+        return forEachStoredNodeInTreeOrder(topId, visitor) ? OptionalLong.of(revision) : OptionalLong.empty();
+    }
+
+    // Every walk of this model reads through a cursor
+    @Override
+    public boolean forEachStoredNodeInTreeOrder(NodeId topId, Consumer<NodeView> visitor) {
+        TagCollectingHandler handler = new TagCollectingHandler(visitor);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(topId != null ? SUBTREE_ORDER_SQL : ROOT_TREE_ORDER_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            if (topId != null) {
+                ps.setObject(1, topId.getValue());
+            }
+            return ps;
+        }, handler);
+        return handler.finish();
+    }
+
+    @Override
+    public long currentRevision() {
+        return jdbcTemplate.queryForObject(REVISION_SQL, Long.class);
+    }
+
+    /**
+     * Returns the id path of a node, which the id paths of all its descendants extend, or
+     * {@code null} if there is no such node.
+     */
+    String findIdPath(NodeId id) {
+        return jdbcTemplate.query(ID_PATH_SQL, rs -> rs.next() ? rs.getString(1) : null, id.getValue());
+    }
+}
@@ -0,0 +1,74 @@
+package com.treevault.infrastructure.persistence.query;
+
+import com.treevault.application.query.NodeView;
+import com.treevault.domain.model.valueobject.NodeType;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Folds the consecutive rows of each node into one view, holding back only the current node
+ * until its last tag row has been read.
+ */
+final class TagCollectingHandler implements RowCallbackHandler {
+    private final Consumer<NodeView> visitor;
+    private UUID currentId;
+    private NodeView pending;
+    private Map<String, String> pendingTags;
+    private boolean visited;
+
+    TagCollectingHandler(Consumer<NodeView> visitor) {
+        this.visitor = visitor;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        UUID id = rs.getObject("id", UUID.class);
+        if (!id.equals(currentId)) {
+            flush();
+            Integer position = rs.getInt("position");
+            if (rs.wasNull()) {
+                position = null;
+            }
+            currentId = id;
+            pendingTags = new HashMap<>();
+            pending = new NodeView(
+                id,
+                rs.getString("name"),
+                NodeType.valueOf(rs.getString("type")),
+                rs.getObject("parent_id", UUID.class),
+                rs.getString("path"),
+                position,
+                rs.getLong("version"),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                pendingTags
+            );
+        }
+        String tagKey = rs.getString("tag_key");
+        if (tagKey != null) {
+            pendingTags.put(tagKey, rs.getString("tag_value"));
+        }
+    }
+
+    private void flush() {
+        if (pending != null) {
+            visitor.accept(pending);
+            visited = true;
+            pending = null;
+        }
+    }
+
+    /**
+     * Hands over the last node, and returns whether there was any.
+     */
+    boolean finish() {
+        flush();
+        return visited;
+    }
+}
@@ -0,0 +1,118 @@
+package com.treevault.infrastructure.persistence.query;
+
+import com.treevault.application.query.NodeView;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Immutable copy of the whole tree, or of the subtree below one node, as of one tree revision.
+ * <p>
+ * Nodes are kept in tree order, so every subtree is one contiguous range starting at its top node
+ * and can be walked without any lookup beyond finding that node. Every node carries its position.
+ */
+final class TreeSnapshot {
+
+    private final long revision;
+    private final NodeView[] nodes;
+    // Exclusive end of the range of each node's subtree
+    private final int[] subtreeEnds;
+    private final Map<UUID, Integer> indexById;
+
+    private TreeSnapshot(long revision, NodeView[] nodes, int[] subtreeEnds, Map<UUID, Integer> indexById) {
+        this.revision = revision;
+        this.nodes = nodes;
+        this.subtreeEnds = subtreeEnds;
+        this.indexById = indexById;
+    }
+
+    long getRevision() {
+        return revision;
+    }
+
+    int size() {
+        return nodes.length;
+    }
+
+    boolean contains(UUID id) {
+        return indexById.containsKey(id);
+    }
+
+    /**
+     * Returns the parent of the node the snapshot starts from, {@code null} for the root.
+     */
+    UUID getTopParentId() {
+        return nodes.length > 0 ? nodes[0].parentId() : null;
+    }
+
+    /**
+     * Visits a node and its subtree in tree order, as {@link JdbcTreeReadModel} would.
+     *
+     * @param topId the node to start from, or {@code null} for the one the snapshot starts from
+     * @return {@code false} if the snapshot does not contain the node
+     */
+    boolean forEachNodeInTreeOrder(UUID topId, Consumer<NodeView> visitor) {
+        Integer start = topId != null ? indexById.get(topId) : nodes.length > 0 ? 0 : null;
+        if (start == null) {
+            return false;
+        }
+        for (int i = start; i < subtreeEnds[start]; i++) {
+            visitor.accept(nodes[i]);
+        }
+        return true;
+    }
+
+    /**
+     * Collects the nodes of a tree order walk from any node.
+     */
+    static Builder builder(long revision) {
+        return new Builder(revision);
+    }
+
+    static final class Builder implements Consumer<NodeView> {
+        private final long revision;
+        private final List<NodeView> nodes = new ArrayList<>();
+        private final List<Integer> subtreeEnds = new ArrayList<>();
+        private final Map<UUID, Integer> indexById = new HashMap<>();
+        // Indexes of the nodes whose subtrees are still open, with their child counts so far
+        private final Deque<int[]> open = new ArrayDeque<>();
+
+        private Builder(long revision) {
+            this.revision = revision;
+        }
+
+        @Override
+        public void accept(NodeView node) {
+            Integer position = node.position();
+            if (!open.isEmpty()) {
+                while (!nodes.get(open.peek()[0]).id().equals(node.parentId())) {
+                    close();
+                }
+                position = open.peek()[1]++;
+            }
+            int index = nodes.size();
+            nodes.add(new NodeView(node.id(), node.name(), node.type(), node.parentId(), node.path(), position,
+                node.version(), node.createdAt(), node.updatedAt(), Map.copyOf(node.tags())));
+            subtreeEnds.add(index + 1);
+            indexById.put(node.id(), index);
+            open.push(new int[] {index, 0});
+        }
+
+        TreeSnapshot build() {
+            while (!open.isEmpty()) {
+                close();
+            }
+            return new TreeSnapshot(revision, nodes.toArray(new NodeView[0]),
+                subtreeEnds.stream().mapToInt(Integer::intValue).toArray(), indexById);
+        }
+
+        private void close() {
+            subtreeEnds.set(open.pop()[0], nodes.size());
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.treevault.infrastructure.persistence.repository;
 
 import com.treevault.infrastructure.persistence.entity.NodeJpaEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,11 +14,60 @@ import java.util.UUID;
 @Repository
 public interface JpaNodeRepository extends JpaRepository<NodeJpaEntity, UUID> {
     Optional<NodeJpaEntity> findByParentIdIsNull();
-    List<NodeJpaEntity> findByParentIdOrderByPosition(UUID parentId);
+    List<NodeJpaEntity> findByParentIdOrderBySortRank(UUID parentId);
+    List<NodeJpaEntity> findByParentIdInOrderBySortRank(Collection<UUID> parentIds);
+    List<NodeJpaEntity> findByParentIdAndSortRankGreaterThanOrderBySortRank(UUID parentId, long sortRank, Limit limit);
     boolean existsByParentIdAndName(UUID parentId, String name);
 
-    @Query("select n from NodeJpaEntity n where n.path like concat(:prefix, '%') order by n.depth desc")
-    List<NodeJpaEntity> findSubtreeByPathPrefixOrderByDepthDesc(@Param("prefix") String prefix);
+    /**
+     * Selects a node and its descendants through the {@code node_closure} pairs of the node, ordered
+     * so that siblings form one contiguous run.
+     */
+    @Query(value = "select n.* from nodes n join node_closure c on c.descendant_id = n.id " +
+        "where c.ancestor_id = :id order by n.parent_id, n.sort_rank", nativeQuery = true)
+    List<NodeJpaEntity> findSubtreeByAncestorIdOrderByParentIdAndSortRank(@Param("id") UUID ancestorId);
+
+    @Query(value = "select n.* from nodes n join node_closure c on c.descendant_id = n.id " +
+        "where c.ancestor_id = :id and c.depth <= :maxDistance order by n.parent_id, n.sort_rank", nativeQuery = true)
+    List<NodeJpaEntity> findSubtreeByAncestorIdAndMaxDistanceOrderByParentIdAndSortRank(
+        @Param("id") UUID ancestorId, @Param("maxDistance") int maxDistance);
+
+    @Query(value = "select n.* from nodes n join node_closure c on c.ancestor_id = n.id " +
+        "where c.descendant_id = :id and c.depth > 0", nativeQuery = true)
+    List<NodeJpaEntity> findAncestorsByDescendantId(@Param("id") UUID descendantId);
+
+    @Query(value = "select distinct n.* from nodes n join node_closure c on c.ancestor_id = n.id " +
+        "where c.descendant_id in (:ids) and c.depth > 0", nativeQuery = true)
+    List<NodeJpaEntity> findAncestorsByDescendantIdIn(@Param("ids") Collection<UUID> descendantIds);
+
+    @Query(value = "select exists (select 1 from node_closure " +
+        "where ancestor_id = :ancestorId and descendant_id = :id and depth > 0)", nativeQuery = true)
+    boolean existsByIdAndAncestorId(@Param("id") UUID id, @Param("ancestorId") UUID ancestorId);
+
+    @Query("select n from NodeJpaEntity n order by n.parent.id nulls first, n.sortRank")
+    List<NodeJpaEntity> findAllOrderByParentIdAndSortRank();
+
+    /**
+     * Derives the positions of the given nodes among their siblings, each with a range count on
+     * the {@code (parent_id, sort_rank)} index.
+     */
+    @Query(value = "select n.id as id, (select count(*) from nodes s " +
+        "where s.parent_id = n.parent_id and s.sort_rank < n.sort_rank) as position " +
+        "from nodes n where n.id in (:ids) and n.parent_id is not null", nativeQuery = true)
+    List<SiblingPosition> findSiblingPositionsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Returns those of the given nodes that have at least one child, probing the
+     * {@code (parent_id, sort_rank)} index once per node instead of counting.
+     */
+    @Query(value = "select p.id from nodes p where p.id in (:ids) " +
+        "and exists (select 1 from nodes c where c.parent_id = p.id)", nativeQuery = true)
+    List<UUID> findIdsWithChildrenByIdIn(@Param("ids") Collection<UUID> ids);
+
+    interface SiblingPosition {
+        UUID getId();
+        Long getPosition();
+    }
 
     Optional<NodeJpaEntity> findByParentIdIsNullAndName(String name);
 }
@@ -0,0 +1,42 @@
+-- Every (ancestor, descendant) pair of the tree, including each node paired with itself at depth 0,
+-- so that subtrees, ancestor chains and "is X inside Y" become equality lookups instead of path
+-- prefix scans. Rows go with either node through ON DELETE CASCADE.
+CREATE TABLE node_closure (
+    ancestor_id UUID NOT NULL REFERENCES nodes(id) ON DELETE CASCADE,
+    descendant_id UUID NOT NULL REFERENCES nodes(id) ON DELETE CASCADE,
+    depth INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+-- Ancestor chains are read by descendant, nearest first
+CREATE INDEX idx_node_closure_descendant ON node_closure(descendant_id, depth);
+
+-- Backfilled from parent_id alone, one distance at a time: each batch extends the pairs found in
+-- the previous one by one parent link, so no statement has to hold more than one level's worth of
+-- rows and the stored paths are not trusted
+DO $$
+DECLARE
+    distance INTEGER := 0;
+    inserted BIGINT;
+BEGIN
+    INSERT INTO node_closure (ancestor_id, descendant_id, depth)
+    SELECT id, id, 0 FROM nodes;
+
+    LOOP
+        INSERT INTO node_closure (ancestor_id, descendant_id, depth)
+        SELECT c.ancestor_id, n.id, distance + 1
+        FROM node_closure c
+        JOIN nodes n ON n.parent_id = c.descendant_id
+        WHERE c.depth = distance;
+
+        GET DIAGNOSTICS inserted = ROW_COUNT;
+        EXIT WHEN inserted = 0;
+        distance := distance + 1;
+    END LOOP;
+END;
+$$;
+
+ANALYZE node_closure;
+
+-- Depth-limited subtrees are bounded by the pair depth now, not by a path prefix scan
+DROP INDEX IF EXISTS idx_nodes_depth_path;
@@ -0,0 +1,34 @@
+-- A hierarchy key made of node ids rather than names: the ids of the root, ..., the parent and the
+-- node itself, as ltree labels (the UUID without its dashes). Renames never change it, and a GiST
+-- index answers "everything under X" (<@) and "everything above X" (@>) without pattern matching,
+-- so names containing LIKE wildcards need no escaping.
+CREATE EXTENSION IF NOT EXISTS ltree;
+
+ALTER TABLE nodes ADD COLUMN id_path ltree;
+
+-- Backfilled top down from parent_id, one level per statement
+DO $$
+DECLARE
+    updated BIGINT;
+BEGIN
+    UPDATE nodes SET id_path = text2ltree(replace(id::text, '-', ''))
+    WHERE parent_id IS NULL;
+
+    LOOP
+        UPDATE nodes n
+        SET id_path = p.id_path || text2ltree(replace(n.id::text, '-', ''))
+        FROM nodes p
+        WHERE n.parent_id = p.id AND n.id_path IS NULL AND p.id_path IS NOT NULL;
+
+        GET DIAGNOSTICS updated = ROW_COUNT;
+        EXIT WHEN updated = 0;
+    END LOOP;
+END;
+$$;
+
+ALTER TABLE nodes ALTER COLUMN id_path SET NOT NULL;
+
+CREATE INDEX idx_nodes_id_path ON nodes USING GIST (id_path);
+
+-- Nothing matches on the name path any more
+DROP INDEX IF EXISTS idx_nodes_path_pattern;
@@ -0,0 +1,5 @@
+-- The hierarchy is keyed by node ids alone (id_path and node_closure), so the name path and the
+-- depth no longer have to be stored. Both are derived from the ancestor chain when nodes are read,
+-- and renaming a folder writes only the folder's own row.
+ALTER TABLE nodes DROP COLUMN path;
+ALTER TABLE nodes DROP COLUMN depth;
@@ -0,0 +1,5 @@
+-- Tag search looks nodes up by key and value (see JdbcNodeSearch); a search for a key with any
+-- value uses the leading column, which makes the key-only index redundant
+CREATE INDEX idx_tags_key_value ON tags(tag_key, tag_value);
+
+DROP INDEX IF EXISTS idx_tags_key;
@@ -0,0 +1,5 @@
+-- Name search matches substrings (ILIKE) and similar words (<%) of node names, both of which a
+-- trigram index answers without scanning every name. pg_trgm ships with PostgreSQL.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_nodes_name_trgm ON nodes USING gin (name gin_trgm_ops);
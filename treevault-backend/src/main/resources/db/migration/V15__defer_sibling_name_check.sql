@@ -0,0 +1,5 @@
+-- Sibling names stay unique, but a transaction may postpone the check to its commit (SET
+-- CONSTRAINTS ... DEFERRED), so that a batch of operations can swap two names or reuse the name
+-- of a node it deletes. Without that the check still runs after every statement.
+ALTER TABLE nodes DROP CONSTRAINT uk_parent_name;
+ALTER TABLE nodes ADD CONSTRAINT uk_parent_name UNIQUE (parent_id, name) DEFERRABLE INITIALLY IMMEDIATE;
@@ -0,0 +1,26 @@
+-- Every write used to bump the single tree_revision row, and held its row lock until it committed,
+-- so writes queued behind one another however far apart in the tree they were. The counter is now
+-- spread over slots: a write bumps the slot of its backend process, and the revision is the sum of
+-- all slots. That sum still changes with every write, and only once the write has committed.
+CREATE TABLE tree_revision_slot (
+    slot SMALLINT PRIMARY KEY,
+    revision BIGINT NOT NULL
+);
+
+INSERT INTO tree_revision_slot (slot, revision)
+SELECT s, CASE WHEN s = 0 THEN (SELECT revision FROM tree_revision) ELSE 0 END
+FROM generate_series(0, 63) AS s;
+
+-- As in V9, apart from the slot
+CREATE OR REPLACE FUNCTION bump_tree_revision()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE tree_revision_slot SET revision = revision + 1 WHERE slot = pg_backend_pid() % 64;
+    IF current_setting('treevault.change_notified', true) IS DISTINCT FROM 'on' THEN
+        PERFORM pg_notify('treevault_changes', '');
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TABLE tree_revision;
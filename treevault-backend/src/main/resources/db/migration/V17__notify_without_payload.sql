@@ -0,0 +1,12 @@
+-- Change notifications no longer carry the affected node ids and paths: the tree caches hold the
+-- whole tree, so they drop everything on any change anyway. The application stops sending its own
+-- notifications, and every write gets the empty one below, which Postgres delivers once per
+-- transaction however many statements raise it.
+CREATE OR REPLACE FUNCTION bump_tree_revision()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE tree_revision_slot SET revision = revision + 1 WHERE slot = pg_backend_pid() % 64;
+    PERFORM pg_notify('treevault_changes', '');
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
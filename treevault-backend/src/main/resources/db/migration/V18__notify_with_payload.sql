@@ -0,0 +1,14 @@
+-- The application announces its writes again, with the ids of the affected nodes and the id paths
+-- of the moved, renamed or deleted ones, so that caches drop only what a write touched. As in V16,
+-- a transaction marked with the treevault.change_notified setting has been announced, and only any
+-- other write gets the empty notification, which listeners treat as "anything may have changed".
+CREATE OR REPLACE FUNCTION bump_tree_revision()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE tree_revision_slot SET revision = revision + 1 WHERE slot = pg_backend_pid() % 64;
+    IF current_setting('treevault.change_notified', true) IS DISTINCT FROM 'on' THEN
+        PERFORM pg_notify('treevault_changes', '');
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,17 @@
+-- Order siblings by a gapped rank instead of a dense position, so that inserting or moving a node
+-- writes only that node's row. Positions are derived from the rank order when nodes are read.
+ALTER TABLE nodes ADD COLUMN sort_rank BIGINT;
+
+-- Ranks are spaced 2^20 apart (Rank.GAP in the domain model)
+UPDATE nodes n
+SET sort_rank = r.sort_rank
+FROM (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY parent_id ORDER BY position, name) * 1048576 AS sort_rank
+    FROM nodes
+) r
+WHERE n.id = r.id;
+
+ALTER TABLE nodes ALTER COLUMN sort_rank SET NOT NULL;
+ALTER TABLE nodes DROP COLUMN position;
+
+CREATE INDEX idx_nodes_parent_sort_rank ON nodes(parent_id, sort_rank);
@@ -0,0 +1,3 @@
+-- Depth-limited tree fetches select a path prefix down to a maximum depth. From the root the prefix
+-- matches every row, so the depth bound is what keeps the scan to the requested levels.
+CREATE INDEX idx_nodes_depth_path ON nodes(depth, path text_pattern_ops);
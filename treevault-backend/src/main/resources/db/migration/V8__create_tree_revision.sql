@@ -0,0 +1,28 @@
+-- A single counter that changes whenever the tree does, so cached copies of the tree can tell
+-- whether they are still current with one primary key lookup.
+CREATE TABLE tree_revision (
+    id BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (id),
+    revision BIGINT NOT NULL
+);
+
+INSERT INTO tree_revision (id, revision) VALUES (TRUE, 0);
+
+-- Bumped by triggers rather than by the application, so that every write to the tree counts,
+-- including maintenance statements, and always in the writing transaction
+CREATE OR REPLACE FUNCTION bump_tree_revision()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE tree_revision SET revision = revision + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER bump_tree_revision_on_nodes
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON nodes
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION bump_tree_revision();
+
+CREATE TRIGGER bump_tree_revision_on_tags
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON tags
+    FOR EACH STATEMENT
+    EXECUTE FUNCTION bump_tree_revision();
@@ -0,0 +1,18 @@
+-- Tell other backend instances about every change to the tree, so they can drop cached copies
+-- without polling. Notifications are only delivered once the writing transaction commits, and
+-- identical ones within a transaction are delivered once.
+--
+-- The application announces its own writes with the affected node ids and path prefixes and marks
+-- the transaction with the treevault.change_notified setting. Any other write (maintenance
+-- statements, manual fixes) gets an empty payload, which listeners treat as "anything may have
+-- changed".
+CREATE OR REPLACE FUNCTION bump_tree_revision()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE tree_revision SET revision = revision + 1;
+    IF current_setting('treevault.change_notified', true) IS DISTINCT FROM 'on' THEN
+        PERFORM pg_notify('treevault_changes', '');
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
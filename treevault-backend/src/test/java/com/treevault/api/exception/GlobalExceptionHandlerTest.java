@@ -1,5 +1,7 @@
 package com.treevault.api.exception;
 
+import com.treevault.application.usecase.ExecuteBatchUseCase.BatchOperationException;
+import com.treevault.application.usecase.ImportNodesUseCase.ImportRecordException;
 import com.treevault.domain.exception.CircularReferenceException;
 import com.treevault.domain.exception.InvalidNodeOperationException;
 import com.treevault.domain.exception.NodeNotFoundException;
@@ -7,6 +9,7 @@ import com.treevault.domain.exception.NodeValidationException;
 import com.treevault.domain.model.valueobject.NodeId;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -48,6 +51,24 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody().getProperties()).containsKey("timestamp");
     }
     
+    @Test
+    @DisplayName("Should answer a conflict that outlasted its retries with 409")
+    void shouldHandleConcurrencyFailure() {
+        // Given
+        ObjectOptimisticLockingFailureException ex =
+            new ObjectOptimisticLockingFailureException(Object.class, NodeId.generate().getValue());
+        WebRequest request = createWebRequest("/api/v1/nodes");
+        
+        // When
+        ResponseEntity<ProblemDetail> response = handler.handleConcurrencyFailure(ex, request);
+        
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getTitle()).isEqualTo("Concurrent Modification");
+        assertThat(response.getBody().getType()).isEqualTo(URI.create("https://treevault.com/errors/concurrent-modification"));
+    }
+    
     @Test
     @DisplayName("Should include nodeId in ProblemDetail when available")
     void shouldIncludeNodeIdInProblemDetail() {
@@ -230,5 +251,40 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getDetail()).isEqualTo("An unexpected error occurred");
     }
+    
+    @Test
+    @DisplayName("Should answer a failed batch operation like its cause and name the operation")
+    void shouldHandleBatchOperationExceptionLikeItsCause() {
+        // Given
+        BatchOperationException ex = new BatchOperationException(
+            3, new NodeNotFoundException("Node not found: typo", "typo"));
+        WebRequest request = createWebRequest("/api/v1/batch");
+        
+        // When
+        ResponseEntity<ProblemDetail> response = handler.handleBatchOperationFailure(ex, request);
+        
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getTitle()).isEqualTo("Node Not Found");
+        assertThat(response.getBody().getProperties()).containsEntry("operationIndex", 3);
+        assertThat(response.getBody().getProperties()).containsEntry("nodeId", "typo");
+    }
+    
+    @Test
+    @DisplayName("Should answer a failed import record like its cause and name the record")
+    void shouldHandleImportRecordExceptionLikeItsCause() {
+        // Given
+        ImportRecordException ex = new ImportRecordException(
+            41, new NodeValidationException("Node name contains invalid characters"));
+        WebRequest request = createWebRequest("/api/v1/nodes/import");
+        
+        // When
+        ResponseEntity<ProblemDetail> response = handler.handleImportRecordFailure(ex, request);
+        
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getProperties()).containsEntry("recordIndex", 41L);
+    }
 }
-
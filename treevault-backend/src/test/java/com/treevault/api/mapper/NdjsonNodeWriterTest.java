@@ -0,0 +1,82 @@
+package com.treevault.api.mapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.treevault.application.query.NodeView;
+import com.treevault.domain.model.valueobject.NodeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NdjsonNodeWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should write one line per node and number siblings")
+    void shouldWriteOneLinePerNode() throws Exception {
+        // Given
+        NodeView top = view(UUID.randomUUID(), "Docs", NodeType.FOLDER, "/Docs/", 3);
+        NodeView folder = view(top.id(), "Reports", NodeType.FOLDER, "/Docs/Reports/", null);
+        NodeView nested = view(folder.id(), "q1.pdf", NodeType.FILE, "/Docs/Reports/q1.pdf/", null);
+        NodeView file = view(top.id(), "notes.txt", NodeType.FILE, "/Docs/notes.txt/", null);
+        StringWriter out = new StringWriter();
+
+        // When
+        NdjsonNodeWriter writer = new NdjsonNodeWriter(objectMapper.createGenerator(out));
+        writer.accept(top);
+        writer.accept(folder);
+        writer.accept(nested);
+        writer.accept(file);
+        writer.finish();
+
+        // Then
+        assertThat(out.toString()).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString().split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertThat(lines).hasSize(4);
+        assertThat(lines.get(0).get("id").asText()).isEqualTo(top.id().toString());
+        assertThat(lines.get(0).get("parentId").asText()).isEqualTo(top.parentId().toString());
+        assertThat(lines.get(0).get("position").asInt()).isEqualTo(3);
+        assertThat(lines.get(2).get("path").asText()).isEqualTo("/Docs/Reports/q1.pdf/");
+        assertThat(lines.get(2).get("type").asText()).isEqualTo("FILE");
+        assertThat(lines.get(2).get("position").asInt()).isZero();
+        assertThat(lines.get(2).get("tags").get("status").asText()).isEqualTo("active");
+        assertThat(lines.get(3).get("parentId").asText()).isEqualTo(top.id().toString());
+        assertThat(lines.get(3).get("position").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should write the root without a parent or position")
+    void shouldWriteRootWithoutParentOrPosition() throws Exception {
+        // Given
+        StringWriter out = new StringWriter();
+
+        // When
+        NdjsonNodeWriter writer = new NdjsonNodeWriter(objectMapper.createGenerator(out));
+        writer.accept(view(null, "root", NodeType.FOLDER, "//", null));
+        writer.finish();
+
+        // Then
+        JsonNode line = objectMapper.readTree(out.toString());
+        assertThat(line.get("parentId").isNull()).isTrue();
+        assertThat(line.get("position").isNull()).isTrue();
+        assertThat(line.get("tags").isEmpty()).isTrue();
+    }
+
+    private static NodeView view(UUID parentId, String name, NodeType type, String path, Integer position) {
+        Map<String, String> tags = type == NodeType.FILE ? Map.of("status", "active") : Map.of();
+        return new NodeView(UUID.randomUUID(), name, type, parentId, path, position, 1L,
+            LocalDateTime.of(2024, 1, 2, 3, 4, 5), LocalDateTime.of(2024, 1, 2, 3, 4, 5), tags);
+    }
+}
@@ -0,0 +1,74 @@
+package com.treevault.api.mapper;
+
+import com.treevault.api.dto.response.NodeResponse;
+import com.treevault.application.query.NodeView;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.model.valueobject.TagValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NodeResponseTreeBuilderTest {
+
+    private final ApiMapper apiMapper = new ApiMapper();
+
+    @Test
+    @DisplayName("Should build the same response as mapping the reconstructed domain tree")
+    void shouldBuildSameResponseAsMappingReconstructedDomainTree() {
+        // Given
+        Node root = Node.createRoot();
+        Node folder = Node.createFolder(NodeName.of("Folder"), root);
+        Node nested = Node.createFile(NodeName.of("nested.txt"), folder);
+        Node file = Node.createFile(NodeName.of("file.txt"), root);
+        file.addTag(TagKey.of("status"), TagValue.of("active"));
+
+        // When
+        NodeResponseTreeBuilder builder = new NodeResponseTreeBuilder(apiMapper);
+        builder.accept(view(root, null));
+        builder.accept(view(folder, null));
+        builder.accept(view(nested, null));
+        builder.accept(view(file, null));
+
+        // Then
+        assertThat(builder.getTop())
+            .usingRecursiveComparison()
+            .isEqualTo(apiMapper.toNodeResponseWithChildren(root));
+    }
+
+    @Test
+    @DisplayName("Should keep the derived position of the top node")
+    void shouldKeepDerivedPositionOfTopNode() {
+        // Given
+        Node root = Node.createRoot();
+        Node.createFolder(NodeName.of("First"), root);
+        Node second = Node.createFolder(NodeName.of("Second"), root);
+        Node child = Node.createFile(NodeName.of("child.txt"), second);
+
+        // When
+        NodeResponseTreeBuilder builder = new NodeResponseTreeBuilder(apiMapper);
+        builder.accept(view(second, 1));
+        builder.accept(view(child, null));
+
+        // Then
+        NodeResponse top = builder.getTop();
+        assertThat(top.getPosition()).isEqualTo(1);
+        assertThat(top.getChildren()).singleElement()
+            .satisfies(c -> assertThat(c.getPosition()).isZero());
+    }
+
+    private static NodeView view(Node node, Integer position) {
+        Map<String, String> tags = new HashMap<>();
+        node.getTags().forEach((key, tag) -> tags.put(key.getValue(), tag.getValue().getValue()));
+        UUID parentId = node.getParent().map(p -> p.getId().getValue()).orElse(null);
+        return new NodeView(node.getId().getValue(), node.getName().getValue(),
+            node.getType(), parentId,
+            node.getPath().toString(), position, node.getVersion(), node.getCreatedAt(), node.getUpdatedAt(), tags);
+    }
+}
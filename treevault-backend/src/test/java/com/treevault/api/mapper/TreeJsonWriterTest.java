@@ -0,0 +1,112 @@
+package com.treevault.api.mapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.treevault.api.dto.response.NodeResponse;
+import com.treevault.api.dto.response.TreeResponse;
+import com.treevault.application.query.NodeView;
+import com.treevault.domain.model.valueobject.NodeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TreeJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    @DisplayName("Should nest nodes arriving in tree order and number siblings")
+    void shouldNestNodesArrivingInTreeOrder() throws Exception {
+        // Given
+        NodeView root = view(null, "root", NodeType.FOLDER, "//");
+        NodeView folder = view(root.id(), "Folder", NodeType.FOLDER, "/Folder/");
+        NodeView nested = view(folder.id(), "nested.txt", NodeType.FILE, "/Folder/nested.txt/");
+        NodeView file = view(root.id(), "file.txt", NodeType.FILE, "/file.txt/");
+        StringWriter out = new StringWriter();
+
+        // When
+        TreeJsonWriter writer = new TreeJsonWriter(objectMapper.createGenerator(out));
+        writer.accept(root);
+        writer.accept(folder);
+        writer.accept(nested);
+        writer.accept(file);
+        writer.finish();
+
+        // Then
+        JsonNode json = objectMapper.readTree(out.toString());
+        assertThat(json.at("/root/id").asText()).isEqualTo(root.id().toString());
+        assertThat(json.at("/root/position").isNull()).isTrue();
+        assertThat(json.at("/root/children")).hasSize(2);
+        assertThat(json.at("/root/children/0/name").asText()).isEqualTo("Folder");
+        assertThat(json.at("/root/children/0/children/0/name").asText()).isEqualTo("nested.txt");
+        assertThat(json.at("/root/children/0/children/0/position").asInt()).isZero();
+        assertThat(json.at("/root/children/1/name").asText()).isEqualTo("file.txt");
+        assertThat(json.at("/root/children/1/position").asInt()).isEqualTo(1);
+        assertThat(json.at("/root/children/1/parentId").asText()).isEqualTo(root.id().toString());
+        assertThat(json.at("/root/children/1/tags/status").asText()).isEqualTo("active");
+        assertThat(json.at("/root/children/1/children")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should write the same properties as the mapped tree response")
+    void shouldWriteSamePropertiesAsMappedTreeResponse() throws Exception {
+        // Given
+        NodeView root = view(null, "root", NodeType.FOLDER, "//");
+        StringWriter out = new StringWriter();
+
+        // When
+        TreeJsonWriter writer = new TreeJsonWriter(objectMapper.createGenerator(out));
+        writer.accept(root);
+        writer.finish();
+
+        // Then
+        JsonNode streamed = objectMapper.readTree(out.toString()).get("root");
+        JsonNode mapped = objectMapper.valueToTree(new NodeResponse());
+        assertThat(iterableOf(streamed)).containsExactlyInAnyOrderElementsOf(iterableOf(mapped));
+        assertThat(streamed.get("createdAt").asText()).isEqualTo("2024-01-02T03:04:05");
+    }
+
+    @Test
+    @DisplayName("Should write exactly what Jackson writes for the mapped tree response")
+    void shouldWriteExactlyWhatJacksonWritesForMappedTreeResponse() throws Exception {
+        // Given
+        NodeView root = view(null, "root", NodeType.FOLDER, "//");
+        NodeView folder = view(root.id(), "Folder", NodeType.FOLDER, "/Folder/");
+        NodeView nested = view(folder.id(), "nested.txt", NodeType.FILE, "/Folder/nested.txt/");
+        NodeView file = view(root.id(), "file.txt", NodeType.FILE, "/file.txt/");
+        List<NodeView> tree = List.of(root, folder, nested, file);
+        StringWriter out = new StringWriter();
+
+        // When
+        TreeJsonWriter writer = new TreeJsonWriter(objectMapper.createGenerator(out));
+        tree.forEach(writer);
+        writer.finish();
+        NodeResponseTreeBuilder builder = new NodeResponseTreeBuilder(new ApiMapper());
+        tree.forEach(builder);
+
+        // Then
+        assertThat(out.toString()).isEqualTo(objectMapper.writeValueAsString(new TreeResponse(builder.getTop())));
+        assertThat(out.toString()).doesNotContain("hasChildren", "truncated");
+    }
+
+    private static Iterable<String> iterableOf(JsonNode node) {
+        return node::fieldNames;
+    }
+
+    private static NodeView view(UUID parentId, String name, NodeType type, String path) {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        Map<String, String> tags = type == NodeType.FILE ? Map.of("status", "active") : Map.of();
+        return new NodeView(UUID.randomUUID(), name, type, parentId, path, null, 0L, timestamp, timestamp, tags);
+    }
+}
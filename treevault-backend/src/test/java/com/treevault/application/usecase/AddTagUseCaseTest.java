@@ -7,6 +7,7 @@ import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
 import com.treevault.domain.model.valueobject.TagKey;
 import com.treevault.domain.model.valueobject.TagValue;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
 import com.treevault.domain.exception.NodeNotFoundException;
 import com.treevault.domain.exception.NodeValidationException;
@@ -27,11 +28,14 @@ class AddTagUseCaseTest extends BaseUnitTest {
     @Mock
     private NodeRepository nodeRepository;
     
+    @Mock
+    private NodeLocks nodeLocks;
+    
     private AddTagUseCase useCase;
     
     @BeforeEach
     void setUp() {
-        useCase = new AddTagUseCase(nodeRepository);
+        useCase = new AddTagUseCase(nodeRepository, nodeLocks);
     }
     
     @Test
@@ -48,7 +52,7 @@ class AddTagUseCaseTest extends BaseUnitTest {
             value
         );
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
@@ -76,7 +80,7 @@ class AddTagUseCaseTest extends BaseUnitTest {
             value
         );
         
-        when(nodeRepository.findById(nodeId)).thenReturn(Optional.empty());
+        when(nodeRepository.findWithAncestorsById(nodeId)).thenReturn(Optional.empty());
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
@@ -105,7 +109,7 @@ class AddTagUseCaseTest extends BaseUnitTest {
             newValue
         );
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
@@ -132,7 +136,7 @@ class AddTagUseCaseTest extends BaseUnitTest {
             newValue
         );
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
@@ -198,7 +202,7 @@ class AddTagUseCaseTest extends BaseUnitTest {
             value
         );
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
@@ -5,18 +5,22 @@ import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
 import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
 import com.treevault.domain.exception.InvalidNodeOperationException;
 import com.treevault.domain.exception.NodeNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import java.util.List;
 import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -27,11 +31,14 @@ class CreateNodeUseCaseTest extends BaseUnitTest {
     @Mock
     private NodeRepository nodeRepository;
     
+    @Mock
+    private NodeLocks nodeLocks;
+    
     private CreateNodeUseCase useCase;
     
     @BeforeEach
     void setUp() {
-        useCase = new CreateNodeUseCase(nodeRepository);
+        useCase = new CreateNodeUseCase(nodeRepository, nodeLocks);
     }
     
     @Test
@@ -45,7 +52,7 @@ class CreateNodeUseCaseTest extends BaseUnitTest {
             null
         );
         
-        when(nodeRepository.findRootNode()).thenReturn(Optional.empty());
+        when(nodeRepository.findRootNode(0)).thenReturn(Optional.empty());
         when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
@@ -59,6 +66,34 @@ class CreateNodeUseCaseTest extends BaseUnitTest {
         verify(nodeRepository).existsByParentAndName(any(NodeId.class), eq(NodeName.of("Documents")));
     }
     
+    @Test
+    @DisplayName("Should lock the existing root before loading its children")
+    void shouldLockExistingRootBeforeLoadingChildren() {
+        // Given
+        Node root = Node.createRoot();
+        CreateNodeUseCase.CreateNodeCommand command = new CreateNodeUseCase.CreateNodeCommand(
+            "Documents",
+            NodeType.FOLDER,
+            null,
+            null
+        );
+        
+        when(nodeRepository.findRootNode(0)).thenReturn(Optional.of(root));
+        when(nodeRepository.findById(root.getId())).thenReturn(Optional.of(root));
+        when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        Node result = useCase.execute(command);
+        
+        // Then
+        assertThat(result.getParent()).contains(root);
+        InOrder order = inOrder(nodeLocks, nodeRepository);
+        order.verify(nodeLocks).lockFolderMoves(List.of(), true);
+        order.verify(nodeLocks).lock(List.of(root.getId()), List.of());
+        order.verify(nodeRepository).findById(root.getId());
+        order.verify(nodeRepository).save(result);
+    }
+    
     @Test
     @DisplayName("Should create file node with parent successfully")
     void shouldCreateFileNodeWithParentSuccessfully() {
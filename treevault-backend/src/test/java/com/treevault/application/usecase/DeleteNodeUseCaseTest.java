@@ -4,6 +4,7 @@ import com.treevault.BaseUnitTest;
 import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
 import com.treevault.domain.exception.InvalidNodeOperationException;
 import com.treevault.domain.exception.NodeNotFoundException;
@@ -25,11 +26,14 @@ class DeleteNodeUseCaseTest extends BaseUnitTest {
     @Mock
     private NodeRepository nodeRepository;
     
+    @Mock
+    private NodeLocks nodeLocks;
+    
     private DeleteNodeUseCase useCase;
     
     @BeforeEach
     void setUp() {
-        useCase = new DeleteNodeUseCase(nodeRepository);
+        useCase = new DeleteNodeUseCase(nodeRepository, nodeLocks);
     }
     
     @Test
@@ -39,14 +43,14 @@ class DeleteNodeUseCaseTest extends BaseUnitTest {
         Node root = Node.createRoot();
         Node node = Node.createFolder(NodeName.of("ToDelete"), root);
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         doNothing().when(nodeRepository).delete(any(Node.class));
         
         // When
         useCase.execute(node.getId());
         
         // Then
-        verify(nodeRepository).findById(node.getId());
+        verify(nodeRepository).findWithAncestorsById(node.getId());
         verify(nodeRepository).delete(node);
     }
     
@@ -59,7 +63,7 @@ class DeleteNodeUseCaseTest extends BaseUnitTest {
         Node file1 = Node.createFile(NodeName.of("file1.txt"), folder);
         Node file2 = Node.createFile(NodeName.of("file2.txt"), folder);
         
-        when(nodeRepository.findById(folder.getId())).thenReturn(Optional.of(folder));
+        when(nodeRepository.findWithAncestorsById(folder.getId())).thenReturn(Optional.of(folder));
         doNothing().when(nodeRepository).delete(any(Node.class));
         
         // When
@@ -76,7 +80,7 @@ class DeleteNodeUseCaseTest extends BaseUnitTest {
         // Given
         NodeId nodeId = NodeId.generate();
         
-        when(nodeRepository.findById(nodeId)).thenReturn(Optional.empty());
+        when(nodeRepository.findWithAncestorsById(nodeId)).thenReturn(Optional.empty());
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(nodeId))
@@ -93,7 +97,7 @@ class DeleteNodeUseCaseTest extends BaseUnitTest {
         Node root = Node.createRoot();
         Node child = Node.createFolder(NodeName.of("Child"), root);
         
-        when(nodeRepository.findById(root.getId())).thenReturn(Optional.of(root));
+        when(nodeRepository.findWithAncestorsById(root.getId())).thenReturn(Optional.of(root));
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(root.getId()))
@@ -109,7 +113,7 @@ class DeleteNodeUseCaseTest extends BaseUnitTest {
         // Given
         Node root = Node.createRoot();
         
-        when(nodeRepository.findById(root.getId())).thenReturn(Optional.of(root));
+        when(nodeRepository.findWithAncestorsById(root.getId())).thenReturn(Optional.of(root));
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(root.getId()))
@@ -128,7 +132,7 @@ class DeleteNodeUseCaseTest extends BaseUnitTest {
         Node level2 = Node.createFolder(NodeName.of("Level2"), level1);
         Node level3 = Node.createFolder(NodeName.of("Level3"), level2);
         
-        when(nodeRepository.findById(level1.getId())).thenReturn(Optional.of(level1));
+        when(nodeRepository.findWithAncestorsById(level1.getId())).thenReturn(Optional.of(level1));
         doNothing().when(nodeRepository).delete(any(Node.class));
         
         // When
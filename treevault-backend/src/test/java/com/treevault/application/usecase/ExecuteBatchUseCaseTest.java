@@ -0,0 +1,251 @@
+package com.treevault.application.usecase;
+
+import com.treevault.BaseUnitTest;
+import com.treevault.application.usecase.ExecuteBatchUseCase.BatchOperation;
+import com.treevault.application.usecase.ExecuteBatchUseCase.BatchOperationException;
+import com.treevault.application.usecase.ExecuteBatchUseCase.OperationResult;
+import com.treevault.domain.exception.InvalidNodeOperationException;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.repository.NodeLocks;
+import com.treevault.domain.repository.NodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExecuteBatchUseCaseTest extends BaseUnitTest {
+
+    @Mock
+    private NodeRepository nodeRepository;
+    
+    @Mock
+    private NodeLocks nodeLocks;
+
+    private ExecuteBatchUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ExecuteBatchUseCase(nodeRepository, nodeLocks);
+    }
+
+    @Test
+    @DisplayName("Should resolve references declared by earlier creates")
+    void shouldResolveReferencesDeclaredByEarlierCreates() {
+        // Given
+        Node root = stored(Node.createRoot());
+        Node docs = stored(Node.createFolder(NodeName.of("Docs"), root));
+        givenStoredTree(root);
+
+        List<BatchOperation> operations = List.of(
+            BatchOperation.create("reports", docs.getId().toString(), "Reports", NodeType.FOLDER, null),
+            BatchOperation.create("q1", "reports", "q1.pdf", NodeType.FILE, Map.of("quarter", "1")),
+            BatchOperation.addTag("q1", "status", "draft"),
+            BatchOperation.rename("reports", "Quarterly")
+        );
+
+        // When
+        List<OperationResult> results = useCase.execute(operations);
+
+        // Then
+        Node reports = results.get(0).getNode();
+        Node file = results.get(1).getNode();
+        assertThat(reports.getName().getValue()).isEqualTo("Quarterly");
+        assertThat(reports.getParent()).contains(docs);
+        assertThat(file.getParent()).contains(reports);
+        assertThat(file.getTags()).containsKeys(TagKey.of("quarter"), TagKey.of("status"));
+        verify(nodeRepository).findAllById(Set.of(docs.getId()));
+        verify(nodeRepository).save(root, List.of());
+    }
+
+    @Test
+    @DisplayName("Should load the root once when creating top-level folders")
+    void shouldLoadRootOnceWhenCreatingTopLevelFolders() {
+        // Given
+        Node root = stored(Node.createRoot());
+        givenStoredTree(root);
+        when(nodeRepository.findRootNode(0)).thenReturn(Optional.of(root));
+
+        List<BatchOperation> operations = List.of(
+            BatchOperation.create(null, null, "Projects", NodeType.FOLDER, null),
+            BatchOperation.create(null, null, "Archive", NodeType.FOLDER, null)
+        );
+
+        // When
+        List<OperationResult> results = useCase.execute(operations);
+
+        // Then
+        assertThat(results).extracting(OperationResult::getNode)
+            .allSatisfy(node -> assertThat(node.getParent()).contains(root));
+        verify(nodeRepository).findAllById(Set.of(root.getId()));
+        verify(nodeRepository).save(root, List.of());
+    }
+
+    @Test
+    @DisplayName("Should report the index of the failing operation and write nothing")
+    void shouldReportIndexOfFailingOperationAndWriteNothing() {
+        // Given
+        Node root = stored(Node.createRoot());
+        Node docs = stored(Node.createFolder(NodeName.of("Docs"), root));
+        givenStoredTree(root);
+
+        List<BatchOperation> operations = List.of(
+            BatchOperation.create(null, docs.getId().toString(), "a.txt", NodeType.FILE, null),
+            BatchOperation.create(null, docs.getId().toString(), "a.txt", NodeType.FILE, null)
+        );
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(operations))
+            .isInstanceOfSatisfying(BatchOperationException.class, e -> {
+                assertThat(e.getOperationIndex()).isEqualTo(1);
+                assertThat(e.getCause()).isInstanceOf(InvalidNodeOperationException.class);
+            });
+        verify(nodeRepository, never()).save(any(Node.class), anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should reject references that are neither ids nor declared")
+    void shouldRejectUndeclaredReferences() {
+        // Given
+        List<BatchOperation> operations = List.of(
+            BatchOperation.create("folder", null, "Projects", NodeType.FOLDER, null),
+            BatchOperation.rename("typo", "Renamed")
+        );
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(operations))
+            .isInstanceOfSatisfying(BatchOperationException.class, e -> {
+                assertThat(e.getOperationIndex()).isEqualTo(1);
+                assertThat(e.getCause()).isInstanceOf(NodeNotFoundException.class);
+            });
+        verify(nodeRepository, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should reject operations on nodes deleted earlier in the batch")
+    void shouldRejectOperationsOnDeletedNodes() {
+        // Given
+        Node root = stored(Node.createRoot());
+        Node docs = stored(Node.createFolder(NodeName.of("Docs"), root));
+        Node file = stored(Node.createFile(NodeName.of("a.txt"), docs));
+        givenStoredTree(root);
+
+        List<BatchOperation> operations = List.of(
+            BatchOperation.delete(docs.getId().toString()),
+            BatchOperation.rename(file.getId().toString(), "b.txt")
+        );
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(operations))
+            .isInstanceOfSatisfying(BatchOperationException.class, e -> {
+                assertThat(e.getOperationIndex()).isEqualTo(1);
+                assertThat(e.getCause()).isInstanceOf(NodeNotFoundException.class);
+            });
+    }
+
+    @Test
+    @DisplayName("Should delete stored nodes of the subtree but keep nodes moved out of it")
+    @SuppressWarnings("unchecked")
+    void shouldDeleteStoredSubtreeButKeepNodesMovedOut() {
+        // Given
+        Node root = stored(Node.createRoot());
+        Node docs = stored(Node.createFolder(NodeName.of("Docs"), root));
+        Node keep = stored(Node.createFile(NodeName.of("keep.txt"), docs));
+        Node drop = stored(Node.createFile(NodeName.of("drop.txt"), docs));
+        givenStoredTree(root);
+
+        List<BatchOperation> operations = List.of(
+            BatchOperation.move(keep.getId().toString(), root.getId().toString(), null),
+            BatchOperation.create(null, docs.getId().toString(), "new.txt", NodeType.FILE, null),
+            BatchOperation.delete(docs.getId().toString())
+        );
+
+        // When
+        List<OperationResult> results = useCase.execute(operations);
+
+        // Then
+        ArgumentCaptor<Collection<Node>> deleted = ArgumentCaptor.forClass(Collection.class);
+        verify(nodeRepository).save(eq(root), deleted.capture());
+        assertThat(deleted.getValue()).containsExactlyInAnyOrder(docs, drop);
+        assertThat(keep.getParent()).contains(root);
+        assertThat(results.get(2).isDeleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should lock the referenced nodes and their parents before loading them")
+    void shouldLockReferencedNodesBeforeLoading() {
+        // Given
+        Node root = stored(Node.createRoot());
+        Node docs = stored(Node.createFolder(NodeName.of("Docs"), root));
+        Node file = stored(Node.createFile(NodeName.of("a.txt"), docs));
+        givenStoredTree(root);
+
+        List<BatchOperation> operations = List.of(
+            BatchOperation.create("new", docs.getId().toString(), "New", NodeType.FOLDER, null),
+            BatchOperation.move(file.getId().toString(), "new", null)
+        );
+
+        // When
+        useCase.execute(operations);
+
+        // Then
+        Set<NodeId> ids = Set.of(docs.getId(), file.getId());
+        InOrder order = inOrder(nodeLocks, nodeRepository);
+        order.verify(nodeLocks).lockFolderMoves(Set.of(file.getId()), true);
+        order.verify(nodeLocks).lock(ids, ids);
+        order.verify(nodeRepository).findAllById(ids);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch")
+    void shouldRejectEmptyBatch() {
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(List.of()))
+            .isInstanceOf(InvalidNodeOperationException.class)
+            .hasMessageContaining("between 1 and");
+    }
+
+    private static Node stored(Node node) {
+        node.markPersisted(1L);
+        return node;
+    }
+
+    private void givenStoredTree(Node root) {
+        when(nodeRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<NodeId> ids = invocation.getArgument(0);
+            Map<NodeId, Node> found = new HashMap<>();
+            Deque<Node> pending = new ArrayDeque<>(List.of(root));
+            while (!pending.isEmpty()) {
+                Node current = pending.pop();
+                if (ids.contains(current.getId())) {
+                    found.put(current.getId(), current);
+                }
+                current.getChildren().forEach(pending::push);
+            }
+            return found;
+        });
+    }
+}
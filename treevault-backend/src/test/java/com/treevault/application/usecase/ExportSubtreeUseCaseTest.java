@@ -0,0 +1,79 @@
+package com.treevault.application.usecase;
+
+import com.treevault.BaseUnitTest;
+import com.treevault.application.query.NodeView;
+import com.treevault.application.query.TreeReadModel;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.repository.NodeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ExportSubtreeUseCaseTest extends BaseUnitTest {
+
+    @Mock
+    private TreeReadModel treeReadModel;
+
+    @Mock
+    private NodeRepository nodeRepository;
+
+    @InjectMocks
+    private ExportSubtreeUseCase exportSubtreeUseCase;
+
+    @Test
+    @DisplayName("Should read the subtree from the store rather than the in-memory copy")
+    void shouldReadSubtreeFromStore() {
+        // Given
+        NodeId nodeId = NodeId.of(UUID.randomUUID());
+        Consumer<NodeView> visitor = view -> { };
+        when(treeReadModel.forEachStoredNodeInTreeOrder(nodeId, visitor)).thenReturn(true);
+
+        // When
+        exportSubtreeUseCase.execute(nodeId, visitor);
+
+        // Then
+        verify(treeReadModel).forEachStoredNodeInTreeOrder(nodeId, visitor);
+        verify(treeReadModel, never()).forEachNodeInTreeOrder(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw NodeNotFoundException when the subtree has no top node")
+    void shouldThrowWhenSubtreeHasNoTopNode() {
+        // Given
+        NodeId nodeId = NodeId.of(UUID.randomUUID());
+        when(treeReadModel.forEachStoredNodeInTreeOrder(any(), any())).thenReturn(false);
+
+        // When/Then
+        assertThatThrownBy(() -> exportSubtreeUseCase.execute(nodeId, view -> { }))
+            .isInstanceOf(NodeNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should check that the node exists before the export starts")
+    void shouldCheckThatNodeExists() {
+        // Given
+        Node root = Node.createRoot();
+        NodeId missing = NodeId.of(UUID.randomUUID());
+        when(nodeRepository.findWithAncestorsById(root.getId())).thenReturn(Optional.of(root));
+        when(nodeRepository.findWithAncestorsById(missing)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatCode(() -> exportSubtreeUseCase.checkExists(root.getId())).doesNotThrowAnyException();
+        assertThatThrownBy(() -> exportSubtreeUseCase.checkExists(missing))
+            .isInstanceOf(NodeNotFoundException.class);
+    }
+}
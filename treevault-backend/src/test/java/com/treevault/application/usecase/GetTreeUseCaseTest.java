@@ -1,16 +1,20 @@
 package com.treevault.application.usecase;
 
 import com.treevault.BaseUnitTest;
+import com.treevault.domain.exception.InvalidNodeOperationException;
 import com.treevault.domain.exception.NodeNotFoundException;
 import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeName;
 import com.treevault.domain.repository.NodeRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,6 +23,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class GetTreeUseCaseTest extends BaseUnitTest {
@@ -111,14 +116,14 @@ class GetTreeUseCaseTest extends BaseUnitTest {
         // Given
         NodeId nodeId = NodeId.of(UUID.randomUUID());
         Node node = Node.createRoot();
-        when(nodeRepository.findById(nodeId)).thenReturn(Optional.of(node));
+        when(nodeRepository.findSubtreeById(nodeId)).thenReturn(Optional.of(node));
 
         // When
         Node result = getTreeUseCase.getNode(nodeId);
 
         // Then
         assertThat(result).isEqualTo(node);
-        verify(nodeRepository).findById(nodeId);
+        verify(nodeRepository).findSubtreeById(nodeId);
     }
 
     @Test
@@ -126,14 +131,14 @@ class GetTreeUseCaseTest extends BaseUnitTest {
     void shouldThrowExceptionWhenNodeNotFound() {
         // Given
         NodeId nodeId = NodeId.of(UUID.randomUUID());
-        when(nodeRepository.findById(nodeId)).thenReturn(Optional.empty());
+        when(nodeRepository.findSubtreeById(nodeId)).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> getTreeUseCase.getNode(nodeId))
             .isInstanceOf(NodeNotFoundException.class)
             .hasMessageContaining("Node not found: " + nodeId);
         
-        verify(nodeRepository).findById(nodeId);
+        verify(nodeRepository).findSubtreeById(nodeId);
     }
 
     @Test
@@ -152,4 +157,54 @@ class GetTreeUseCaseTest extends BaseUnitTest {
         assertThat(result.getType()).isNotNull();
         assertThat(result.getId()).isNotNull();
     }
+
+    @Test
+    @DisplayName("Should mark folders on the last fetched level that have children as truncated")
+    void shouldMarkFoldersOnLastLevelWithChildrenAsTruncated() {
+        // Given
+        Node root = Node.createRoot();
+        Node folder = Node.createFolder(NodeName.of("Folder"), root);
+        Node empty = Node.createFolder(NodeName.of("Empty"), root);
+        Node file = Node.createFile(NodeName.of("file.txt"), root);
+        when(nodeRepository.findRootNode(1)).thenReturn(Optional.of(root));
+        when(nodeRepository.findIdsWithChildren(List.of(folder.getId(), empty.getId())))
+            .thenReturn(Set.of(folder.getId()));
+
+        // When
+        GetTreeUseCase.TreeSlice slice = getTreeUseCase.execute(null, 1);
+
+        // Then
+        assertThat(slice.getRoot()).isEqualTo(root);
+        assertThat(slice.isTruncated(folder)).isTrue();
+        assertThat(slice.isTruncated(empty)).isFalse();
+        assertThat(slice.isTruncated(file)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fetch a depth-limited tree below the given node")
+    void shouldFetchDepthLimitedTreeBelowGivenNode() {
+        // Given
+        Node root = Node.createRoot();
+        Node folder = Node.createFolder(NodeName.of("Folder"), root);
+        when(nodeRepository.findSubtreeById(folder.getId(), 0)).thenReturn(Optional.of(folder));
+        when(nodeRepository.findIdsWithChildren(List.of(folder.getId()))).thenReturn(Set.of());
+
+        // When
+        GetTreeUseCase.TreeSlice slice = getTreeUseCase.execute(folder.getId(), 0);
+
+        // Then
+        assertThat(slice.getRoot()).isEqualTo(folder);
+        assertThat(slice.isTruncated(folder)).isFalse();
+        verify(nodeRepository, never()).findSubtreeById(folder.getId());
+    }
+
+    @Test
+    @DisplayName("Should reject negative depth")
+    void shouldRejectNegativeDepth() {
+        // When/Then
+        assertThatThrownBy(() -> getTreeUseCase.execute(null, -1))
+            .isInstanceOf(InvalidNodeOperationException.class)
+            .hasMessageContaining("Depth must not be negative");
+        verifyNoInteractions(nodeRepository);
+    }
 }
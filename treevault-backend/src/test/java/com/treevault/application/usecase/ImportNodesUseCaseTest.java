@@ -0,0 +1,162 @@
+package com.treevault.application.usecase;
+
+import com.treevault.BaseUnitTest;
+import com.treevault.application.usecase.ImportNodesUseCase.ImportNodeCommand;
+import com.treevault.application.usecase.ImportNodesUseCase.ImportRecordException;
+import com.treevault.application.usecase.ImportNodesUseCase.ImportResult;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.exception.NodeValidationException;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.model.valueobject.NodePath;
+import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.model.valueobject.TagValue;
+import com.treevault.domain.repository.NodeImporter;
+import com.treevault.domain.repository.NodeImporter.NodeRecord;
+import com.treevault.domain.repository.NodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImportNodesUseCaseTest extends BaseUnitTest {
+
+    @Mock
+    private NodeRepository nodeRepository;
+
+    @Mock
+    private NodeImporter nodeImporter;
+
+    private ImportNodesUseCase useCase;
+
+    private final Node root = Node.createRoot();
+    private final List<NodeRecord> imported = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ImportNodesUseCase(nodeRepository, nodeImporter);
+    }
+
+    @Test
+    @DisplayName("Should hand validated records to the importer")
+    void shouldHandValidatedRecordsToImporter() {
+        // Given
+        givenImporter();
+        List<ImportNodeCommand> commands = List.of(
+            new ImportNodeCommand("/Projects/", NodeType.FOLDER, null),
+            new ImportNodeCommand("/Projects/plan.md", NodeType.FILE, Map.of("status", "draft"))
+        );
+
+        // When
+        ImportResult result = useCase.execute(commands.iterator());
+
+        // Then
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(imported).extracting(NodeRecord::parentPath)
+            .containsExactly(NodePath.root(), NodePath.of("/Projects/"));
+        assertThat(imported.get(1).name()).isEqualTo(NodeName.of("plan.md"));
+        assertThat(imported.get(1).tags()).containsEntry(TagKey.of("status"), TagValue.of("draft"));
+        verify(nodeImporter).importNodes(eq(root.getId()), any());
+    }
+
+    @Test
+    @DisplayName("Should create the root when importing into an empty tree")
+    void shouldCreateRootWhenTreeIsEmpty() {
+        // Given
+        when(nodeRepository.findRootNode(0)).thenReturn(Optional.empty());
+        when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(nodeImporter.importNodes(any(NodeId.class), any())).thenReturn(0L);
+
+        // When
+        ImportResult result = useCase.execute(List.<ImportNodeCommand>of().iterator());
+
+        // Then
+        assertThat(result.getImported()).isZero();
+        verify(nodeRepository).save(any(Node.class));
+    }
+
+    @Test
+    @DisplayName("Should report the index of an invalid record")
+    void shouldReportIndexOfInvalidRecord() {
+        // Given
+        givenImporter();
+        List<ImportNodeCommand> commands = List.of(
+            new ImportNodeCommand("/Projects", NodeType.FOLDER, null),
+            new ImportNodeCommand("/Projects/a:b.txt", NodeType.FILE, null)
+        );
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(commands.iterator()))
+            .isInstanceOfSatisfying(ImportRecordException.class, e -> {
+                assertThat(e.getRecordIndex()).isEqualTo(1);
+                assertThat(e.getCause()).isInstanceOf(NodeValidationException.class);
+            });
+    }
+
+    @Test
+    @DisplayName("Should reject files at the top level")
+    void shouldRejectFilesAtTopLevel() {
+        // Given
+        givenImporter();
+        List<ImportNodeCommand> commands = List.of(new ImportNodeCommand("/notes.txt", NodeType.FILE, null));
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(commands.iterator()))
+            .isInstanceOf(ImportRecordException.class)
+            .hasMessageContaining("Files must have a parent folder");
+    }
+
+    @Test
+    @DisplayName("Should attribute importer failures to the last record read")
+    void shouldAttributeImporterFailuresToLastRecordRead() {
+        // Given
+        when(nodeRepository.findRootNode(0)).thenReturn(Optional.of(root));
+        when(nodeImporter.importNodes(any(NodeId.class), any())).thenAnswer(invocation -> {
+            Iterator<NodeRecord> records = invocation.getArgument(1);
+            records.next();
+            records.next();
+            throw new NodeNotFoundException("Parent folder not found: /Missing/");
+        });
+        List<ImportNodeCommand> commands = List.of(
+            new ImportNodeCommand("/Projects", NodeType.FOLDER, null),
+            new ImportNodeCommand("/Missing/plan.md", NodeType.FILE, null)
+        );
+
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(commands.iterator()))
+            .isInstanceOfSatisfying(ImportRecordException.class, e -> {
+                assertThat(e.getRecordIndex()).isEqualTo(1);
+                assertThat(e.getCause()).isInstanceOf(NodeNotFoundException.class);
+            });
+    }
+
+    @Test
+    @DisplayName("Should compute throughput from the elapsed time")
+    void shouldComputeThroughput() {
+        assertThat(new ImportResult(5000, Duration.ofMillis(500)).getNodesPerSecond()).isEqualTo(10000);
+    }
+
+    // The importer drains the records it is given, as the real one does
+    private void givenImporter() {
+        when(nodeRepository.findRootNode(0)).thenReturn(Optional.of(root));
+        when(nodeImporter.importNodes(any(NodeId.class), any())).thenAnswer(invocation -> {
+            Iterator<NodeRecord> records = invocation.getArgument(1);
+            records.forEachRemaining(imported::add);
+            return (long) imported.size();
+        });
+    }
+}
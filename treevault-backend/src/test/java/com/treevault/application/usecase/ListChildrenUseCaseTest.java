@@ -0,0 +1,104 @@
+package com.treevault.application.usecase;
+
+import com.treevault.BaseUnitTest;
+import com.treevault.domain.exception.InvalidNodeOperationException;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.repository.NodeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ListChildrenUseCaseTest extends BaseUnitTest {
+
+    @Mock
+    private NodeRepository nodeRepository;
+
+    @InjectMocks
+    private ListChildrenUseCase listChildrenUseCase;
+
+    @Test
+    @DisplayName("Should return a page with a cursor when more children follow")
+    void shouldReturnPageWithCursorWhenMoreChildrenFollow() {
+        // Given
+        Node root = Node.createRoot();
+        Node first = Node.createFolder(NodeName.of("First"), root);
+        Node second = Node.createFile(NodeName.of("second.txt"), root);
+        Node.createFile(NodeName.of("third.txt"), root);
+        when(nodeRepository.findChildrenPageById(root.getId(), null, 3)).thenReturn(Optional.of(root));
+        when(nodeRepository.findIdsWithChildren(List.of(first.getId()))).thenReturn(Set.of(first.getId()));
+
+        // When
+        ListChildrenUseCase.ChildrenPage page = listChildrenUseCase.execute(
+            new ListChildrenUseCase.ListChildrenQuery(root.getId(), null, 2));
+
+        // Then
+        assertThat(page.getChildren()).containsExactly(first, second);
+        assertThat(page.getNextCursor()).isEqualTo(second.getRank());
+        assertThat(page.hasChildren(first)).isTrue();
+        assertThat(page.hasChildren(second)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should return no cursor on the last page")
+    void shouldReturnNoCursorOnLastPage() {
+        // Given
+        Node root = Node.createRoot();
+        Node only = Node.createFile(NodeName.of("only.txt"), root);
+        when(nodeRepository.findChildrenPageById(root.getId(), null, 3)).thenReturn(Optional.of(root));
+        when(nodeRepository.findIdsWithChildren(List.of())).thenReturn(Set.of());
+
+        // When
+        ListChildrenUseCase.ChildrenPage page = listChildrenUseCase.execute(
+            new ListChildrenUseCase.ListChildrenQuery(root.getId(), null, 2));
+
+        // Then
+        assertThat(page.getChildren()).containsExactly(only);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should throw NodeNotFoundException when parent doesn't exist")
+    void shouldThrowWhenParentNotFound() {
+        // Given
+        NodeId parentId = NodeId.of(UUID.randomUUID());
+        when(nodeRepository.findChildrenPageById(any(), any(), anyInt())).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> listChildrenUseCase.execute(
+            new ListChildrenUseCase.ListChildrenQuery(parentId, null, 50)))
+            .isInstanceOf(NodeNotFoundException.class)
+            .hasMessageContaining("Node not found: " + parentId);
+        verify(nodeRepository).findChildrenPageById(parentId, null, 51);
+    }
+
+    @Test
+    @DisplayName("Should reject page limit out of range")
+    void shouldRejectPageLimitOutOfRange() {
+        // Given
+        NodeId parentId = NodeId.of(UUID.randomUUID());
+
+        // When/Then
+        assertThatThrownBy(() -> listChildrenUseCase.execute(
+            new ListChildrenUseCase.ListChildrenQuery(parentId, null, 0)))
+            .isInstanceOf(InvalidNodeOperationException.class)
+            .hasMessageContaining("Page limit must be between 1 and");
+        verifyNoInteractions(nodeRepository);
+    }
+}
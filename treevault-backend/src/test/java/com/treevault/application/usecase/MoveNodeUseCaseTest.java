@@ -5,6 +5,7 @@ import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
 import com.treevault.domain.model.valueobject.Position;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
 import com.treevault.domain.exception.CircularReferenceException;
 import com.treevault.domain.exception.InvalidNodeOperationException;
@@ -13,11 +14,19 @@ import com.treevault.domain.exception.NodeValidationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.BeforeEach;
+import org.mockito.InOrder;
 import org.mockito.Mock;
-import java.util.Optional;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -27,11 +36,14 @@ class MoveNodeUseCaseTest extends BaseUnitTest {
     @Mock
     private NodeRepository nodeRepository;
     
+    @Mock
+    private NodeLocks nodeLocks;
+    
     private MoveNodeUseCase useCase;
     
     @BeforeEach
     void setUp() {
-        useCase = new MoveNodeUseCase(nodeRepository);
+        useCase = new MoveNodeUseCase(nodeRepository, nodeLocks);
     }
     
     @Test
@@ -49,7 +61,7 @@ class MoveNodeUseCaseTest extends BaseUnitTest {
             Position.of(0)
         );
         
-        when(nodeRepository.findRootNode()).thenReturn(Optional.of(root));
+        givenStoredTree(root);
         when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
@@ -62,6 +74,33 @@ class MoveNodeUseCaseTest extends BaseUnitTest {
         verify(nodeRepository).save(any(Node.class));
     }
     
+    @Test
+    @DisplayName("Should lock both parents before checking and loading anything")
+    void shouldLockBothParentsBeforeLoading() {
+        // Given
+        Node root = Node.createRoot();
+        Node folder1 = Node.createFolder(NodeName.of("Folder1"), root);
+        Node folder2 = Node.createFolder(NodeName.of("Folder2"), root);
+        MoveNodeUseCase.MoveNodeCommand command = new MoveNodeUseCase.MoveNodeCommand(
+            folder1.getId(),
+            folder2.getId(),
+            Position.of(0)
+        );
+        
+        givenStoredTree(root);
+        when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        // When
+        useCase.execute(command);
+        
+        // Then
+        InOrder order = inOrder(nodeLocks, nodeRepository);
+        order.verify(nodeLocks).lockFolderMoves(List.of(folder1.getId()), false);
+        order.verify(nodeLocks).lock(List.of(folder2.getId()), List.of(folder1.getId()));
+        order.verify(nodeRepository).isDescendantOf(folder2.getId(), folder1.getId());
+        order.verify(nodeRepository).findAllById(anyCollection());
+    }
+    
     @Test
     @DisplayName("Should fail when node not found")
     void shouldFailWhenNodeNotFound() {
@@ -75,7 +114,7 @@ class MoveNodeUseCaseTest extends BaseUnitTest {
             Position.of(0)
         );
         
-        when(nodeRepository.findRootNode()).thenReturn(Optional.of(root));
+        givenStoredTree(root);
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
@@ -96,7 +135,7 @@ class MoveNodeUseCaseTest extends BaseUnitTest {
             Position.of(0)
         );
         
-        when(nodeRepository.findRootNode()).thenReturn(Optional.of(root));
+        givenStoredTree(root);
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
@@ -119,7 +158,7 @@ class MoveNodeUseCaseTest extends BaseUnitTest {
             Position.of(0)
         );
         
-        when(nodeRepository.findRootNode()).thenReturn(Optional.of(root));
+        givenStoredTree(root);
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
@@ -129,6 +168,28 @@ class MoveNodeUseCaseTest extends BaseUnitTest {
         verify(nodeRepository, never()).save(any(Node.class));
     }
     
+    @Test
+    @DisplayName("Should refuse a move into the node's own subtree before loading anything")
+    void shouldRefuseMoveIntoOwnSubtreeBeforeLoadingAnything() {
+        // Given
+        NodeId nodeId = NodeId.generate();
+        NodeId descendantId = NodeId.generate();
+        MoveNodeUseCase.MoveNodeCommand command = new MoveNodeUseCase.MoveNodeCommand(
+            nodeId,
+            descendantId,
+            Position.of(0)
+        );
+        when(nodeRepository.isDescendantOf(descendantId, nodeId)).thenReturn(true);
+        
+        // When/Then
+        assertThatThrownBy(() -> useCase.execute(command))
+            .isInstanceOf(CircularReferenceException.class)
+            .hasMessageContaining("Cannot move node to its own descendant");
+        
+        verify(nodeRepository, never()).findAllById(anyCollection());
+        verify(nodeRepository, never()).save(any(Node.class));
+    }
+    
     @Test
     @DisplayName("Should prevent moving node to itself")
     void shouldPreventMovingNodeToItself() {
@@ -142,7 +203,7 @@ class MoveNodeUseCaseTest extends BaseUnitTest {
             Position.of(0)
         );
         
-        when(nodeRepository.findRootNode()).thenReturn(Optional.of(root));
+        givenStoredTree(root);
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
@@ -168,7 +229,7 @@ class MoveNodeUseCaseTest extends BaseUnitTest {
             Position.of(0)
         );
         
-        when(nodeRepository.findRootNode()).thenReturn(Optional.of(root));
+        givenStoredTree(root);
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
@@ -193,7 +254,7 @@ class MoveNodeUseCaseTest extends BaseUnitTest {
             Position.of(0)
         );
         
-        when(nodeRepository.findRootNode()).thenReturn(Optional.of(root));
+        givenStoredTree(root);
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
@@ -225,5 +286,21 @@ class MoveNodeUseCaseTest extends BaseUnitTest {
             .isInstanceOf(NodeValidationException.class)
             .hasMessageContaining("Position exceeds maximum");
     }
+    
+    // Serves findAllById from an in-memory tree, like the adapter's shared neighbourhood graph
+    private void givenStoredTree(Node root) {
+        when(nodeRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<NodeId> ids = invocation.getArgument(0);
+            Map<NodeId, Node> found = new HashMap<>();
+            Deque<Node> pending = new ArrayDeque<>(List.of(root));
+            while (!pending.isEmpty()) {
+                Node current = pending.pop();
+                if (ids.contains(current.getId())) {
+                    found.put(current.getId(), current);
+                }
+                current.getChildren().forEach(pending::push);
+            }
+            return found;
+        });
+    }
 }
-
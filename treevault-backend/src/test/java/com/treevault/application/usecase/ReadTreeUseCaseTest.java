@@ -0,0 +1,128 @@
+package com.treevault.application.usecase;
+
+import com.treevault.BaseUnitTest;
+import com.treevault.application.query.NodeView;
+import com.treevault.application.query.TreeReadModel;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.repository.NodeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadTreeUseCaseTest extends BaseUnitTest {
+
+    @Mock
+    private TreeReadModel treeReadModel;
+
+    @Mock
+    private NodeRepository nodeRepository;
+
+    @InjectMocks
+    private ReadTreeUseCase readTreeUseCase;
+
+    @Test
+    @DisplayName("Should read the stored tree into the visitor")
+    void shouldReadStoredTreeIntoVisitor() {
+        // Given
+        Consumer<NodeView> visitor = view -> { };
+        when(treeReadModel.forEachNodeInTreeOrder(null, visitor)).thenReturn(OptionalLong.of(7L));
+
+        // When
+        long revision = readTreeUseCase.execute(visitor);
+
+        // Then
+        assertThat(revision).isEqualTo(7L);
+        verify(treeReadModel).forEachNodeInTreeOrder(null, visitor);
+        verify(nodeRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should create the root and read it when there is none")
+    void shouldCreateRootAndReadItWhenThereIsNone() {
+        // Given
+        Consumer<NodeView> visitor = view -> { };
+        when(treeReadModel.forEachNodeInTreeOrder(null, visitor)).thenReturn(OptionalLong.empty(), OptionalLong.of(1L));
+
+        // When
+        readTreeUseCase.execute(visitor);
+
+        // Then
+        verify(nodeRepository).save(any(Node.class));
+        verify(treeReadModel, times(2)).forEachNodeInTreeOrder(null, visitor);
+    }
+
+    @Test
+    @DisplayName("Should read the whole tree from the store when asked to")
+    void shouldReadWholeTreeFromStore() {
+        // Given
+        Consumer<NodeView> visitor = view -> { };
+        when(treeReadModel.forEachStoredNodeInTreeOrder(null, visitor)).thenReturn(true);
+
+        // When
+        readTreeUseCase.executeStored(visitor);
+
+        // Then
+        verify(treeReadModel, never()).forEachNodeInTreeOrder(any(), any());
+        verify(nodeRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should fail to read a missing node's subtree from the store")
+    void shouldFailToReadMissingSubtreeFromStore() {
+        // Given
+        NodeId nodeId = NodeId.of(UUID.randomUUID());
+        Consumer<NodeView> visitor = view -> { };
+        when(treeReadModel.forEachStoredNodeInTreeOrder(nodeId, visitor)).thenReturn(false);
+
+        // When/Then
+        assertThatThrownBy(() -> readTreeUseCase.executeStored(nodeId, visitor))
+            .isInstanceOf(NodeNotFoundException.class);
+        verify(nodeRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should read the subtree below the given node")
+    void shouldReadSubtreeBelowGivenNode() {
+        // Given
+        NodeId nodeId = NodeId.of(UUID.randomUUID());
+        Consumer<NodeView> visitor = view -> { };
+        when(treeReadModel.forEachNodeInTreeOrder(nodeId, visitor)).thenReturn(OptionalLong.of(7L));
+
+        // When
+        long revision = readTreeUseCase.execute(nodeId, visitor);
+
+        // Then
+        assertThat(revision).isEqualTo(7L);
+        verify(treeReadModel).forEachNodeInTreeOrder(nodeId, visitor);
+        verify(nodeRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should throw NodeNotFoundException when the node to read doesn't exist")
+    void shouldThrowWhenNodeToReadNotFound() {
+        // Given
+        NodeId nodeId = NodeId.of(UUID.randomUUID());
+        Consumer<NodeView> visitor = view -> { };
+        when(treeReadModel.forEachNodeInTreeOrder(nodeId, visitor)).thenReturn(OptionalLong.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> readTreeUseCase.execute(nodeId, visitor))
+            .isInstanceOf(NodeNotFoundException.class)
+            .hasMessageContaining("Node not found: " + nodeId);
+    }
+}
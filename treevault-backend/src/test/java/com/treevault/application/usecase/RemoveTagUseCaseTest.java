@@ -6,6 +6,7 @@ import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
 import com.treevault.domain.model.valueobject.TagKey;
 import com.treevault.domain.model.valueobject.TagValue;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
 import com.treevault.domain.exception.NodeNotFoundException;
 import com.treevault.domain.exception.NodeValidationException;
@@ -26,11 +27,14 @@ class RemoveTagUseCaseTest extends BaseUnitTest {
     @Mock
     private NodeRepository nodeRepository;
     
+    @Mock
+    private NodeLocks nodeLocks;
+    
     private RemoveTagUseCase useCase;
     
     @BeforeEach
     void setUp() {
-        useCase = new RemoveTagUseCase(nodeRepository);
+        useCase = new RemoveTagUseCase(nodeRepository, nodeLocks);
     }
     
     @Test
@@ -42,7 +46,7 @@ class RemoveTagUseCaseTest extends BaseUnitTest {
         TagValue value = TagValue.of("engineering");
         node.addTag(key, value);
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
@@ -60,7 +64,7 @@ class RemoveTagUseCaseTest extends BaseUnitTest {
         NodeId nodeId = NodeId.generate();
         TagKey key = TagKey.of("department");
         
-        when(nodeRepository.findById(nodeId)).thenReturn(Optional.empty());
+        when(nodeRepository.findWithAncestorsById(nodeId)).thenReturn(Optional.empty());
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(nodeId, key))
@@ -79,7 +83,7 @@ class RemoveTagUseCaseTest extends BaseUnitTest {
         TagKey missingKey = TagKey.of("missing");
         node.addTag(existingKey, TagValue.of("value"));
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(node.getId(), missingKey))
@@ -102,7 +106,7 @@ class RemoveTagUseCaseTest extends BaseUnitTest {
         node.addTag(key2, TagValue.of("active"));
         node.addTag(key3, TagValue.of("high"));
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
@@ -124,7 +128,7 @@ class RemoveTagUseCaseTest extends BaseUnitTest {
         node.addTag(key, TagValue.of("engineering"));
         
         TagKey removeKey = TagKey.of("department"); // Lowercase
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
@@ -157,7 +161,7 @@ class RemoveTagUseCaseTest extends BaseUnitTest {
         TagKey key = TagKey.of("only");
         node.addTag(key, TagValue.of("value"));
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
@@ -0,0 +1,187 @@
+package com.treevault.application.usecase;
+
+import com.treevault.BaseUnitTest;
+import com.treevault.application.query.NodeSearch;
+import com.treevault.application.query.NodeSearchCriteria;
+import com.treevault.application.query.NodeView;
+import com.treevault.application.query.SearchCursor;
+import com.treevault.application.query.SearchHit;
+import com.treevault.application.query.TagFilter;
+import com.treevault.domain.exception.InvalidNodeOperationException;
+import com.treevault.domain.exception.NodeNotFoundException;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.model.valueobject.TagValue;
+import com.treevault.domain.repository.NodeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class SearchNodesUseCaseTest extends BaseUnitTest {
+
+    private static final List<TagFilter> FILTERS = List.of(
+        new TagFilter(TagKey.of("env"), TagValue.of("prod")),
+        TagFilter.anyValue(TagKey.of("team"))
+    );
+
+    @Mock
+    private NodeSearch nodeSearch;
+
+    @Mock
+    private NodeRepository nodeRepository;
+
+    @InjectMocks
+    private SearchNodesUseCase searchNodesUseCase;
+
+    @Test
+    @DisplayName("Should return a page with a cursor when more matches follow")
+    void shouldReturnPageWithCursorWhenMoreMatchesFollow() {
+        // Given
+        NodeView first = view("first");
+        NodeView second = view("second");
+        NodeSearchCriteria criteria = new NodeSearchCriteria(null, FILTERS, null);
+        when(nodeSearch.find(criteria, null, 3)).thenReturn(List.of(
+            new SearchHit(first, null), new SearchHit(second, null), new SearchHit(view("third"), null)));
+
+        // When
+        SearchNodesUseCase.SearchPage page = searchNodesUseCase.execute(
+            new SearchNodesUseCase.SearchNodesQuery(null, FILTERS, null, null, 2));
+
+        // Then
+        assertThat(page.getNodes()).containsExactly(first, second);
+        assertThat(page.getNextCursor()).isEqualTo(new SearchCursor(second.id(), null));
+    }
+
+    @Test
+    @DisplayName("Should return no cursor on the last page")
+    void shouldReturnNoCursorOnLastPage() {
+        // Given
+        NodeId withinId = NodeId.of(UUID.randomUUID());
+        SearchCursor after = new SearchCursor(UUID.randomUUID(), null);
+        NodeView only = view("only");
+        when(nodeSearch.find(new NodeSearchCriteria(null, FILTERS, withinId), after, 3))
+            .thenReturn(List.of(new SearchHit(only, null)));
+
+        // When
+        SearchNodesUseCase.SearchPage page = searchNodesUseCase.execute(
+            new SearchNodesUseCase.SearchNodesQuery(null, FILTERS, withinId, after, 2));
+
+        // Then
+        assertThat(page.getNodes()).containsExactly(only);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return an empty page when nothing in an existing subtree matches")
+    void shouldReturnEmptyPageWhenNothingInExistingSubtreeMatches() {
+        // Given
+        Node root = Node.createRoot();
+        when(nodeSearch.find(new NodeSearchCriteria(null, FILTERS, root.getId()), null, 51)).thenReturn(List.of());
+        when(nodeRepository.findWithAncestorsById(root.getId())).thenReturn(Optional.of(root));
+
+        // When
+        SearchNodesUseCase.SearchPage page = searchNodesUseCase.execute(
+            new SearchNodesUseCase.SearchNodesQuery(null, FILTERS, root.getId(), null, 50));
+
+        // Then
+        assertThat(page.getNodes()).isEmpty();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should throw NodeNotFoundException when the node to search within doesn't exist")
+    void shouldThrowWhenNodeToSearchWithinNotFound() {
+        // Given
+        NodeId withinId = NodeId.of(UUID.randomUUID());
+        when(nodeSearch.find(new NodeSearchCriteria(null, FILTERS, withinId), null, 51)).thenReturn(List.of());
+        when(nodeRepository.findWithAncestorsById(withinId)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> searchNodesUseCase.execute(
+            new SearchNodesUseCase.SearchNodesQuery(null, FILTERS, withinId, null, 50)))
+            .isInstanceOf(NodeNotFoundException.class)
+            .hasMessageContaining("Node not found: " + withinId);
+    }
+
+    @Test
+    @DisplayName("Should reject a search without text or tag filters")
+    void shouldRejectSearchWithoutTextOrTagFilters() {
+        // When/Then
+        assertThatThrownBy(() -> searchNodesUseCase.execute(
+            new SearchNodesUseCase.SearchNodesQuery("  ", List.of(), null, null, 50)))
+            .isInstanceOf(InvalidNodeOperationException.class)
+            .hasMessageContaining("needs a text or at least one tag filter");
+        verifyNoInteractions(nodeSearch);
+    }
+
+    @Test
+    @DisplayName("Should rank a text search and key its cursor by rank")
+    void shouldRankTextSearchAndKeyItsCursorByRank() {
+        // Given
+        NodeView best = view("report.pdf");
+        NodeView next = view("reports");
+        when(nodeSearch.find(new NodeSearchCriteria("report", List.of(), null), null, 2)).thenReturn(List.of(
+            new SearchHit(best, 2.0f), new SearchHit(next, 1.5f)));
+
+        // When
+        SearchNodesUseCase.SearchPage page = searchNodesUseCase.execute(
+            new SearchNodesUseCase.SearchNodesQuery(" report ", List.of(), null, null, 1));
+
+        // Then
+        assertThat(page.getNodes()).containsExactly(best);
+        assertThat(page.getNextCursor()).isEqualTo(new SearchCursor(best.id(), 2.0f));
+    }
+
+    @Test
+    @DisplayName("Should reject a search text too short for the trigram index")
+    void shouldRejectSearchTextTooShort() {
+        // When/Then
+        assertThatThrownBy(() -> searchNodesUseCase.execute(
+            new SearchNodesUseCase.SearchNodesQuery("ab", List.of(), null, null, 50)))
+            .isInstanceOf(InvalidNodeOperationException.class)
+            .hasMessageContaining("at least " + SearchNodesUseCase.MIN_TEXT_LENGTH);
+        verifyNoInteractions(nodeSearch);
+    }
+
+    @Test
+    @DisplayName("Should reject an unranked cursor for a ranked search")
+    void shouldRejectUnrankedCursorForRankedSearch() {
+        // When/Then
+        assertThatThrownBy(() -> searchNodesUseCase.execute(new SearchNodesUseCase.SearchNodesQuery(
+            "report", List.of(), null, new SearchCursor(UUID.randomUUID(), null), 50)))
+            .isInstanceOf(InvalidNodeOperationException.class)
+            .hasMessageContaining("Cursor");
+        verifyNoInteractions(nodeSearch);
+    }
+
+    @Test
+    @DisplayName("Should reject a page limit out of range")
+    void shouldRejectPageLimitOutOfRange() {
+        // When/Then
+        assertThatThrownBy(() -> searchNodesUseCase.execute(
+            new SearchNodesUseCase.SearchNodesQuery(null, FILTERS, null, null, SearchNodesUseCase.MAX_LIMIT + 1)))
+            .isInstanceOf(InvalidNodeOperationException.class)
+            .hasMessageContaining("Page limit");
+        verifyNoInteractions(nodeSearch);
+    }
+
+    private static NodeView view(String name) {
+        LocalDateTime now = LocalDateTime.now();
+        return new NodeView(UUID.randomUUID(), name, NodeType.FILE, UUID.randomUUID(), "/" + name,
+            null, 0L, now, now, Map.of("env", "prod"));
+    }
+}
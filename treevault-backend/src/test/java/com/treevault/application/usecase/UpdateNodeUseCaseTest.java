@@ -4,6 +4,7 @@ import com.treevault.BaseUnitTest;
 import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.repository.NodeLocks;
 import com.treevault.domain.repository.NodeRepository;
 import com.treevault.domain.exception.InvalidNodeOperationException;
 import com.treevault.domain.exception.NodeNotFoundException;
@@ -16,6 +17,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -24,11 +26,14 @@ class UpdateNodeUseCaseTest extends BaseUnitTest {
     @Mock
     private NodeRepository nodeRepository;
     
+    @Mock
+    private NodeLocks nodeLocks;
+    
     private UpdateNodeUseCase useCase;
     
     @BeforeEach
     void setUp() {
-        useCase = new UpdateNodeUseCase(nodeRepository);
+        useCase = new UpdateNodeUseCase(nodeRepository, nodeLocks);
     }
     
     @Test
@@ -41,7 +46,7 @@ class UpdateNodeUseCaseTest extends BaseUnitTest {
             "NewName"
         );
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
@@ -63,7 +68,7 @@ class UpdateNodeUseCaseTest extends BaseUnitTest {
             "NewName"
         );
         
-        when(nodeRepository.findById(nodeId)).thenReturn(Optional.empty());
+        when(nodeRepository.findWithAncestorsById(nodeId)).thenReturn(Optional.empty());
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
@@ -84,12 +89,14 @@ class UpdateNodeUseCaseTest extends BaseUnitTest {
             "Child1"
         );
         
-        when(nodeRepository.findById(node2.getId())).thenReturn(Optional.of(node2));
+        when(nodeRepository.findWithAncestorsById(node2.getId())).thenReturn(Optional.of(node2));
+        when(nodeRepository.existsByParentAndName(parent.getId(), NodeName.of("Child1"))).thenReturn(true);
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
             .isInstanceOf(InvalidNodeOperationException.class)
             .hasMessageContaining("already exists");
+        verify(nodeRepository, never()).save(any(Node.class));
     }
     
     @Test
@@ -102,7 +109,7 @@ class UpdateNodeUseCaseTest extends BaseUnitTest {
             ""  // Empty name
         );
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
@@ -120,7 +127,7 @@ class UpdateNodeUseCaseTest extends BaseUnitTest {
             "invalid/name"
         );
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         
         // When/Then
         assertThatThrownBy(() -> useCase.execute(command))
@@ -138,7 +145,7 @@ class UpdateNodeUseCaseTest extends BaseUnitTest {
             "SameName"
         );
         
-        when(nodeRepository.findById(node.getId())).thenReturn(Optional.of(node));
+        when(nodeRepository.findWithAncestorsById(node.getId())).thenReturn(Optional.of(node));
         when(nodeRepository.save(any(Node.class))).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
@@ -0,0 +1,88 @@
+package com.treevault.application.usecase;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UseCaseRetryExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UseCaseRetryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new UseCaseRetryExecutor(meterRegistry, 3, Duration.ofMillis(1), Duration.ofMillis(2));
+    }
+
+    @Test
+    @DisplayName("Should run the use case again after a conflict and return its result")
+    void shouldRetryAfterConflict() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        String result = executor.execute(MoveNodeUseCase.class, () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw conflict();
+            }
+            return "moved";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("moved");
+        assertThat(calls).hasValue(2);
+        assertThat(count("treevault.usecase.conflicts")).isEqualTo(1);
+        assertThat(count("treevault.usecase.retries")).isEqualTo(1);
+        assertThat(meterRegistry.get("treevault.usecase.attempts").tag("usecase", "MoveNodeUseCase")
+            .summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should pass the conflict on once the attempts are used up")
+    void shouldPassConflictOnWhenAttemptsAreUsedUp() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When/Then
+        assertThatThrownBy(() -> executor.run(MoveNodeUseCase.class, () -> {
+            calls.incrementAndGet();
+            throw new CannotAcquireLockException("deadlock detected");
+        })).isInstanceOf(CannotAcquireLockException.class);
+        assertThat(calls).hasValue(3);
+        assertThat(count("treevault.usecase.conflicts")).isEqualTo(3);
+        assertThat(count("treevault.usecase.retries")).isEqualTo(2);
+        assertThat(count("treevault.usecase.retries.exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not retry failures other than conflicts")
+    void shouldNotRetryOtherFailures() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When/Then
+        assertThatThrownBy(() -> executor.run(MoveNodeUseCase.class, () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("broken");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.find("treevault.usecase.conflicts").counter()).isNull();
+    }
+
+    private double count(String meter) {
+        return meterRegistry.get(meter).tag("usecase", "MoveNodeUseCase").counter().count();
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict() {
+        return new ObjectOptimisticLockingFailureException(Object.class, UUID.randomUUID());
+    }
+}
@@ -1,9 +1,13 @@
 package com.treevault.domain.model;
 
 import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeChange;
+import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.model.valueobject.NodePath;
 import com.treevault.domain.model.valueobject.NodeType;
 import com.treevault.domain.model.valueobject.Position;
+import com.treevault.domain.model.valueobject.Rank;
 import com.treevault.domain.model.valueobject.TagKey;
 import com.treevault.domain.model.valueobject.TagValue;
 import com.treevault.domain.exception.CircularReferenceException;
@@ -12,6 +16,7 @@ import com.treevault.domain.exception.NodeValidationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
+import java.time.LocalDateTime;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -455,5 +460,150 @@ class NodeTest {
             assertThat(node.getTags()).hasSize(50);
         }
     }
+    
+    @Nested
+    @DisplayName("Change Tracking")
+    class ChangeTracking {
+        
+        @Test
+        @DisplayName("Should record creation of new nodes")
+        void shouldRecordCreationOfNewNodes() {
+            // Given
+            Node root = Node.createRoot();
+            
+            // When
+            Node folder = Node.createFolder(NodeName.of("Folder"), root);
+            
+            // Then
+            assertThat(folder.getPendingChanges()).containsExactly(NodeChange.CREATED);
+        }
+        
+        @Test
+        @DisplayName("Should start reconstructed nodes without changes")
+        void shouldStartReconstructedNodesWithoutChanges() {
+            // Given
+            Node root = reconstructed("root", null, null);
+            Node folder = reconstructed("Folder", root, 0);
+            
+            // When
+            folder.addTagForReconstruction(TagKey.of("status"), TagValue.of("active"));
+            
+            // Then
+            assertThat(folder.hasPendingChanges()).isFalse();
+            assertThat(folder.getVersion()).isEqualTo(3L);
+        }
+        
+        @Test
+        @DisplayName("Should record rename and tag changes only on the changed node")
+        void shouldRecordRenameAndTagChangesOnlyOnChangedNode() {
+            // Given
+            Node root = reconstructed("root", null, null);
+            Node folder = reconstructed("Folder", root, 0);
+            Node sibling = reconstructed("Sibling", root, 1);
+            
+            // When
+            folder.rename(NodeName.of("Renamed"));
+            folder.addTag(TagKey.of("status"), TagValue.of("active"));
+            
+            // Then
+            assertThat(folder.getPendingChanges()).containsExactlyInAnyOrder(NodeChange.RENAMED, NodeChange.TAGS_CHANGED);
+            assertThat(root.hasPendingChanges()).isFalse();
+            assertThat(sibling.hasPendingChanges()).isFalse();
+        }
+        
+        @Test
+        @DisplayName("Should record move without touching shifted siblings")
+        void shouldRecordMoveWithoutTouchingShiftedSiblings() {
+            // Given
+            Node root = reconstructed("root", null, null);
+            Node source = reconstructed("Source", root, 0);
+            Node target = reconstructed("Target", root, 1);
+            Node first = reconstructed("first.txt", source, 0);
+            Node second = reconstructed("second.txt", source, 1);
+            Node existing = reconstructed("existing.txt", target, 0);
+            
+            // When
+            first.moveTo(target, Position.of(1));
+            
+            // Then
+            assertThat(first.getPendingChanges()).containsExactlyInAnyOrder(NodeChange.MOVED, NodeChange.REPOSITIONED);
+            assertThat(first.getRank()).isGreaterThan(existing.getRank());
+            assertThat(second.getPosition().getValue()).isZero();
+            assertThat(second.hasPendingChanges()).isFalse();
+            assertThat(existing.hasPendingChanges()).isFalse();
+            assertThat(source.hasPendingChanges()).isFalse();
+            assertThat(target.hasPendingChanges()).isFalse();
+        }
+        
+        @Test
+        @DisplayName("Should rank a reordered node between its new neighbours")
+        void shouldRankReorderedNodeBetweenNewNeighbours() {
+            // Given
+            Node root = reconstructed("root", null, null);
+            Node first = reconstructed("First", root, 0);
+            Node second = reconstructed("Second", root, 1);
+            Node third = reconstructed("Third", root, 2);
+            
+            // When
+            third.moveTo(root, Position.of(1));
+            
+            // Then
+            assertThat(root.getChildren()).containsExactly(first, third, second);
+            assertThat(third.getRank()).isGreaterThan(first.getRank()).isLessThan(second.getRank());
+            assertThat(third.getPendingChanges()).containsExactly(NodeChange.REPOSITIONED);
+            assertThat(second.getPosition().getValue()).isEqualTo(2);
+            assertThat(first.hasPendingChanges()).isFalse();
+            assertThat(second.hasPendingChanges()).isFalse();
+        }
+        
+        @Test
+        @DisplayName("Should respace siblings when neighbouring ranks leave no room")
+        void shouldRespaceSiblingsWhenNeighbouringRanksLeaveNoRoom() {
+            // Given
+            Node root = reconstructed("root", null, null);
+            Node first = reconstructedWithRank("First", root, Rank.of(1));
+            Node second = reconstructedWithRank("Second", root, Rank.of(2));
+            Node third = reconstructedWithRank("Third", root, Rank.of(3));
+            
+            // When
+            third.moveTo(root, Position.of(1));
+            
+            // Then
+            assertThat(root.getChildren()).extracting(Node::getRank)
+                .containsExactly(Rank.atIndex(0), Rank.atIndex(1), Rank.atIndex(2));
+            assertThat(root.getChildren()).allMatch(n -> n.getPendingChanges().contains(NodeChange.REPOSITIONED));
+        }
+        
+        @Test
+        @DisplayName("Should clear changes and adopt stored version when persisted")
+        void shouldClearChangesAndAdoptStoredVersionWhenPersisted() {
+            // Given
+            Node root = reconstructed("root", null, null);
+            Node folder = reconstructed("Folder", root, 0);
+            folder.rename(NodeName.of("Renamed"));
+            
+            // When
+            folder.markPersisted(4L);
+            
+            // Then
+            assertThat(folder.hasPendingChanges()).isFalse();
+            assertThat(folder.getVersion()).isEqualTo(4L);
+            assertThat(folder.getPersistedVersion()).isEqualTo(4L);
+        }
+        
+        private Node reconstructed(String name, Node parent, Integer position) {
+            return reconstructedWithRank(name, parent, position == null ? null : Rank.atIndex(position));
+        }
+        
+        private Node reconstructedWithRank(String name, Node parent, Rank rank) {
+            NodePath path = parent == null ? NodePath.root() : parent.getPath().append(NodeName.of(name));
+            Position position = parent == null ? null : Position.of(parent.getChildren().size());
+            Node node = Node.reconstruct(NodeId.generate(), NodeName.of(name), NodeType.FOLDER, parent,
+                LocalDateTime.now(), LocalDateTime.now(), 3L, path, position, rank);
+            if (parent != null) {
+                parent.addChildForReconstructionPublic(node);
+            }
+            return node;
+        }
+    }
 }
-
@@ -0,0 +1,54 @@
+package com.treevault.domain.model.valueobject;
+
+import com.treevault.domain.exception.NodeValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankTest {
+
+    @Test
+    @DisplayName("Should reject non-positive rank")
+    void shouldRejectNonPositiveRank() {
+        assertThatThrownBy(() -> Rank.of(0))
+            .isInstanceOf(NodeValidationException.class)
+            .hasMessageContaining("must be positive");
+    }
+
+    @Test
+    @DisplayName("Should space ranks by index")
+    void shouldSpaceRanksByIndex() {
+        assertThat(Rank.atIndex(0).getValue()).isEqualTo(Rank.GAP);
+        assertThat(Rank.atIndex(2).getValue()).isEqualTo(3 * Rank.GAP);
+    }
+
+    @Test
+    @DisplayName("Should place rank at the midpoint between neighbours")
+    void shouldPlaceRankAtMidpointBetweenNeighbours() {
+        assertThat(Rank.between(Rank.of(100), Rank.of(200))).contains(Rank.of(150));
+        assertThat(Rank.between(null, Rank.of(100))).contains(Rank.of(50));
+    }
+
+    @Test
+    @DisplayName("Should append rank one gap after the last sibling")
+    void shouldAppendRankOneGapAfterLastSibling() {
+        assertThat(Rank.between(null, null)).contains(Rank.atIndex(0));
+        assertThat(Rank.between(Rank.of(100), null)).contains(Rank.of(100 + Rank.GAP));
+    }
+
+    @Test
+    @DisplayName("Should report no room between adjacent ranks")
+    void shouldReportNoRoomBetweenAdjacentRanks() {
+        assertThat(Rank.between(Rank.of(7), Rank.of(8))).isEmpty();
+        assertThat(Rank.between(null, Rank.of(1))).isEmpty();
+        assertThat(Rank.between(Rank.of(Long.MAX_VALUE), null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should order ranks by value")
+    void shouldOrderRanksByValue() {
+        assertThat(Rank.of(1)).isLessThan(Rank.of(2));
+        assertThat(Rank.of(5).distanceTo(Rank.of(2))).isEqualTo(3);
+    }
+}
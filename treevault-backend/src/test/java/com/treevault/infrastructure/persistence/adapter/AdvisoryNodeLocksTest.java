@@ -0,0 +1,227 @@
+package com.treevault.infrastructure.persistence.adapter;
+
+import com.treevault.application.usecase.CreateNodeUseCase;
+import com.treevault.application.usecase.CreateNodeUseCase.CreateNodeCommand;
+import com.treevault.application.usecase.MoveNodeUseCase;
+import com.treevault.application.usecase.MoveNodeUseCase.MoveNodeCommand;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.model.valueobject.NodePath;
+import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.model.valueobject.Position;
+import com.treevault.domain.repository.NodeImporter;
+import com.treevault.domain.repository.NodeImporter.NodeRecord;
+import com.treevault.domain.repository.NodeLocks;
+import com.treevault.domain.repository.NodeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Testcontainers
+class AdvisoryNodeLocksTest {
+
+    private static final DockerImageName POSTGRES_IMAGE = DockerImageName.parse("postgres:16");
+
+    private static final String WAITING_LOCKS_SQL =
+        "SELECT count(*) FROM pg_locks WHERE locktype = 'advisory' AND NOT granted";
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = createPostgresContainer();
+
+    private static PostgreSQLContainer<?> createPostgresContainer() {
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>(POSTGRES_IMAGE);
+        container.withDatabaseName("treevault_test");
+        container.withUsername("test");
+        container.withPassword("test");
+        container.withInitScript("create-ltree-extension.sql");
+        return container;
+    }
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.flyway.enabled", () -> "false");
+    }
+
+    @Autowired
+    private NodeLocks nodeLocks;
+
+    @Autowired
+    private NodeRepository nodeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CreateNodeUseCase createNodeUseCase;
+
+    @Autowired
+    private MoveNodeUseCase moveNodeUseCase;
+
+    @Autowired
+    private NodeImporter nodeImporter;
+
+    @Test
+    @DisplayName("Should fail instead of waiting out of order when a child moves to a folder another write holds")
+    void shouldNotDeadlockWhenChildMovesToHeldFolder() throws Exception {
+        // Given a file that a mover is about to take from one folder to another
+        NodeId source = nodeRepository.save(Node.createFolder(NodeName.of("Source"), null)).getId();
+        NodeId target = nodeRepository.save(Node.createFolder(NodeName.of("Target"), null)).getId();
+        Node file = Node.createFile(NodeName.of("file.txt"), nodeRepository.findById(source).orElseThrow());
+        NodeId fileId = nodeRepository.save(file).getId();
+
+        CountDownLatch moverHoldsSource = new CountDownLatch(1);
+        CountDownLatch moverMayCommit = new CountDownLatch(1);
+        CountDownLatch holderHoldsTarget = new CountDownLatch(1);
+        CountDownLatch holderMayLockSource = new CountDownLatch(1);
+
+        CompletableFuture<Void> mover = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            nodeLocks.lock(List.of(source), List.of());
+            jdbcTemplate.update("UPDATE nodes SET parent_id = ? WHERE id = ?", target.getValue(), fileId.getValue());
+            moverHoldsSource.countDown();
+            await(moverMayCommit);
+        }));
+        await(moverHoldsSource);
+
+        // A second write holds the target folder and will want the source folder next
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            nodeLocks.lock(List.of(target), List.of());
+            holderHoldsTarget.countDown();
+            await(holderMayLockSource);
+            nodeLocks.lock(List.of(source), List.of());
+        }));
+        await(holderHoldsTarget);
+
+        // When a rename reads the file's parent before the move commits, waits for that folder and
+        // then finds the file under the target folder
+        CompletableFuture<Void> renamer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+            status -> nodeLocks.lock(List.of(), List.of(fileId))));
+        awaitWaitingLocks(1);
+        moverMayCommit.countDown();
+        mover.get(10, TimeUnit.SECONDS);
+
+        // Then the renamer fails at once instead of waiting for the target while holding the source
+        assertThatThrownBy(() -> renamer.get(10, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(CannotAcquireLockException.class)
+            .hasMessageContaining("moved to a folder that another write holds");
+        holderMayLockSource.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        assertThat(holder).isCompleted();
+    }
+
+    @Test
+    @DisplayName("Should make a folder move wait for a create below it, so the new node follows the move")
+    void shouldMakeFolderMoveWaitForCreateBelowIt() throws Exception {
+        // Given a folder that one write creates a file in while another moves the folder elsewhere
+        NodeId oldParent = nodeRepository.save(Node.createFolder(NodeName.of("Old"), null)).getId();
+        NodeId newParent = nodeRepository.save(Node.createFolder(NodeName.of("New"), null)).getId();
+        Node folder = Node.createFolder(NodeName.of("Folder"), nodeRepository.findById(oldParent).orElseThrow());
+        NodeId folderId = nodeRepository.save(folder).getId();
+
+        CountDownLatch created = new CountDownLatch(1);
+        CountDownLatch creatorMayCommit = new CountDownLatch(1);
+        CompletableFuture<NodeId> creator = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            Node file = createNodeUseCase.execute(new CreateNodeCommand("file.txt", NodeType.FILE, folderId, null));
+            created.countDown();
+            await(creatorMayCommit);
+            return file.getId();
+        }));
+        await(created);
+
+        // When the folder is moved before the create commits
+        CompletableFuture<Node> mover = CompletableFuture.supplyAsync(() -> moveNodeUseCase.execute(
+            new MoveNodeCommand(folderId, newParent, Position.of(0))));
+        awaitWaitingLocks(1);
+        creatorMayCommit.countDown();
+        NodeId fileId = creator.get(10, TimeUnit.SECONDS);
+        mover.get(10, TimeUnit.SECONDS);
+
+        // Then the move has re-linked the new file with the folder
+        assertThat(nodeRepository.isDescendantOf(fileId, newParent)).isTrue();
+        assertThat(nodeRepository.isDescendantOf(fileId, oldParent)).isFalse();
+        String idPath = jdbcTemplate.queryForObject(
+            "SELECT CAST(id_path AS TEXT) FROM nodes WHERE id = ?", String.class, fileId.getValue());
+        assertThat(idPath).endsWith(String.join(".", NodeBatchWriter.idPathLabel(newParent.getValue()),
+            NodeBatchWriter.idPathLabel(folderId.getValue()), NodeBatchWriter.idPathLabel(fileId.getValue())));
+    }
+
+    @Test
+    @DisplayName("Should make a folder move wait for an import below it, so the imported nodes follow the move")
+    void shouldMakeFolderMoveWaitForImportBelowIt() throws Exception {
+        // Given a folder that one write imports into while another moves the folder elsewhere
+        NodeId oldParent = nodeRepository.save(Node.createFolder(NodeName.of("Old"), null)).getId();
+        NodeId newParent = nodeRepository.save(Node.createFolder(NodeName.of("New"), null)).getId();
+        Node folder = Node.createFolder(NodeName.of("Folder"), nodeRepository.findById(oldParent).orElseThrow());
+        NodeId folderId = nodeRepository.save(folder).getId();
+
+        CountDownLatch imported = new CountDownLatch(1);
+        CountDownLatch importerMayCommit = new CountDownLatch(1);
+        CompletableFuture<Void> importer = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            nodeImporter.importNodes(folderId, List.of(new NodeRecord(
+                NodePath.root(), NodeName.of("imported.txt"), NodeType.FILE, Map.of())).iterator());
+            imported.countDown();
+            await(importerMayCommit);
+        }));
+        await(imported);
+
+        // When the folder is moved before the import commits
+        CompletableFuture<Node> mover = CompletableFuture.supplyAsync(() -> moveNodeUseCase.execute(
+            new MoveNodeCommand(folderId, newParent, Position.of(0))));
+        awaitWaitingLocks(1);
+        importerMayCommit.countDown();
+        importer.get(10, TimeUnit.SECONDS);
+        mover.get(10, TimeUnit.SECONDS);
+
+        // Then the move has re-linked the imported file with the folder
+        NodeId fileId = NodeId.of(jdbcTemplate.queryForObject(
+            "SELECT id FROM nodes WHERE parent_id = ?", UUID.class, folderId.getValue()));
+        assertThat(nodeRepository.isDescendantOf(fileId, newParent)).isTrue();
+        assertThat(nodeRepository.isDescendantOf(fileId, oldParent)).isFalse();
+        String idPath = jdbcTemplate.queryForObject(
+            "SELECT CAST(id_path AS TEXT) FROM nodes WHERE id = ?", String.class, fileId.getValue());
+        assertThat(idPath).contains(NodeBatchWriter.idPathLabel(newParent.getValue()));
+    }
+
+    private void awaitWaitingLocks(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (jdbcTemplate.queryForObject(WAITING_LOCKS_SQL, Long.class) < count) {
+            assertThat(System.nanoTime()).as("waiting for a blocked lock").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.treevault.domain.model.entity.Node;
 import com.treevault.domain.model.valueobject.NodeId;
 import com.treevault.domain.model.valueobject.NodeName;
 import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.domain.model.valueobject.Position;
 import com.treevault.domain.model.valueobject.TagKey;
 import com.treevault.domain.model.valueobject.TagValue;
 import com.treevault.domain.repository.NodeRepository;
@@ -35,6 +36,7 @@ class NodeRepositoryAdapterTest {
         container.withDatabaseName("treevault_test");
         container.withUsername("test");
         container.withPassword("test");
+        container.withInitScript("create-ltree-extension.sql");
         return container;
     }
     
@@ -97,7 +99,7 @@ class NodeRepositoryAdapterTest {
         
         // When
         Node savedRoot = adapter.save(root);
-        Node retrieved = adapter.findById(savedRoot.getId()).orElseThrow();
+        Node retrieved = adapter.findSubtreeById(savedRoot.getId()).orElseThrow();
         
         // Then
         assertThat(retrieved.getChildren()).hasSize(2);
@@ -207,7 +209,7 @@ class NodeRepositoryAdapterTest {
         
         // When
         Node savedRoot = adapter.save(root);
-        Node retrieved = adapter.findById(savedRoot.getId()).orElseThrow();
+        Node retrieved = adapter.findSubtreeById(savedRoot.getId()).orElseThrow();
         
         // Then - Verify deep structure is preserved
         Node deepest = retrieved;
@@ -251,5 +253,309 @@ class NodeRepositoryAdapterTest {
         assertThat(children.get(1).getPosition().getValue()).isEqualTo(1);
         assertThat(children.get(2).getPosition().getValue()).isEqualTo(2);
     }
+    
+    @Test
+    @DisplayName("Should load only the neighbourhood of a node")
+    void shouldLoadOnlyNeighbourhoodOfNode() {
+        // Given
+        Node root = Node.createRoot();
+        Node folder = Node.createFolder(NodeName.of("Folder"), root);
+        Node sibling = Node.createFolder(NodeName.of("Sibling"), root);
+        Node child = Node.createFolder(NodeName.of("Child"), folder);
+        Node.createFile(NodeName.of("grandchild.txt"), child);
+        sibling.addTag(TagKey.of("status"), TagValue.of("active"));
+        adapter.save(root);
+        
+        // When
+        Node retrieved = adapter.findById(folder.getId()).orElseThrow();
+        
+        // Then
+        Node retrievedParent = retrieved.getParent().orElseThrow();
+        assertThat(retrievedParent.getId()).isEqualTo(root.getId());
+        assertThat(retrievedParent.getChildren()).extracting(Node::getId)
+            .containsExactly(folder.getId(), sibling.getId());
+        assertThat(retrievedParent.getChildren().get(1).getTags()).containsKey(TagKey.of("status"));
+        assertThat(retrieved.getChildren()).hasSize(1);
+        assertThat(retrieved.getChildren().get(0).getChildren()).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Should derive renamed paths for unloaded descendants")
+    void shouldDeriveRenamedPathsForUnloadedDescendants() {
+        // Given
+        Node root = Node.createRoot();
+        Node folder = Node.createFolder(NodeName.of("Folder"), root);
+        Node child = Node.createFolder(NodeName.of("Child"), folder);
+        Node grandchild = Node.createFile(NodeName.of("grandchild.txt"), child);
+        adapter.save(root);
+        
+        // When
+        Node loaded = adapter.findById(folder.getId()).orElseThrow();
+        loaded.rename(NodeName.of("Renamed"));
+        adapter.save(loaded);
+        
+        // Then
+        Node reloaded = adapter.findById(grandchild.getId()).orElseThrow();
+        assertThat(reloaded.getPath().toString()).isEqualTo("/Renamed/Child/grandchild.txt/");
+    }
+    
+    @Test
+    @DisplayName("Should rename only the renamed folder's descendants when names contain LIKE wildcards")
+    void shouldRenameOnlyRenamedFoldersDescendantsWhenNamesContainLikeWildcards() {
+        // Given
+        Node root = Node.createRoot();
+        Node wildcard = Node.createFolder(NodeName.of("a_b"), root);
+        Node lookalike = Node.createFolder(NodeName.of("aXb"), root);
+        Node wildcardChild = Node.createFile(NodeName.of("one.txt"), wildcard);
+        Node lookalikeChild = Node.createFile(NodeName.of("two.txt"), lookalike);
+        adapter.save(root);
+        
+        // When
+        Node loaded = adapter.findById(wildcard.getId()).orElseThrow();
+        loaded.rename(NodeName.of("c"));
+        adapter.save(loaded);
+        
+        // Then
+        assertThat(adapter.findById(wildcardChild.getId()).orElseThrow().getPath().toString()).isEqualTo("/c/one.txt/");
+        assertThat(adapter.findById(lookalikeChild.getId()).orElseThrow().getPath().toString()).isEqualTo("/aXb/two.txt/");
+    }
+    
+    @Test
+    @DisplayName("Should write only changed rows on save")
+    void shouldWriteOnlyChangedRowsOnSave() {
+        // Given
+        Node root = Node.createRoot();
+        Node folder = Node.createFolder(NodeName.of("Folder"), root);
+        Node sibling = Node.createFolder(NodeName.of("Sibling"), root);
+        adapter.save(root);
+        
+        // When
+        Node loaded = adapter.findById(folder.getId()).orElseThrow();
+        loaded.addTag(TagKey.of("status"), TagValue.of("active"));
+        adapter.save(loaded);
+        loaded.rename(NodeName.of("Renamed"));
+        adapter.save(loaded);
+        
+        // Then
+        Node reloaded = adapter.findById(folder.getId()).orElseThrow();
+        assertThat(reloaded.getName().getValue()).isEqualTo("Renamed");
+        assertThat(reloaded.getTags()).containsKey(TagKey.of("status"));
+        assertThat(reloaded.getVersion()).isEqualTo(1L);
+        assertThat(reloaded.getParent().orElseThrow().getVersion()).isZero();
+        assertThat(adapter.findById(sibling.getId()).orElseThrow().getVersion()).isZero();
+        assertThat(loaded.hasPendingChanges()).isFalse();
+        assertThat(loaded.getVersion()).isEqualTo(1L);
+    }
+    
+    @Test
+    @DisplayName("Should synchronise tags of several nodes in one save")
+    void shouldSynchroniseTagsOfSeveralNodesInOneSave() {
+        // Given
+        Node root = Node.createRoot();
+        Node folder = Node.createFolder(NodeName.of("Folder"), root);
+        Node sibling = Node.createFolder(NodeName.of("Sibling"), root);
+        folder.addTag(TagKey.of("status"), TagValue.of("draft"));
+        folder.addTag(TagKey.of("owner"), TagValue.of("alice"));
+        sibling.addTag(TagKey.of("status"), TagValue.of("active"));
+        adapter.save(root);
+        
+        // When
+        Node loadedFolder = adapter.findById(folder.getId()).orElseThrow();
+        Node loadedSibling = loadedFolder.getParent().orElseThrow().getChildren().get(1);
+        loadedFolder.addTag(TagKey.of("status"), TagValue.of("final"));
+        loadedFolder.removeTag(TagKey.of("owner"));
+        loadedSibling.removeTag(TagKey.of("status"));
+        loadedSibling.addTag(TagKey.of("priority"), TagValue.of("high"));
+        adapter.save(loadedFolder);
+        
+        // Then
+        Node reloadedFolder = adapter.findById(folder.getId()).orElseThrow();
+        Node reloadedSibling = reloadedFolder.getParent().orElseThrow().getChildren().get(1);
+        assertThat(reloadedFolder.getTags()).containsOnlyKeys(TagKey.of("status"));
+        assertThat(reloadedFolder.getTags().get(TagKey.of("status")).getValue().getValue()).isEqualTo("final");
+        assertThat(reloadedSibling.getTags()).containsOnlyKeys(TagKey.of("priority"));
+    }
+    
+    @Test
+    @DisplayName("Should move a node between neighbourhoods loaded into one graph")
+    void shouldMoveNodeBetweenNeighbourhoodsLoadedIntoOneGraph() {
+        // Given
+        Node root = Node.createRoot();
+        Node source = Node.createFolder(NodeName.of("Source"), root);
+        Node target = Node.createFolder(NodeName.of("Target"), root);
+        Node moved = Node.createFolder(NodeName.of("Moved"), source);
+        Node remaining = Node.createFolder(NodeName.of("Remaining"), source);
+        Node child = Node.createFolder(NodeName.of("Child"), moved);
+        Node grandchild = Node.createFile(NodeName.of("grandchild.txt"), child);
+        adapter.save(root);
+        
+        // When
+        java.util.Map<NodeId, Node> loaded = adapter.findAllById(java.util.List.of(moved.getId(), target.getId()));
+        Node loadedMoved = loaded.get(moved.getId());
+        Node loadedTarget = loaded.get(target.getId());
+        assertThat(loadedMoved.getParent().orElseThrow().getParent().orElseThrow())
+            .isSameAs(loadedTarget.getParent().orElseThrow());
+        loadedMoved.moveTo(loadedTarget, Position.of(0));
+        adapter.save(loadedMoved);
+        
+        // Then
+        assertThat(adapter.findById(grandchild.getId()).orElseThrow().getPath().toString())
+            .isEqualTo("/Target/Moved/Child/grandchild.txt/");
+        assertThat(adapter.findById(remaining.getId()).orElseThrow().getPosition().getValue()).isZero();
+        assertThat(adapter.findByParentId(target.getId())).extracting(Node::getId).containsExactly(moved.getId());
+    }
+    
+    @Test
+    @DisplayName("Should rename a node loaded with its ancestors only")
+    void shouldRenameNodeLoadedWithAncestorsOnly() {
+        // Given
+        Node root = Node.createRoot();
+        Node folder = Node.createFolder(NodeName.of("Folder"), root);
+        Node.createFolder(NodeName.of("Sibling"), root);
+        Node child = Node.createFolder(NodeName.of("Child"), folder);
+        Node grandchild = Node.createFile(NodeName.of("grandchild.txt"), child);
+        folder.addTag(TagKey.of("status"), TagValue.of("active"));
+        adapter.save(root);
+        
+        // When
+        Node loaded = adapter.findWithAncestorsById(folder.getId()).orElseThrow();
+        loaded.rename(NodeName.of("Renamed"));
+        adapter.save(loaded);
+        
+        // Then
+        assertThat(loaded.getParent().orElseThrow().getChildren()).containsExactly(loaded);
+        assertThat(loaded.getChildren()).isEmpty();
+        assertThat(loaded.getTags()).containsKey(TagKey.of("status"));
+        Node reloaded = adapter.findById(folder.getId()).orElseThrow();
+        assertThat(reloaded.getPosition().getValue()).isZero();
+        assertThat(reloaded.getParent().orElseThrow().getChildren()).hasSize(2);
+        assertThat(adapter.findById(grandchild.getId()).orElseThrow().getPath().toString())
+            .isEqualTo("/Renamed/Child/grandchild.txt/");
+    }
+    
+    @Test
+    @DisplayName("Should delete a subtree and close the gap in sibling positions without writing siblings")
+    void shouldDeleteSubtreeAndCloseGapInSiblingPositions() {
+        // Given
+        Node root = Node.createRoot();
+        Node first = Node.createFolder(NodeName.of("First"), root);
+        Node deleted = Node.createFolder(NodeName.of("Deleted"), root);
+        Node last = Node.createFolder(NodeName.of("Last"), root);
+        Node child = Node.createFolder(NodeName.of("Child"), deleted);
+        Node grandchild = Node.createFile(NodeName.of("grandchild.txt"), child);
+        grandchild.addTag(TagKey.of("status"), TagValue.of("active"));
+        adapter.save(root);
+        
+        // When
+        Node loaded = adapter.findWithAncestorsById(deleted.getId()).orElseThrow();
+        loaded.delete();
+        adapter.delete(loaded);
+        
+        // Then
+        assertThat(adapter.findById(deleted.getId())).isEmpty();
+        assertThat(adapter.findById(grandchild.getId())).isEmpty();
+        assertThat(adapter.findByParentId(root.getId())).extracting(Node::getId)
+            .containsExactly(first.getId(), last.getId());
+        Node reloadedLast = adapter.findById(last.getId()).orElseThrow();
+        assertThat(reloadedLast.getPosition().getValue()).isEqualTo(1);
+        assertThat(reloadedLast.getVersion()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Should write only the moved row when reordering siblings")
+    void shouldWriteOnlyMovedRowWhenReorderingSiblings() {
+        // Given
+        Node root = Node.createRoot();
+        Node first = Node.createFolder(NodeName.of("First"), root);
+        Node second = Node.createFolder(NodeName.of("Second"), root);
+        Node third = Node.createFolder(NodeName.of("Third"), root);
+        adapter.save(root);
+        
+        // When
+        Node loaded = adapter.findById(third.getId()).orElseThrow();
+        loaded.moveTo(loaded.getParent().orElseThrow(), Position.of(0));
+        adapter.save(loaded);
+        
+        // Then
+        java.util.List<Node> children = adapter.findByParentId(root.getId());
+        assertThat(children).extracting(Node::getId).containsExactly(third.getId(), first.getId(), second.getId());
+        assertThat(children).extracting(n -> n.getPosition().getValue()).containsExactly(0, 1, 2);
+        assertThat(children).extracting(Node::getVersion).containsExactly(1L, 0L, 0L);
+        Node reloadedSecond = adapter.findWithAncestorsById(second.getId()).orElseThrow();
+        assertThat(reloadedSecond.getPosition().getValue()).isEqualTo(2);
+    }
+    
+    @Test
+    @DisplayName("Should page through children after a rank cursor")
+    void shouldPageThroughChildrenAfterRankCursor() {
+        // Given
+        Node root = Node.createRoot();
+        Node first = Node.createFolder(NodeName.of("First"), root);
+        Node second = Node.createFolder(NodeName.of("Second"), root);
+        Node third = Node.createFile(NodeName.of("third.txt"), root);
+        Node.createFile(NodeName.of("nested.txt"), second);
+        third.addTag(TagKey.of("status"), TagValue.of("active"));
+        adapter.save(root);
+        
+        // When
+        Node firstPage = adapter.findChildrenPageById(root.getId(), null, 2).orElseThrow();
+        Node secondPage = adapter.findChildrenPageById(root.getId(), second.getRank(), 2).orElseThrow();
+        
+        // Then
+        assertThat(firstPage.getChildren()).extracting(Node::getId).containsExactly(first.getId(), second.getId());
+        assertThat(secondPage.getChildren()).extracting(Node::getId).containsExactly(third.getId());
+        Node loadedThird = secondPage.getChildren().get(0);
+        assertThat(loadedThird.getPosition().getValue()).isEqualTo(2);
+        assertThat(loadedThird.getTags()).containsKey(TagKey.of("status"));
+        assertThat(adapter.findIdsWithChildren(java.util.List.of(first.getId(), second.getId())))
+            .containsExactly(second.getId());
+    }
+    
+    @Test
+    @DisplayName("Should load a subtree only down to the requested depth")
+    void shouldLoadSubtreeOnlyDownToRequestedDepth() {
+        // Given
+        Node root = Node.createRoot();
+        Node folder = Node.createFolder(NodeName.of("Folder"), root);
+        Node child = Node.createFolder(NodeName.of("Child"), folder);
+        Node.createFile(NodeName.of("grandchild.txt"), child);
+        adapter.save(root);
+        
+        // When
+        Node fromRoot = adapter.findRootNode(1).orElseThrow();
+        Node fromFolder = adapter.findSubtreeById(folder.getId(), 1).orElseThrow();
+        
+        // Then
+        assertThat(fromRoot.getChildren()).extracting(Node::getId).containsExactly(folder.getId());
+        assertThat(fromRoot.getChildren().get(0).getChildren()).isEmpty();
+        assertThat(fromFolder.getChildren()).extracting(Node::getId).containsExactly(child.getId());
+        assertThat(fromFolder.getChildren().get(0).getChildren()).isEmpty();
+        assertThat(fromFolder.getParent()).isPresent();
+    }
+    
+    @Test
+    @DisplayName("Should carry the closure pairs of a moved subtree to its new ancestors")
+    void shouldCarryClosurePairsOfMovedSubtreeToNewAncestors() {
+        // Given
+        Node root = Node.createRoot();
+        Node source = Node.createFolder(NodeName.of("Source"), root);
+        Node target = Node.createFolder(NodeName.of("Target"), root);
+        Node moved = Node.createFolder(NodeName.of("Moved"), source);
+        Node grandchild = Node.createFile(NodeName.of("grandchild.txt"), moved);
+        adapter.save(root);
+        
+        // When
+        java.util.Map<NodeId, Node> loaded = adapter.findAllById(java.util.List.of(moved.getId(), target.getId()));
+        loaded.get(moved.getId()).moveTo(loaded.get(target.getId()), Position.of(0));
+        adapter.save(loaded.get(moved.getId()));
+        
+        // Then
+        assertThat(adapter.isDescendantOf(grandchild.getId(), target.getId())).isTrue();
+        assertThat(adapter.isDescendantOf(grandchild.getId(), source.getId())).isFalse();
+        assertThat(adapter.isDescendantOf(grandchild.getId(), root.getId())).isTrue();
+        assertThat(adapter.isDescendantOf(target.getId(), moved.getId())).isFalse();
+        assertThat(adapter.findSubtreeById(source.getId()).orElseThrow().getChildren()).isEmpty();
+        Node loadedGrandchild = adapter.findWithAncestorsById(grandchild.getId()).orElseThrow();
+        assertThat(loadedGrandchild.getParent().orElseThrow().getParent().orElseThrow().getId()).isEqualTo(target.getId());
+    }
 }
-
@@ -0,0 +1,67 @@
+package com.treevault.infrastructure.persistence.adapter;
+
+import com.treevault.BaseUnitTest;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.Rank;
+import com.treevault.domain.repository.NodeLocks;
+import com.treevault.infrastructure.persistence.notification.TreeChangeNotifier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+class SiblingRankRebalancerTest extends BaseUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private NodeLocks nodeLocks;
+
+    @Mock
+    private TreeChangeNotifier changeNotifier;
+
+    private SiblingRankRebalancer rebalancer;
+
+    @BeforeEach
+    void setUp() {
+        rebalancer = new SiblingRankRebalancer(jdbcTemplate, transactionTemplate, nodeLocks, changeNotifier);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    @DisplayName("Should announce a respace as a change to the folder before respacing its children")
+    void shouldAnnounceRespaceBeforeRespacing() {
+        // Given
+        UUID parentId = UUID.randomUUID();
+        when(jdbcTemplate.update(anyString(), eq(Rank.GAP), eq(parentId))).thenReturn(3);
+        rebalancer.requestRebalance(parentId);
+
+        // When
+        rebalancer.rebalanceCrowdedFolders();
+
+        // Then
+        InOrder inOrder = inOrder(nodeLocks, jdbcTemplate, changeNotifier);
+        inOrder.verify(nodeLocks).lock(List.of(NodeId.of(parentId)), List.of());
+        inOrder.verify(changeNotifier).notifyChanged(Set.of(parentId), Set.of());
+        inOrder.verify(jdbcTemplate).update(anyString(), eq(Rank.GAP), eq(parentId));
+    }
+}
@@ -0,0 +1,152 @@
+package com.treevault.infrastructure.persistence.adapter;
+
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.Rank;
+import com.treevault.infrastructure.persistence.entity.NodeJpaEntity;
+import com.treevault.infrastructure.persistence.entity.TagJpaEntity;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Compares full-tree reconstruction with {@link TreeAssembler} against the previous per-node
+ * scan of all rows. Not a test; run it from the IDE or with the test classpath:
+ * <pre>
+ * mvn test-compile
+ * java -Xmx4g -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.treevault.infrastructure.persistence.adapter.TreeAssemblerBenchmark 10000 100000 1000000
+ * </pre>
+ * The quadratic baseline only runs up to {@code -Dbenchmark.legacyMaxNodes} (default 100000).
+ */
+public final class TreeAssemblerBenchmark {
+
+    private static final int FOLDERS_PER_FOLDER = 4;
+    private static final int FILES_PER_FOLDER = 12;
+    private static final int MEASURED_RUNS = 3;
+
+    private TreeAssemblerBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0
+            ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+            : new int[] {10_000, 100_000, 1_000_000};
+        int legacyMaxNodes = Integer.getInteger("benchmark.legacyMaxNodes", 100_000);
+        TreeAssembler assembler = new TreeAssembler();
+
+        System.out.printf("%10s %14s %14s%n", "nodes", "legacy (ms)", "assembler (ms)");
+        for (int size : sizes) {
+            List<NodeJpaEntity> rows = generateTree(size);
+            NodeJpaEntity root = rows.get(0);
+
+            String legacy = "skipped";
+            if (size <= legacyMaxNodes) {
+                legacy = String.valueOf(measure(() -> legacyReconstruct(assembler, root, rows), size, 1));
+            }
+            long assembled = measure(() -> assembler.assemble(root, rows, Collections.emptyMap(), Collections.emptyMap(), null), size, MEASURED_RUNS);
+            System.out.printf("%10d %14s %14d%n", size, legacy, assembled);
+        }
+    }
+
+    // Best of the given number of runs, after one warm-up run; verifies every node was rebuilt
+    private static long measure(Supplier<Node> reconstruction, int expectedNodes, int runs) {
+        verifySize(reconstruction.get(), expectedNodes);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            Node tree = reconstruction.get();
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+            verifySize(tree, expectedNodes);
+        }
+        return best;
+    }
+
+    private static void verifySize(Node tree, int expectedNodes) {
+        int count = 0;
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(tree);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            count++;
+            node.getChildren().forEach(pending::push);
+        }
+        if (count != expectedNodes) {
+            throw new IllegalStateException("Rebuilt " + count + " nodes, expected " + expectedNodes);
+        }
+    }
+
+    // The reconstruction previously used by NodeRepositoryAdapter: one scan of all rows per node
+    private static Node legacyReconstruct(TreeAssembler assembler, NodeJpaEntity root, List<NodeJpaEntity> rows) {
+        Map<UUID, NodeJpaEntity> entityMap = rows.stream()
+            .collect(Collectors.toMap(NodeJpaEntity::getId, Function.identity()));
+        return legacyReconstructNode(assembler, root, entityMap, null);
+    }
+
+    private static Node legacyReconstructNode(TreeAssembler assembler, NodeJpaEntity entity,
+                                              Map<UUID, NodeJpaEntity> entityMap, Node parent) {
+        Map<UUID, List<TagJpaEntity>> noTags = Collections.emptyMap();
+        Node node = assembler.attach(entity, noTags, Map.of(), parent);
+        List<NodeJpaEntity> children = entityMap.values().stream()
+            .filter(e -> e.getParent() != null && e.getParent().getId().equals(entity.getId()))
+            .sorted(Comparator.comparing(NodeJpaEntity::getSortRank))
+            .toList();
+        for (NodeJpaEntity childEntity : children) {
+            legacyReconstructNode(assembler, childEntity, entityMap, node);
+        }
+        return node;
+    }
+
+    // Breadth-first tree of folders and files, returned in (parent_id, sort_rank) order like the database query
+    private static List<NodeJpaEntity> generateTree(int size) {
+        LocalDateTime now = LocalDateTime.now();
+        List<NodeJpaEntity> rows = new ArrayList<>(size);
+        NodeJpaEntity root = entity("root", NodeJpaEntity.NodeType.FOLDER, null, 0, now);
+        rows.add(root);
+
+        Deque<NodeJpaEntity> folders = new ArrayDeque<>();
+        folders.add(root);
+        while (rows.size() < size && !folders.isEmpty()) {
+            NodeJpaEntity folder = folders.poll();
+            for (int i = 0; i < FOLDERS_PER_FOLDER + FILES_PER_FOLDER && rows.size() < size; i++) {
+                boolean isFolder = i < FOLDERS_PER_FOLDER;
+                String name = (isFolder ? "folder-" : "file-") + i + (isFolder ? "" : ".txt");
+                NodeJpaEntity child = entity(name,
+                    isFolder ? NodeJpaEntity.NodeType.FOLDER : NodeJpaEntity.NodeType.FILE,
+                    folder, i, now);
+                rows.add(child);
+                if (isFolder) {
+                    folders.add(child);
+                }
+            }
+        }
+
+        rows.sort(Comparator.comparing((NodeJpaEntity e) -> e.getParent() == null ? null : e.getParent().getId(),
+                Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(NodeJpaEntity::getSortRank));
+        return rows;
+    }
+
+    private static NodeJpaEntity entity(String name, NodeJpaEntity.NodeType type, NodeJpaEntity parent,
+                                        int position, LocalDateTime timestamp) {
+        return NodeJpaEntity.builder()
+            .id(UUID.randomUUID())
+            .name(name)
+            .type(type)
+            .parent(parent)
+            .sortRank(Rank.atIndex(position).getValue())
+            .version(0L)
+            .createdAt(timestamp)
+            .updatedAt(timestamp)
+            .build();
+    }
+}
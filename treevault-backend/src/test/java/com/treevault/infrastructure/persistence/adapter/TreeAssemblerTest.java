@@ -0,0 +1,135 @@
+package com.treevault.infrastructure.persistence.adapter;
+
+import com.treevault.BaseUnitTest;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeName;
+import com.treevault.domain.model.valueobject.TagKey;
+import com.treevault.domain.model.valueobject.Rank;
+import com.treevault.infrastructure.persistence.entity.NodeJpaEntity;
+import com.treevault.infrastructure.persistence.entity.TagJpaEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TreeAssemblerTest extends BaseUnitTest {
+
+    private TreeAssembler assembler;
+    private NodeJpaEntity root;
+    private NodeJpaEntity docs;
+    private NodeJpaEntity readme;
+    private NodeJpaEntity guide;
+    private NodeJpaEntity src;
+
+    @BeforeEach
+    void setUp() {
+        assembler = new TreeAssembler();
+        root = entity("root", NodeJpaEntity.NodeType.FOLDER, null, 0);
+        docs = entity("docs", NodeJpaEntity.NodeType.FOLDER, root, 0);
+        src = entity("src", NodeJpaEntity.NodeType.FOLDER, root, 1);
+        guide = entity("guide.md", NodeJpaEntity.NodeType.FILE, docs, 0);
+        readme = entity("readme.md", NodeJpaEntity.NodeType.FILE, docs, 1);
+    }
+
+    @Test
+    @DisplayName("Should assemble full tree with children in rank order")
+    void shouldAssembleFullTreeWithChildrenInRankOrder() {
+        // Given
+        List<NodeJpaEntity> rows = orderedByParentAndRank(root, readme, src, guide, docs);
+
+        // When
+        Node tree = assembler.assemble(root, rows, Collections.emptyMap(), Collections.emptyMap(), null);
+
+        // Then
+        assertThat(tree.getPosition()).isNull();
+        assertThat(tree.getChildren()).extracting(n -> n.getName().getValue())
+            .containsExactly("docs", "src");
+        Node docsNode = tree.getChildren().get(0);
+        assertThat(docsNode.getParent()).contains(tree);
+        assertThat(docsNode.getChildren()).extracting(n -> n.getName().getValue())
+            .containsExactly("guide.md", "readme.md");
+        assertThat(docsNode.getChildren().get(1).getPosition().getValue()).isEqualTo(1);
+        assertThat(docsNode.getChildren().get(1).getPath().toString()).isEqualTo("/docs/readme.md/");
+        assertThat(tree.getChildren().get(1).getChildren()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should assemble subtree beneath an existing parent and ignore unrelated rows")
+    void shouldAssembleSubtreeBeneathExistingParent() {
+        // Given
+        Node parent = assembler.attach(root, Collections.emptyMap(), Collections.emptyMap(), null);
+        List<NodeJpaEntity> rows = orderedByParentAndRank(docs, guide, readme, src);
+
+        // When
+        Node subtree = assembler.assemble(docs, rows, Collections.emptyMap(), Map.of(docs.getId(), 0), parent);
+
+        // Then
+        assertThat(subtree.getParent()).contains(parent);
+        assertThat(subtree.getPosition().getValue()).isZero();
+        assertThat(parent.getChildren()).containsExactly(subtree);
+        assertThat(subtree.getChildren()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should restore tags of assembled nodes")
+    void shouldRestoreTagsOfAssembledNodes() {
+        // Given
+        TagJpaEntity tag = new TagJpaEntity();
+        tag.setNode(readme);
+        tag.setTagKey("status");
+        tag.setTagValue("draft");
+        Map<UUID, List<TagJpaEntity>> tagsByNodeId = Map.of(readme.getId(), List.of(tag));
+
+        // When
+        Node tree = assembler.assemble(root, orderedByParentAndRank(root, docs, src, guide, readme), tagsByNodeId, Collections.emptyMap(), null);
+
+        // Then
+        Node readmeNode = tree.getChildren().get(0).getChildren().get(1);
+        assertThat(readmeNode.getName()).isEqualTo(NodeName.of("readme.md"));
+        assertThat(readmeNode.getTags()).containsKey(TagKey.of("status"));
+        assertThat(readmeNode.getTags().get(TagKey.of("status")).getValue().getValue()).isEqualTo("draft");
+    }
+
+    @Test
+    @DisplayName("Should reject rows that are not grouped by parent")
+    void shouldRejectRowsNotGroupedByParent() {
+        // Given
+        List<NodeJpaEntity> rows = List.of(docs, guide, src, readme);
+
+        // When & Then
+        assertThatThrownBy(() -> assembler.assemble(root, rows, Collections.emptyMap(), Collections.emptyMap(), null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("ordered by parent id");
+    }
+
+    // Mirrors the ORDER BY parent_id NULLS FIRST, sort_rank used by the repository queries
+    private static List<NodeJpaEntity> orderedByParentAndRank(NodeJpaEntity... entities) {
+        List<NodeJpaEntity> rows = new ArrayList<>(List.of(entities));
+        rows.sort(Comparator.comparing((NodeJpaEntity e) -> e.getParent() == null ? null : e.getParent().getId(),
+                Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(NodeJpaEntity::getSortRank));
+        return rows;
+    }
+
+    private static NodeJpaEntity entity(String name, NodeJpaEntity.NodeType type, NodeJpaEntity parent,
+                                        int position) {
+        return NodeJpaEntity.builder()
+            .id(UUID.randomUUID())
+            .name(name)
+            .type(type)
+            .parent(parent)
+            .sortRank(Rank.atIndex(position).getValue())
+            .version(0L)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .build();
+    }
+}
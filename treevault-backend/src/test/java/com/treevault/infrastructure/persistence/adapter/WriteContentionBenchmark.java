@@ -0,0 +1,110 @@
+package com.treevault.infrastructure.persistence.adapter;
+
+import com.treevault.TreeVaultApplication;
+import com.treevault.application.usecase.CreateNodeUseCase;
+import com.treevault.application.usecase.CreateNodeUseCase.CreateNodeCommand;
+import com.treevault.application.usecase.UpdateNodeUseCase;
+import com.treevault.application.usecase.UpdateNodeUseCase.UpdateNodeCommand;
+import com.treevault.domain.model.entity.Node;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.domain.model.valueobject.NodeType;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Measures write throughput with a growing number of concurrent clients, each creating a file and
+ * renaming it in a loop. Clients either write to folders of their own, which should scale with the
+ * number of clients, or all to the same folder, where they take turns. Reports operations per
+ * second and failed operations. Not a test; it needs a PostgreSQL database with the schema applied,
+ * e.g. the one from docker-compose:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.treevault.infrastructure.persistence.adapter.WriteContentionBenchmark \
+ *     --spring.datasource.url=jdbc:postgresql://localhost:5432/treevault \
+ *     --spring.datasource.username=... --spring.datasource.password=... \
+ *     --spring.datasource.hikari.maximum-pool-size=32 --benchmark.clients=1,2,4,8,16 --benchmark.seconds=10
+ * </pre>
+ * Every run writes below a new top-level folder, which is left in place.
+ */
+public final class WriteContentionBenchmark {
+
+    private WriteContentionBenchmark() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TreeVaultApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args)) {
+            int[] clientCounts = Arrays.stream(context.getEnvironment()
+                    .getProperty("benchmark.clients", "1,2,4,8,16").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim()))
+                .toArray();
+            long seconds = context.getEnvironment().getProperty("benchmark.seconds", Long.class, 10L);
+            CreateNodeUseCase createNodeUseCase = context.getBean(CreateNodeUseCase.class);
+            UpdateNodeUseCase updateNodeUseCase = context.getBean(UpdateNodeUseCase.class);
+
+            System.out.printf("%8s %-10s %12s %10s%n", "clients", "folders", "ops/s", "failed");
+            for (boolean shared : new boolean[] {false, true}) {
+                for (int clients : clientCounts) {
+                    Node top = createNodeUseCase.execute(new CreateNodeCommand(
+                        "benchmark-" + UUID.randomUUID(), NodeType.FOLDER, null, null));
+                    List<NodeId> folders = new ArrayList<>();
+                    for (int i = 0; i < (shared ? 1 : clients); i++) {
+                        folders.add(createNodeUseCase.execute(new CreateNodeCommand(
+                            "client-" + i, NodeType.FOLDER, top.getId(), null)).getId());
+                    }
+                    long[] result = run(clients, seconds, client -> folders.get(shared ? 0 : client),
+                        createNodeUseCase, updateNodeUseCase);
+                    System.out.printf("%8d %-10s %12.0f %10d%n", clients, shared ? "shared" : "own",
+                        result[0] / (double) seconds, result[1]);
+                }
+            }
+        }
+    }
+
+    // Completed and failed operations of all clients within the given time
+    private static long[] run(int clients, long seconds, IntFunction<NodeId> folderOf,
+                              CreateNodeUseCase createNodeUseCase, UpdateNodeUseCase updateNodeUseCase)
+            throws InterruptedException {
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Thread> threads = new ArrayList<>();
+        for (int client = 0; client < clients; client++) {
+            NodeId folderId = folderOf.apply(client);
+            String prefix = "c" + client + "-";
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (long i = 0; System.nanoTime() < deadline; i++) {
+                    try {
+                        Node file = createNodeUseCase.execute(new CreateNodeCommand(
+                            prefix + i + ".txt", NodeType.FILE, folderId, null));
+                        updateNodeUseCase.execute(new UpdateNodeCommand(file.getId(), prefix + i + ".md"));
+                        completed.addAndGet(2);
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return new long[] {completed.get(), failed.get()};
+    }
+}
@@ -0,0 +1,90 @@
+package com.treevault.infrastructure.persistence.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.treevault.BaseUnitTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+class TreeChangeNotifierTest extends BaseUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private TreeChangeNotifier notifier;
+
+    @BeforeEach
+    void setUp() {
+        notifier = new TreeChangeNotifier(jdbcTemplate, new ObjectMapper(), eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should notify other instances and tell this one through an application event")
+    void shouldNotifyOtherInstancesAndPublishLocalEvent() {
+        // Given
+        UUID nodeId = UUID.randomUUID();
+
+        // When
+        notifier.notifyChanged(Set.of(nodeId), Set.of("a.b"));
+
+        // Then
+        verify(jdbcTemplate).query(anyString(), any(ResultSetExtractor.class),
+            eq(TreeChangeNotifier.CHANNEL), contains(nodeId.toString()));
+        verify(eventPublisher).publishEvent(new TreeChangedEvent(true, Set.of(nodeId), Set.of("a.b")));
+    }
+
+    @Test
+    @DisplayName("Should carry node ids and path prefixes through the payload")
+    void shouldCarryNodeIdsAndPathPrefixesThroughPayload() {
+        // Given
+        TreeChangeNotifier.Payload payload = new TreeChangeNotifier.Payload(Set.of(UUID.randomUUID()), Set.of("a.b"));
+
+        // When
+        TreeChangedEvent received = notifier.fromPayload(notifier.toPayload(payload));
+
+        // Then
+        assertThat(received).isEqualTo(new TreeChangedEvent(false, payload.nodeIds(), payload.pathPrefixes()));
+        assertThat(received.affectsEverything()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should announce a change to everything when the ids do not fit the payload")
+    void shouldAnnounceChangeToEverythingWhenIdsDoNotFitPayload() {
+        // Given
+        Set<UUID> nodeIds = IntStream.range(0, 500)
+            .mapToObj(i -> UUID.randomUUID())
+            .collect(Collectors.toSet());
+
+        // When
+        String payload = notifier.toPayload(new TreeChangeNotifier.Payload(nodeIds, Set.of()));
+
+        // Then
+        assertThat(payload).isEmpty();
+        assertThat(notifier.fromPayload(payload).affectsEverything()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should treat an unreadable payload as a change to everything")
+    void shouldTreatUnreadablePayloadAsChangeToEverything() {
+        assertThat(notifier.fromPayload("not json").affectsEverything()).isTrue();
+    }
+}
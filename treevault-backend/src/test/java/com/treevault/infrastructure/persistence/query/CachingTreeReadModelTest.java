@@ -0,0 +1,438 @@
+package com.treevault.infrastructure.persistence.query;
+
+import com.treevault.BaseUnitTest;
+import com.treevault.application.query.NodeView;
+import com.treevault.domain.model.valueobject.NodeId;
+import com.treevault.infrastructure.persistence.notification.TreeChangeListener;
+import com.treevault.infrastructure.persistence.notification.TreeChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingTreeReadModelTest extends BaseUnitTest {
+
+    @Mock
+    private JdbcTreeReadModel delegate;
+
+    @Mock
+    private TreeChangeListener changeListener;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingTreeReadModel readModel;
+    private final NodeView root = TreeSnapshotTest.view(null, "root");
+    private final NodeView child = TreeSnapshotTest.view(root.id(), "child");
+    private final NodeView written = TreeSnapshotTest.view(root.id(), "written");
+    private final NodeView grandchild = TreeSnapshotTest.view(child.id(), "grandchild");
+    private final NodeView other = TreeSnapshotTest.view(root.id(), "other");
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        readModel = new CachingTreeReadModel(delegate, changeListener, meterRegistry, 10);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads of the same revision from the snapshot")
+    void shouldServeRepeatedReadsOfSameRevisionFromSnapshot() {
+        // Given
+        stubWholeTree();
+        when(delegate.currentRevision()).thenReturn(3L);
+
+        // When
+        List<NodeView> first = new ArrayList<>();
+        List<NodeView> second = new ArrayList<>();
+        readModel.forEachNodeInTreeOrder(null, first::add);
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), second::add);
+
+        // Then
+        assertThat(first).extracting(NodeView::id).containsExactly(root.id(), child.id());
+        assertThat(second).extracting(NodeView::id).containsExactly(child.id());
+        verify(delegate, times(1)).forEachStoredNodeInTreeOrder(isNull(), any());
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(meterRegistry.get("treevault.tree.cache.rebuild").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the snapshot when the revision changes")
+    void shouldRebuildSnapshotWhenRevisionChanges() {
+        // Given
+        stubWholeTree();
+        when(delegate.currentRevision()).thenReturn(3L, 4L);
+
+        // When
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+
+        // Then
+        verify(delegate, times(2)).forEachStoredNodeInTreeOrder(isNull(), any());
+        assertThat(requests("miss")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should report a node missing from a current snapshot of the whole tree as not found")
+    void shouldReportNodeMissingFromCurrentSnapshotAsNotFound() {
+        // Given
+        stubWholeTree();
+        when(delegate.currentRevision()).thenReturn(3L);
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+
+        // When
+        OptionalLong found = readModel.forEachNodeInTreeOrder(NodeId.of(UUID.randomUUID()), view -> { });
+
+        // Then
+        assertThat(found).isEmpty();
+        verify(delegate, never()).forEachNodeInTreeOrder(any(), any());
+        verify(delegate, never()).findIdPath(any());
+    }
+
+    @Test
+    @DisplayName("Should not keep a node that is not found")
+    void shouldNotKeepNodeThatIsNotFound() {
+        // Given
+        NodeId missing = NodeId.of(UUID.randomUUID());
+        when(delegate.currentRevision()).thenReturn(3L);
+
+        // When
+        OptionalLong first = readModel.forEachNodeInTreeOrder(missing, view -> { });
+        OptionalLong second = readModel.forEachNodeInTreeOrder(missing, view -> { });
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(delegate, times(2)).findIdPath(missing);
+        verify(delegate, never()).forEachStoredNodeInTreeOrder(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should trust the known revision while listening for changes")
+    void shouldTrustKnownRevisionWhileListeningForChanges() {
+        // Given
+        stubWholeTree();
+        when(changeListener.isListening()).thenReturn(true);
+        when(delegate.currentRevision()).thenReturn(3L);
+
+        // When
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+
+        // Then
+        verify(delegate, times(1)).currentRevision();
+        assertThat(requests("hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should read the revision again after a change is reported")
+    void shouldReadRevisionAgainAfterChangeIsReported() {
+        // Given
+        stubWholeTree();
+        when(changeListener.isListening()).thenReturn(true);
+        when(delegate.currentRevision()).thenReturn(3L, 4L);
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+
+        // When
+        readModel.onTreeChanged(TreeChangedEvent.everything(false));
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+
+        // Then
+        assertThat(readModel.currentRevision()).isEqualTo(4L);
+        verify(delegate, times(2)).currentRevision();
+        verify(delegate, times(2)).forEachStoredNodeInTreeOrder(isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Should read through the store in a transaction that has announced a change")
+    void shouldReadThroughStoreInTransactionThatAnnouncedChange() {
+        // Given
+        stubWholeTree();
+        when(changeListener.isListening()).thenReturn(true);
+        when(delegate.currentRevision()).thenReturn(3L, 4L);
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+        when(delegate.forEachNodeInTreeOrder(isNull(), any())).thenReturn(OptionalLong.of(4L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            readModel.onTreeChangeAnnounced(new TreeChangedEvent(true, Set.of(child.id()), Set.of()));
+            OptionalLong served = readModel.forEachNodeInTreeOrder(null, view -> { });
+            long revision = readModel.currentRevision();
+
+            // Then
+            assertThat(served).hasValue(4L);
+            assertThat(revision).isEqualTo(4L);
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(readModel.forEachNodeInTreeOrder(null, view -> { })).hasValue(3L);
+        verify(delegate, times(1)).forEachNodeInTreeOrder(isNull(), any());
+        verify(delegate, times(1)).forEachStoredNodeInTreeOrder(isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Should read the revision on every read while not listening for changes")
+    void shouldReadRevisionOnEveryReadWhileNotListening() {
+        // Given
+        stubWholeTree();
+        when(changeListener.isListening()).thenReturn(false);
+        when(delegate.currentRevision()).thenReturn(3L);
+
+        // When
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+
+        // Then
+        verify(delegate, times(2)).currentRevision();
+    }
+
+    @Test
+    @DisplayName("Should read a stored walk from the delegate even with a current snapshot")
+    void shouldReadStoredWalkFromDelegate() {
+        // Given
+        stubWholeTree();
+        when(delegate.currentRevision()).thenReturn(3L);
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+        when(delegate.forEachStoredNodeInTreeOrder(NodeId.of(child.id()), null)).thenReturn(true);
+
+        // When
+        boolean found = readModel.forEachStoredNodeInTreeOrder(NodeId.of(child.id()), null);
+
+        // Then
+        assertThat(found).isTrue();
+        verify(delegate, times(1)).forEachStoredNodeInTreeOrder(isNull(), any());
+        verify(delegate, times(1)).currentRevision();
+    }
+
+    @Test
+    @DisplayName("Should serve the previous snapshot at its own revision while another reader rebuilds it")
+    void shouldServePreviousSnapshotWhileAnotherReaderRebuildsIt() throws Exception {
+        // Given
+        stubWholeTree();
+        when(delegate.currentRevision()).thenReturn(3L, 4L);
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockNextRebuild(rebuilding, release);
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(() -> readModel.forEachNodeInTreeOrder(null, view -> { }));
+        assertThat(rebuilding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        List<NodeView> served = new ArrayList<>();
+        OptionalLong servedRevision = readModel.forEachNodeInTreeOrder(null, served::add);
+        release.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(served).extracting(NodeView::id).containsExactly(root.id(), child.id());
+        assertThat(servedRevision).hasValue(3L);
+        assertThat(readModel.forEachNodeInTreeOrder(null, view -> { })).hasValue(4L);
+        assertThat(requests("stale")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should wait for the rebuild rather than serve a snapshot from before this instance's write")
+    void shouldWaitForRebuildRatherThanServeSnapshotFromBeforeOwnWrite() throws Exception {
+        // Given
+        stubWholeTree();
+        when(delegate.currentRevision()).thenReturn(3L, 4L);
+        readModel.forEachNodeInTreeOrder(null, view -> { });
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockNextRebuild(rebuilding, release);
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(() -> readModel.forEachNodeInTreeOrder(null, view -> { }));
+        assertThat(rebuilding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        readModel.onTreeChanged(new TreeChangedEvent(true, Set.of(written.id(), root.id()), Set.of()));
+        List<NodeView> served = new ArrayList<>();
+        CompletableFuture<Void> read = CompletableFuture.runAsync(() -> readModel.forEachNodeInTreeOrder(null, served::add));
+
+        // Then
+        Thread.sleep(100);
+        assertThat(read).isNotDone();
+        release.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+        read.get(5, TimeUnit.SECONDS);
+        assertThat(served).extracting(NodeView::id).containsExactly(root.id(), child.id(), written.id());
+        assertThat(requests("stale")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep serving a subtree through changes elsewhere in the tree")
+    void shouldKeepServingSubtreeThroughChangesElsewhere() {
+        // Given
+        when(changeListener.isListening()).thenReturn(true);
+        when(delegate.currentRevision()).thenReturn(3L, 4L);
+        stubSubtree("r.c", child, grandchild);
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+
+        // When
+        readModel.onTreeChanged(new TreeChangedEvent(false, Set.of(other.id(), UUID.randomUUID()), Set.of("r.o")));
+        List<NodeView> served = new ArrayList<>();
+        OptionalLong servedRevision = readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), served::add);
+
+        // Then
+        assertThat(served).extracting(NodeView::id).containsExactly(child.id(), grandchild.id());
+        assertThat(servedRevision).hasValue(3L);
+        verify(delegate, times(1)).forEachStoredNodeInTreeOrder(eq(NodeId.of(child.id())), any());
+        assertThat(requests("hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild a subtree once a change names a node it holds")
+    void shouldRebuildSubtreeOnceChangeNamesNodeItHolds() {
+        // Given
+        when(changeListener.isListening()).thenReturn(true);
+        when(delegate.currentRevision()).thenReturn(3L, 4L);
+        stubSubtree("r.c", child, grandchild);
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+
+        // When
+        readModel.onTreeChanged(new TreeChangedEvent(false, Set.of(grandchild.id()), Set.of()));
+        OptionalLong servedRevision = readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+
+        // Then
+        assertThat(servedRevision).hasValue(4L);
+        verify(delegate, times(2)).forEachStoredNodeInTreeOrder(eq(NodeId.of(child.id())), any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild a subtree once a change names the parent of its top node, whose position may have changed")
+    void shouldRebuildSubtreeOnceChangeNamesParentOfItsTop() {
+        // Given
+        when(changeListener.isListening()).thenReturn(true);
+        when(delegate.currentRevision()).thenReturn(3L);
+        stubSubtree("r.c", child, grandchild);
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+
+        // When
+        readModel.onTreeChanged(new TreeChangedEvent(false, Set.of(root.id()), Set.of()));
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+
+        // Then
+        verify(delegate, times(2)).forEachStoredNodeInTreeOrder(eq(NodeId.of(child.id())), any());
+    }
+
+    @Test
+    @DisplayName("Should rebuild a subtree below a renamed or moved node, but not one beside it")
+    void shouldRebuildSubtreeBelowRenamedNodeButNotOneBesideIt() {
+        // Given
+        when(changeListener.isListening()).thenReturn(true);
+        when(delegate.currentRevision()).thenReturn(3L);
+        stubSubtree("r.a.c", child, grandchild);
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+
+        // When
+        readModel.onTreeChanged(new TreeChangedEvent(false, Set.of(UUID.randomUUID()), Set.of("r.ab")));
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+        readModel.onTreeChanged(new TreeChangedEvent(false, Set.of(UUID.randomUUID()), Set.of("r.a")));
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+
+        // Then
+        verify(delegate, times(2)).forEachStoredNodeInTreeOrder(eq(NodeId.of(child.id())), any());
+        assertThat(requests("hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not trust a subtree that a change reported while it was being read touches")
+    void shouldNotTrustSubtreeTouchedByChangeReportedWhileReadingIt() {
+        // Given
+        when(changeListener.isListening()).thenReturn(true);
+        when(delegate.currentRevision()).thenReturn(3L);
+        when(delegate.findIdPath(NodeId.of(child.id()))).thenReturn("r.c");
+        doAnswer(invocation -> {
+            readModel.onTreeChanged(new TreeChangedEvent(false, Set.of(grandchild.id()), Set.of()));
+            Consumer<NodeView> visitor = invocation.getArgument(1);
+            visitor.accept(child);
+            visitor.accept(grandchild);
+            return true;
+        }).when(delegate).forEachStoredNodeInTreeOrder(eq(NodeId.of(child.id())), any());
+
+        // When
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+
+        // Then
+        verify(delegate, times(2)).forEachStoredNodeInTreeOrder(eq(NodeId.of(child.id())), any());
+    }
+
+    @Test
+    @DisplayName("Should drop the least recently read snapshot to make room for a new one")
+    void shouldDropLeastRecentlyReadSnapshotToMakeRoom() {
+        // Given
+        readModel = new CachingTreeReadModel(delegate, changeListener, meterRegistry, 1);
+        when(changeListener.isListening()).thenReturn(true);
+        when(delegate.currentRevision()).thenReturn(3L);
+        stubSubtree("r.c", child, grandchild);
+        stubSubtree("r.o", other);
+
+        // When
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+        readModel.forEachNodeInTreeOrder(NodeId.of(other.id()), view -> { });
+        readModel.forEachNodeInTreeOrder(NodeId.of(child.id()), view -> { });
+
+        // Then
+        verify(delegate, times(2)).forEachStoredNodeInTreeOrder(eq(NodeId.of(child.id())), any());
+        verify(delegate, times(1)).forEachStoredNodeInTreeOrder(eq(NodeId.of(other.id())), any());
+    }
+
+    private void stubWholeTree() {
+        doAnswer(invocation -> {
+            Consumer<NodeView> visitor = invocation.getArgument(1);
+            visitor.accept(root);
+            visitor.accept(child);
+            return true;
+        }).when(delegate).forEachStoredNodeInTreeOrder(isNull(), any());
+    }
+
+    private void stubSubtree(String idPath, NodeView... nodes) {
+        NodeId topId = NodeId.of(nodes[0].id());
+        when(delegate.findIdPath(topId)).thenReturn(idPath);
+        doAnswer(invocation -> {
+            Consumer<NodeView> visitor = invocation.getArgument(1);
+            List.of(nodes).forEach(visitor);
+            return true;
+        }).when(delegate).forEachStoredNodeInTreeOrder(eq(topId), any());
+    }
+
+    // The next rebuild reports itself and then waits for its release before reading a written node
+    private void blockNextRebuild(CountDownLatch rebuilding, CountDownLatch release) {
+        doAnswer(invocation -> {
+            rebuilding.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            Consumer<NodeView> visitor = invocation.getArgument(1);
+            visitor.accept(root);
+            visitor.accept(child);
+            visitor.accept(written);
+            return true;
+        }).when(delegate).forEachStoredNodeInTreeOrder(isNull(), any());
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("treevault.tree.cache.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,146 @@
+package com.treevault.infrastructure.persistence.query;
+
+import com.treevault.TreeVaultApplication;
+import com.treevault.api.dto.response.TreeResponse;
+import com.treevault.api.mapper.ApiMapper;
+import com.treevault.api.mapper.NodeResponseTreeBuilder;
+import com.treevault.application.usecase.GetTreeUseCase;
+import com.treevault.application.usecase.ReadTreeUseCase;
+import com.treevault.domain.model.valueobject.Rank;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Compares the two ways of serving {@code GET /api/v1/tree}: loading JPA entities, reconstructing
+ * domain nodes and mapping them (the previous path), against walking the JDBC read model into
+ * responses directly. Reports the best latency and the bytes the measuring thread allocated in
+ * that run. Not a test; it needs a PostgreSQL database with the schema applied, e.g. the one from
+ * docker-compose:
+ * <pre>
+ * mvn test-compile
+ * java -Xmx4g -cp target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.treevault.infrastructure.persistence.query.ReadPathBenchmark \
+ *     --spring.datasource.url=jdbc:postgresql://localhost:5432/treevault \
+ *     --spring.datasource.username=... --spring.datasource.password=... --benchmark.nodes=100000
+ * </pre>
+ * An empty database is first seeded with a generated tree of {@code benchmark.nodes} nodes.
+ */
+public final class ReadPathBenchmark {
+
+    private static final int FOLDERS_PER_FOLDER = 4;
+    private static final int FILES_PER_FOLDER = 12;
+    private static final int MEASURED_RUNS = 3;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO nodes (id, name, type, parent_id, id_path, sort_rank, version, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, COALESCE((SELECT p.id_path FROM nodes p WHERE p.id = ?) || CAST(? AS ltree), " +
+        "CAST(? AS ltree)), ?, 0, ?, ?)";
+
+    private static final String INSERT_CLOSURE_SQL =
+        "INSERT INTO node_closure (ancestor_id, descendant_id, depth) " +
+        "SELECT ancestor_id, ?, depth + 1 FROM node_closure WHERE descendant_id = ? " +
+        "UNION ALL SELECT ?, ?, 0";
+
+    private ReadPathBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TreeVaultApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            Integer stored = jdbcTemplate.queryForObject("SELECT count(*) FROM nodes", Integer.class);
+            if (stored == null || stored == 0) {
+                seed(jdbcTemplate, context.getEnvironment().getProperty("benchmark.nodes", Integer.class, 100_000));
+                stored = jdbcTemplate.queryForObject("SELECT count(*) FROM nodes", Integer.class);
+            }
+
+            GetTreeUseCase getTreeUseCase = context.getBean(GetTreeUseCase.class);
+            ReadTreeUseCase readTreeUseCase = context.getBean(ReadTreeUseCase.class);
+            ApiMapper apiMapper = context.getBean(ApiMapper.class);
+
+            System.out.printf("%10s %-12s %12s %16s%n", "nodes", "path", "best (ms)", "allocated (MB)");
+            report(stored, "domain", measure(() -> apiMapper.toTreeResponse(getTreeUseCase.execute())));
+            report(stored, "read model", measure(() -> {
+                NodeResponseTreeBuilder builder = new NodeResponseTreeBuilder(apiMapper);
+                readTreeUseCase.execute(builder);
+                return new TreeResponse(builder.getTop());
+            }));
+        }
+    }
+
+    // Best of the given number of runs after one warm-up run, with the allocations of that run
+    private static long[] measure(Supplier<TreeResponse> read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        read.get();
+        long[] best = {Long.MAX_VALUE, 0};
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            TreeResponse response = read.get();
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            if (response.getRoot() == null) {
+                throw new IllegalStateException("No tree was read");
+            }
+            if (elapsed < best[0]) {
+                best = new long[] {elapsed, allocated};
+            }
+        }
+        return best;
+    }
+
+    private static void report(int nodes, String path, long[] result) {
+        System.out.printf("%10d %-12s %12d %16.1f%n", nodes, path, result[0], result[1] / (1024.0 * 1024.0));
+    }
+
+    // Breadth-first tree of folders and files below a root, inserted in batches
+    private static void seed(JdbcTemplate jdbcTemplate, int size) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(size);
+        UUID rootId = UUID.randomUUID();
+        rows.add(new Object[] {rootId, "root", "FOLDER", null, Rank.atIndex(0).getValue(), now, now});
+
+        Deque<Object[]> folders = new ArrayDeque<>();
+        folders.add(rows.get(0));
+        while (rows.size() < size && !folders.isEmpty()) {
+            Object[] folder = folders.poll();
+            for (int i = 0; i < FOLDERS_PER_FOLDER + FILES_PER_FOLDER && rows.size() < size; i++) {
+                boolean isFolder = i < FOLDERS_PER_FOLDER;
+                String name = (isFolder ? "folder-" : "file-") + i + (isFolder ? "" : ".txt");
+                Object[] child = {UUID.randomUUID(), name, isFolder ? "FOLDER" : "FILE", folder[0],
+                    Rank.atIndex(i).getValue(), now, now};
+                rows.add(child);
+                if (isFolder) {
+                    folders.add(child);
+                }
+            }
+        }
+
+        // Parents come before their children, so every batch satisfies the foreign key and finds the
+        // closure pairs of the parents
+        for (int from = 0; from < rows.size(); from += 1000) {
+            List<Object[]> batch = rows.subList(from, Math.min(from + 1000, rows.size()));
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch.stream()
+                .map(row -> {
+                    String label = row[0].toString().replace("-", "");
+                    return new Object[] {row[0], row[1], row[2], row[3], row[3], label, label, row[4], row[5], row[6]};
+                })
+                .toList());
+            jdbcTemplate.batchUpdate(INSERT_CLOSURE_SQL, batch.stream()
+                .map(row -> new Object[] {row[0], row[3], row[0], row[0]})
+                .toList());
+        }
+    }
+}
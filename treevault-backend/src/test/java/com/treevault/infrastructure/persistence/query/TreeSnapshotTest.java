@@ -0,0 +1,59 @@
+package com.treevault.infrastructure.persistence.query;
+
+import com.treevault.application.query.NodeView;
+import com.treevault.domain.model.valueobject.NodeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TreeSnapshotTest {
+
+    @Test
+    @DisplayName("Should walk a subtree as one contiguous range with positions")
+    void shouldWalkSubtreeAsContiguousRangeWithPositions() {
+        // Given
+        NodeView root = view(null, "root");
+        NodeView first = view(root.id(), "First");
+        NodeView nested = view(first.id(), "nested.txt");
+        NodeView second = view(root.id(), "second.txt");
+        TreeSnapshot.Builder builder = TreeSnapshot.builder(7L);
+        List.of(root, first, nested, second).forEach(builder);
+        TreeSnapshot snapshot = builder.build();
+
+        // When
+        List<NodeView> whole = new ArrayList<>();
+        List<NodeView> subtree = new ArrayList<>();
+        snapshot.forEachNodeInTreeOrder(null, whole::add);
+        snapshot.forEachNodeInTreeOrder(first.id(), subtree::add);
+
+        // Then
+        assertThat(snapshot.getRevision()).isEqualTo(7L);
+        assertThat(whole).extracting(NodeView::name).containsExactly("root", "First", "nested.txt", "second.txt");
+        assertThat(whole).extracting(NodeView::position).containsExactly(null, 0, 0, 1);
+        assertThat(subtree).extracting(NodeView::name).containsExactly("First", "nested.txt");
+    }
+
+    @Test
+    @DisplayName("Should report nodes it does not contain")
+    void shouldReportNodesItDoesNotContain() {
+        // Given
+        TreeSnapshot empty = TreeSnapshot.builder(0L).build();
+
+        // When/Then
+        assertThat(empty.forEachNodeInTreeOrder(null, view -> { })).isFalse();
+        assertThat(empty.forEachNodeInTreeOrder(UUID.randomUUID(), view -> { })).isFalse();
+    }
+
+    static NodeView view(UUID parentId, String name) {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+        return new NodeView(UUID.randomUUID(), name, NodeType.FOLDER, parentId, "/" + name + "/", null,
+            0L, timestamp, timestamp, Map.of());
+    }
+}
@@ -0,0 +1,192 @@
+package com.treevault.integration;
+
+import com.treevault.api.dto.request.CreateNodeRequest;
+import com.treevault.domain.model.valueobject.NodeType;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Integration tests for BatchController.
+ * Tests that a batch is applied as a whole or not at all.
+ */
+class BatchControllerIntegrationTest extends BaseIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setUpRestAssured() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/v1";
+    }
+
+    @AfterEach
+    void cleanupDatabase() {
+        jdbcTemplate.execute("DELETE FROM tags");
+        jdbcTemplate.execute("DELETE FROM nodes");
+    }
+
+    @Test
+    @DisplayName("Should create a subtree and refer to new nodes by reference")
+    void shouldCreateSubtreeUsingReferences() {
+        // Given
+        String docsId = createFolder("Docs");
+        Map<String, Object> body = Map.of("operations", List.of(
+                Map.of("op", "CREATE", "ref", "reports", "parentId", docsId, "name", "Reports", "type", "FOLDER"),
+                Map.of("op", "CREATE", "ref", "q1", "parentId", "reports", "name", "q1.pdf", "type", "FILE",
+                        "tags", Map.of("quarter", "1")),
+                Map.of("op", "ADD_TAG", "nodeId", "q1", "key", "status", "value", "draft")
+        ));
+
+        // When
+        String reportsId = given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(200)
+                .body("results", hasSize(3))
+                .body("results[0].ref", equalTo("reports"))
+                .body("results[2].node.tags.status", equalTo("draft"))
+                .extract()
+                .path("results[0].id");
+
+        // Then
+        Integer children = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM nodes WHERE parent_id = ?::uuid", Integer.class, reportsId);
+        assert children != null && children == 1;
+    }
+
+    @Test
+    @DisplayName("Should swap sibling names within one batch")
+    void shouldSwapSiblingNames() {
+        // Given
+        String aId = createFolder("A");
+        String bId = createFolder("B");
+        Map<String, Object> body = Map.of("operations", List.of(
+                Map.of("op", "RENAME", "nodeId", aId, "name", "Tmp"),
+                Map.of("op", "RENAME", "nodeId", bId, "name", "A"),
+                Map.of("op", "RENAME", "nodeId", aId, "name", "B")
+        ));
+
+        // When
+        given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(200);
+
+        // Then
+        String aName = jdbcTemplate.queryForObject("SELECT name FROM nodes WHERE id = ?::uuid", String.class, aId);
+        assert "B".equals(aName);
+    }
+
+    @Test
+    @DisplayName("Should keep nodes moved out of a folder deleted in the same batch")
+    void shouldKeepNodesMovedOutOfDeletedFolder() {
+        // Given
+        String oldId = createFolder("Old");
+        String keepId = createChildFolder("Keep", oldId);
+        createChildFolder("Drop", oldId);
+        String newId = createFolder("New");
+        Map<String, Object> body = Map.of("operations", List.of(
+                Map.of("op", "MOVE", "nodeId", keepId, "parentId", newId),
+                Map.of("op", "DELETE", "nodeId", oldId)
+        ));
+
+        // When
+        given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(200)
+                .body("results[1].node", nullValue());
+
+        // Then
+        Integer remaining = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM nodes WHERE name IN ('Old', 'Drop')", Integer.class);
+        assert remaining != null && remaining == 0;
+        given()
+                .when()
+                .get("/nodes/{id}", keepId)
+                .then()
+                .statusCode(200)
+                .body("parentId", equalTo(newId));
+    }
+
+    @Test
+    @DisplayName("Should apply nothing and name the failed operation")
+    void shouldApplyNothingWhenAnOperationFails() {
+        // Given
+        String docsId = createFolder("Docs");
+        Map<String, Object> body = Map.of("operations", List.of(
+                Map.of("op", "RENAME", "nodeId", docsId, "name", "Renamed"),
+                Map.of("op", "RENAME", "nodeId", "typo", "name", "Other")
+        ));
+
+        // When
+        given()
+                .contentType(ContentType.JSON)
+                .body(body)
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(404)
+                .body("operationIndex", equalTo(1));
+
+        // Then
+        String name = jdbcTemplate.queryForObject("SELECT name FROM nodes WHERE id = ?::uuid", String.class, docsId);
+        assert "Docs".equals(name);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch")
+    void shouldRejectEmptyBatch() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(Map.of("operations", List.of()))
+                .when()
+                .post("/batch")
+                .then()
+                .statusCode(400);
+    }
+
+    // Helper methods
+
+    private String createFolder(String name) {
+        return createChildFolder(name, null);
+    }
+
+    private String createChildFolder(String name, String parentId) {
+        CreateNodeRequest request = new CreateNodeRequest();
+        request.setName(name);
+        request.setType(NodeType.FOLDER);
+        request.setParentId(parentId);
+
+        return given()
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .post("/nodes")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+    }
+}
@@ -4,15 +4,28 @@ import com.treevault.api.dto.request.CreateNodeRequest;
 import com.treevault.api.dto.request.MoveNodeRequest;
 import com.treevault.api.dto.request.UpdateNodeRequest;
 import com.treevault.domain.model.valueobject.NodeType;
+import com.treevault.infrastructure.persistence.notification.TreeChangeNotifier;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.server.LocalServerPort;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 
 /**
@@ -24,6 +37,9 @@ class NodeControllerIntegrationTest extends BaseIntegrationTest {
     @LocalServerPort
     private int port;
 
+    @Autowired
+    private DataSource dataSource;
+
     @BeforeEach
     void setUpRestAssured() {
         RestAssured.port = port;
@@ -384,6 +400,555 @@ class NodeControllerIntegrationTest extends BaseIntegrationTest {
                 .statusCode(400);
     }
 
+    @Test
+    @DisplayName("Should page through children with a cursor")
+    void shouldPageThroughChildrenWithCursor() {
+        // Given
+        String parentId = createFolder("Paged", null);
+        String firstId = createFolder("First", parentId);
+        createFile("nested.txt", firstId);
+        createFile("second.txt", parentId);
+        String thirdId = createFile("third.txt", parentId);
+
+        // When
+        Long cursor = given()
+                .queryParam("limit", 2)
+                .when()
+                .get("/nodes/" + parentId + "/children")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(2))
+                .body("items[0].id", equalTo(firstId))
+                .body("items[0].hasChildren", equalTo(true))
+                .body("items[0].children", nullValue())
+                .body("items[1].hasChildren", equalTo(false))
+                .body("nextCursor", notNullValue())
+                .extract()
+                .jsonPath().getLong("nextCursor");
+
+        // Then
+        given()
+                .queryParam("after", cursor)
+                .queryParam("limit", 2)
+                .when()
+                .get("/nodes/" + parentId + "/children")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(1))
+                .body("items[0].id", equalTo(thirdId))
+                .body("items[0].position", equalTo(2))
+                .body("nextCursor", nullValue());
+    }
+
+    @Test
+    @DisplayName("Should fetch a depth-limited tree and mark truncated folders")
+    void shouldFetchDepthLimitedTreeAndMarkTruncatedFolders() {
+        // Given
+        String folderId = createFolder("Top", null);
+        String childId = createFolder("Child", folderId);
+        createFile("deep.txt", childId);
+
+        // When/Then
+        given()
+                .queryParam("root", folderId)
+                .queryParam("depth", 1)
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(200)
+                .body("root.id", equalTo(folderId))
+                .body("root.truncated", nullValue())
+                .body("root.children", hasSize(1))
+                .body("root.children[0].id", equalTo(childId))
+                .body("root.children[0].children", empty())
+                .body("root.children[0].truncated", equalTo(true));
+    }
+
+    @Test
+    @DisplayName("Should keep the subtrees of siblings with equal ranks apart")
+    void shouldKeepSubtreesOfSiblingsWithEqualRanksApart() {
+        // Given
+        String firstId = createFolder("First", null);
+        String secondId = createFolder("Second", null);
+        createFile("first.txt", firstId);
+        createFile("second.txt", secondId);
+        jdbcTemplate.update("UPDATE nodes SET sort_rank = 1048576 WHERE id IN (?, ?)",
+                UUID.fromString(firstId), UUID.fromString(secondId));
+        for (String key : List.of("a", "b")) {
+            for (String id : List.of(firstId, secondId)) {
+                jdbcTemplate.update("INSERT INTO tags (id, node_id, tag_key, tag_value, created_at) VALUES (?, ?, ?, 'x', now())",
+                        UUID.randomUUID(), UUID.fromString(id), key);
+            }
+        }
+
+        // When
+        JsonPath tree = given()
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath();
+
+        // Then
+        List<Map<String, Object>> folders = tree.getList("root.children");
+        assertThat(folders).hasSize(2);
+        for (Map<String, Object> folder : folders) {
+            String name = ((String) folder.get("name")).toLowerCase();
+            assertThat(folder.get("children")).asList().singleElement()
+                    .extracting(child -> ((Map<?, ?>) child).get("name")).isEqualTo(name + ".txt");
+            assertThat(folder.get("tags")).isEqualTo(Map.of("a", "x", "b", "x"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should stream the tree in the same shape as the regular tree response")
+    void shouldStreamTreeInSameShapeAsRegularTreeResponse() {
+        // Given
+        String folderId = createFolder("Streamed", null);
+        createFile("b.txt", folderId);
+        createFile("a.txt", folderId);
+
+        // When
+        Map<String, Object> regular = given()
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath().getMap("$");
+        Map<String, Object> streamed = given()
+                .queryParam("stream", true)
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(200)
+                .contentType(ContentType.JSON)
+                .body("root.children[0].children[0].name", equalTo("b.txt"))
+                .extract()
+                .jsonPath().getMap("$");
+
+        // Then
+        assertThat(streamed).isEqualTo(regular);
+    }
+
+    @Test
+    @DisplayName("Should stream the tree below a given node in the same shape as the regular response")
+    void shouldStreamTreeBelowGivenNode() {
+        // Given
+        String folderId = createFolder("Streamed", null);
+        String nestedId = createFolder("Nested", folderId);
+        createFile("a.txt", nestedId);
+        createFile("other.txt", folderId);
+
+        // When
+        Map<String, Object> regular = given()
+                .queryParam("root", nestedId)
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(200)
+                .extract()
+                .jsonPath().getMap("$");
+        Map<String, Object> streamed = given()
+                .queryParam("stream", true)
+                .queryParam("root", nestedId)
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(200)
+                .body("root.id", equalTo(nestedId))
+                .body("root.children.name", contains("a.txt"))
+                .extract()
+                .jsonPath().getMap("$");
+
+        // Then
+        assertThat(streamed).isEqualTo(regular);
+    }
+
+    @Test
+    @DisplayName("Should reject a streamed tree limited in depth, and report a missing node before streaming")
+    void shouldRejectStreamedTreeLimitedInDepthOrBelowMissingNode() {
+        given()
+                .queryParam("stream", true)
+                .queryParam("depth", 1)
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(400);
+        given()
+                .queryParam("stream", true)
+                .queryParam("root", UUID.randomUUID().toString())
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("Should answer a conditional tree request with 304 until the tree changes")
+    void shouldAnswerConditionalTreeRequestWith304UntilTreeChanges() {
+        // Given
+        String folderId = createFolder("Cached", null);
+        String etag = given()
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(200)
+                .header("ETag", notNullValue())
+                .header("Cache-Control", containsString("no-cache"))
+                .extract()
+                .header("ETag");
+
+        // When/Then
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/nodes/" + folderId)
+                .then()
+                .statusCode(304);
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(304);
+
+        createFile("new.txt", folderId);
+
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(etag)));
+    }
+
+    @Test
+    @DisplayName("Should notify other instances of a write with the affected node ids, and of nothing else")
+    void shouldNotifyOtherInstancesOfWriteWithAffectedNodeIds() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            // Given
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + TreeChangeNotifier.CHANNEL);
+            }
+
+            // When
+            String folderId = createFolder("Announced", null);
+
+            // Then
+            PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications(5000);
+            assertThat(notifications).isNotNull();
+            assertThat(notifications).extracting(PGNotification::getParameter)
+                    .allSatisfy(payload -> assertThat(payload).isNotEmpty())
+                    .anySatisfy(payload -> assertThat(payload).contains(folderId));
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve a write made by another instance once it is notified")
+    void shouldServeWriteMadeByAnotherInstanceOnceNotified() throws InterruptedException {
+        // Given
+        String folderId = createFolder("Before", null);
+        given().when().get("/nodes/" + folderId).then().statusCode(200).body("name", equalTo("Before"));
+
+        // When: written behind this instance's back, as another instance would
+        jdbcTemplate.update("UPDATE nodes SET name = 'After' WHERE id = ?::uuid", folderId);
+
+        // Then
+        String name = null;
+        for (int attempt = 0; attempt < 50 && !"After".equals(name); attempt++) {
+            Thread.sleep(100);
+            name = given().when().get("/nodes/" + folderId).then().statusCode(200).extract().path("name");
+        }
+        assertThat(name).isEqualTo("After");
+    }
+
+    @Test
+    @DisplayName("Should reject children page limit out of range")
+    void shouldRejectChildrenPageLimitOutOfRange() {
+        String parentId = createFolder("Paged", null);
+
+        given()
+                .queryParam("limit", 0)
+                .when()
+                .get("/nodes/" + parentId + "/children")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Should find nodes by name substring, exact names first, with their paths")
+    void shouldFindNodesByNameSubstringWithPaths() {
+        // Given
+        String reports = createFolder("Reports", null);
+        String exact = createFile("report", reports);
+        String longer = createFile("annual-report-2024.pdf", reports);
+        createFile("invoice.pdf", reports);
+
+        // When/Then
+        given()
+                .queryParam("q", "report")
+                .when()
+                .get("/nodes/search")
+                .then()
+                .statusCode(200)
+                .body("items.id", hasItems(exact, longer, reports))
+                .body("items", hasSize(3))
+                .body("items[0].id", equalTo(exact))
+                .body("items[0].path", equalTo("/Reports/report/"));
+    }
+
+    @Test
+    @DisplayName("Should find nodes by a misspelt name and page through ranked results")
+    void shouldFindNodesByMisspeltNameAndPage() {
+        // Given
+        String parent = createFolder("Docs", null);
+        String quarterly = createFile("quarterly.xlsx", parent);
+        String quarters = createFile("quarters.txt", parent);
+
+        // When
+        String cursor = given()
+                .queryParam("q", "quartely")
+                .queryParam("limit", 1)
+                .when()
+                .get("/nodes/search")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(1))
+                .body("items[0].id", equalTo(quarterly))
+                .extract()
+                .path("nextCursor");
+
+        // Then
+        given()
+                .queryParam("q", "quartely")
+                .queryParam("limit", 1)
+                .queryParam("after", cursor)
+                .when()
+                .get("/nodes/search")
+                .then()
+                .statusCode(200)
+                .body("items[0].id", equalTo(quarters));
+    }
+
+    @Test
+    @DisplayName("Should reject a search text too short to index")
+    void shouldRejectSearchTextTooShort() {
+        given()
+                .queryParam("q", "ab")
+                .when()
+                .get("/nodes/search")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("Should import nodes below existing and newly imported folders")
+    void shouldImportNodesFromNdjson() {
+        // Given
+        String docs = createFolder("Docs", null);
+        createFile("existing.txt", docs);
+        String body = String.join("\n",
+                "{\"path\": \"/Docs/Reports\", \"type\": \"FOLDER\"}",
+                "{\"path\": \"/Docs/Reports/q1.pdf\", \"type\": \"FILE\", \"tags\": {\"quarter\": \"1\"}}",
+                "{\"path\": \"/Archive/\", \"type\": \"FOLDER\"}",
+                "");
+
+        // When
+        given()
+                .contentType("application/x-ndjson")
+                .body(body)
+                .when()
+                .post("/nodes/import")
+                .then()
+                .statusCode(201)
+                .body("imported", equalTo(3))
+                .body("nodesPerSecond", greaterThan(0));
+
+        // Then
+        String reports = jdbcTemplate.queryForObject(
+                "SELECT CAST(id AS TEXT) FROM nodes WHERE name = 'Reports' AND parent_id = ?::uuid", String.class, docs);
+        given()
+                .when()
+                .get("/nodes/{id}/children", docs)
+                .then()
+                .statusCode(200)
+                .body("items.name", contains("existing.txt", "Reports"));
+        given()
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(200)
+                .body("root.children.name", hasItems("Docs", "Archive"));
+        Integer closure = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM node_closure c JOIN nodes n ON n.id = c.descendant_id WHERE n.name = 'q1.pdf'",
+                Integer.class);
+        assertThat(closure).isEqualTo(4);
+        String tag = jdbcTemplate.queryForObject(
+                "SELECT t.tag_value FROM tags t JOIN nodes n ON n.id = t.node_id WHERE n.parent_id = ?::uuid",
+                String.class, reports);
+        assertThat(tag).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("Should serve imported nodes from a tree read cached before the import")
+    void shouldServeImportedNodesFromTreeCachedBeforeImport() {
+        // Given
+        String docs = createFolder("Docs", null);
+        String etag = given()
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(200)
+                .extract()
+                .header("ETag");
+
+        // When
+        given()
+                .contentType("application/x-ndjson")
+                .body("{\"path\": \"/Docs/imported.txt\", \"type\": \"FILE\"}\n")
+                .when()
+                .post("/nodes/import")
+                .then()
+                .statusCode(201);
+
+        // Then
+        given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/tree")
+                .then()
+                .statusCode(200)
+                .header("ETag", not(equalTo(etag)))
+                .body("root.children.find { it.id == '" + docs + "' }.children.name", contains("imported.txt"));
+        given()
+                .when()
+                .get("/nodes/" + docs)
+                .then()
+                .statusCode(200)
+                .body("children.name", contains("imported.txt"));
+    }
+
+    @Test
+    @DisplayName("Should import nothing and name the record whose parent is missing")
+    void shouldRejectImportWithMissingParent() {
+        // Given
+        String body = String.join("\n",
+                "{\"path\": \"/Docs\", \"type\": \"FOLDER\"}",
+                "{\"path\": \"/Missing/a.txt\", \"type\": \"FILE\"}");
+
+        // When
+        given()
+                .contentType("application/x-ndjson")
+                .body(body)
+                .when()
+                .post("/nodes/import")
+                .then()
+                .statusCode(404)
+                .body("recordIndex", equalTo(1));
+
+        // Then
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM nodes WHERE name = 'Docs'", Integer.class);
+        assertThat(count).isZero();
+    }
+
+    @Test
+    @DisplayName("Should reject an imported name already taken in its folder")
+    void shouldRejectImportOfTakenName() {
+        // Given
+        createFolder("Docs", null);
+
+        // When/Then
+        given()
+                .contentType("application/x-ndjson")
+                .body("{\"path\": \"/Docs\", \"type\": \"FOLDER\"}")
+                .when()
+                .post("/nodes/import")
+                .then()
+                .statusCode(400)
+                .body("recordIndex", equalTo(0));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed import line")
+    void shouldRejectMalformedImportLine() {
+        given()
+                .contentType("application/x-ndjson")
+                .body("{\"path\": \"/Docs\", \"type\": \"FOLDER\"}\n{\"path\": ")
+                .when()
+                .post("/nodes/import")
+                .then()
+                .statusCode(400)
+                .body("recordIndex", equalTo(1));
+    }
+
+    @Test
+    @DisplayName("Should export a subtree as NDJSON that imports back into the same shape")
+    void shouldExportSubtreeAsNdjson() {
+        // Given
+        String docs = createFolder("Docs", null);
+        String reports = createFolder("Reports", docs);
+        String file = createFile("q1.pdf", reports);
+        createFile("notes.txt", docs);
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"key\": \"quarter\", \"value\": \"1\"}")
+                .when()
+                .post("/nodes/{id}/tags", file)
+                .then()
+                .statusCode(201);
+
+        // When
+        String body = given()
+                .when()
+                .get("/nodes/{id}/export", docs)
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .header("Content-Disposition", containsString(docs + ".ndjson"))
+                .extract()
+                .asString();
+
+        // Then
+        List<Map<String, Object>> lines = body.lines()
+                .map(line -> JsonPath.from(line).<String, Object>getMap(""))
+                .toList();
+        assertThat(lines).extracting(line -> line.get("path"))
+                .containsExactly("/Docs/", "/Docs/Reports/", "/Docs/Reports/q1.pdf/", "/Docs/notes.txt/");
+        assertThat(lines.get(0).get("parentId")).isNotNull();
+        assertThat(lines.get(2)).containsEntry("id", file)
+                .containsEntry("parentId", reports)
+                .containsEntry("type", "FILE")
+                .containsEntry("position", 0)
+                .containsEntry("tags", Map.of("quarter", "1"));
+        assertThat(lines.get(3)).containsEntry("position", 1);
+    }
+
+    @Test
+    @DisplayName("Should return 404 before streaming the export of a missing node")
+    void shouldNotExportMissingNode() {
+        given()
+                .when()
+                .get("/nodes/{id}/export", UUID.randomUUID())
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("Should reject an unsupported export format")
+    void shouldRejectUnsupportedExportFormat() {
+        String docs = createFolder("Docs", null);
+
+        given()
+                .queryParam("format", "csv")
+                .when()
+                .get("/nodes/{id}/export", docs)
+                .then()
+                .statusCode(400);
+    }
+
     // Helper methods
 
     private String createFolder(String name, String parentId) {
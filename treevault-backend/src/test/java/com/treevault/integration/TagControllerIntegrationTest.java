@@ -474,6 +474,97 @@ class TagControllerIntegrationTest extends BaseIntegrationTest {
         assert "new".equals(newValue);
     }
 
+    @Test
+    @DisplayName("Should find nodes carrying all of the given tags")
+    void shouldFindNodesCarryingAllGivenTags() {
+        // Given
+        String prodApi = createFolder("ProdApi");
+        addTag(prodApi, "env", "prod");
+        addTag(prodApi, "team", "api");
+        String prodUnowned = createFolder("ProdUnowned");
+        addTag(prodUnowned, "env", "prod");
+        String devApi = createFolder("DevApi");
+        addTag(devApi, "env", "dev");
+        addTag(devApi, "team", "api");
+
+        // When/Then
+        given()
+                .queryParam("tag", "env:prod")
+                .queryParam("tag", "team:*")
+                .when()
+                .get("/nodes/search")
+                .then()
+                .statusCode(200)
+                .body("items.id", contains(prodApi))
+                .body("items[0].tags.team", equalTo("api"))
+                .body("items[0].path", equalTo("/ProdApi/"))
+                .body("nextCursor", nullValue());
+    }
+
+    @Test
+    @DisplayName("Should search only within the given subtree and page by cursor")
+    void shouldSearchOnlyWithinGivenSubtreeAndPageByCursor() {
+        // Given
+        String outside = createFolder("Outside");
+        addTag(outside, "env", "prod");
+        String parent = createFolder("Parent");
+        for (String name : new String[] {"a", "b", "c"}) {
+            CreateNodeRequest request = new CreateNodeRequest();
+            request.setName(name);
+            request.setType(NodeType.FILE);
+            request.setParentId(parent);
+            String child = given()
+                    .contentType(ContentType.JSON)
+                    .body(request)
+                    .when()
+                    .post("/nodes")
+                    .then()
+                    .statusCode(201)
+                    .extract()
+                    .path("id");
+            addTag(child, "env", "prod");
+        }
+
+        // When
+        String cursor = given()
+                .queryParam("tag", "env:prod")
+                .queryParam("under", parent)
+                .queryParam("limit", 2)
+                .when()
+                .get("/nodes/search")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(2))
+                .body("items.parentId", everyItem(equalTo(parent)))
+                .extract()
+                .path("nextCursor");
+
+        // Then
+        given()
+                .queryParam("tag", "env:prod")
+                .queryParam("under", parent)
+                .queryParam("limit", 2)
+                .queryParam("after", cursor)
+                .when()
+                .get("/nodes/search")
+                .then()
+                .statusCode(200)
+                .body("items", hasSize(1))
+                .body("items[0].parentId", equalTo(parent))
+                .body("nextCursor", nullValue());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed tag filter")
+    void shouldRejectMalformedTagFilter() {
+        given()
+                .queryParam("tag", "env")
+                .when()
+                .get("/nodes/search")
+                .then()
+                .statusCode(400);
+    }
+
     // Helper methods
 
     private String createFolder(String name) {
@@ -0,0 +1,2 @@
+-- Flyway creates the extension (V11); tests that let Hibernate generate the schema need it up front
+CREATE EXTENSION IF NOT EXISTS ltree;